@@ -3,6 +3,8 @@ package com.harsha.tms.controller;
 import java.util.List;
 import java.util.UUID;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -15,9 +17,12 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.harsha.tms.dto.request.BidRequestDTO;
+import com.harsha.tms.dto.request.BidSearchCriteria;
 import com.harsha.tms.dto.response.BidResponseDTO;
-import com.harsha.tms.entity.BidStatus;
+import com.harsha.tms.dto.response.BulkResponseDTO;
+import com.harsha.tms.dto.response.CursorPageResponseDTO;
 import com.harsha.tms.service.BidService;
+import com.harsha.tms.service.LoadCommandExecutor;
 
 import jakarta.validation.Valid;
 
@@ -26,23 +31,38 @@ import jakarta.validation.Valid;
 public class BidController {
 
     private final BidService bidService;
+    private final LoadCommandExecutor loadCommandExecutor;
 
-    public BidController(BidService bidService) {
+    public BidController(BidService bidService, LoadCommandExecutor loadCommandExecutor) {
         this.bidService = bidService;
+        this.loadCommandExecutor = loadCommandExecutor;
     }
 
     @PostMapping
     public ResponseEntity<BidResponseDTO> submitBid(@Valid @RequestBody BidRequestDTO request) {
-        BidResponseDTO response = bidService.submitBid(request);
+        BidResponseDTO response = loadCommandExecutor.execute(request.loadId(), () -> bidService.submitBid(request));
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkResponseDTO<BidResponseDTO>> submitBids(@RequestBody List<BidRequestDTO> requests) {
+        BulkResponseDTO<BidResponseDTO> response = bidService.submitBids(requests);
+        HttpStatus status = response.failed() == 0 ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS;
+        return ResponseEntity.status(status).body(response);
+    }
+
     @GetMapping
-    public ResponseEntity<List<BidResponseDTO>> listBids(
-            @RequestParam(required = false) UUID loadId,
-            @RequestParam(required = false) UUID transporterId,
-            @RequestParam(required = false) BidStatus status) {
-        List<BidResponseDTO> response = bidService.listBids(loadId, transporterId, status);
+    public ResponseEntity<Page<BidResponseDTO>> listBids(BidSearchCriteria criteria, Pageable pageable) {
+        Page<BidResponseDTO> response = bidService.listBids(criteria, pageable);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping(params = "cursor")
+    public ResponseEntity<CursorPageResponseDTO<BidResponseDTO>> scrollBids(
+            BidSearchCriteria criteria,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        CursorPageResponseDTO<BidResponseDTO> response = bidService.scrollBids(criteria, cursor, size);
         return ResponseEntity.ok(response);
     }
 
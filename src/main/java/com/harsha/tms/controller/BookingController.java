@@ -1,5 +1,6 @@
 package com.harsha.tms.controller;
 
+import java.util.List;
 import java.util.UUID;
 
 import org.springframework.http.HttpStatus;
@@ -10,11 +11,18 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.harsha.tms.dto.request.BookingRequestDTO;
+import com.harsha.tms.dto.request.BookingSearchCriteria;
+import com.harsha.tms.dto.request.BookingStatusUpdateRequestDTO;
 import com.harsha.tms.dto.response.BookingResponseDTO;
+import com.harsha.tms.dto.response.BulkResponseDTO;
+import com.harsha.tms.dto.response.CursorPageResponseDTO;
 import com.harsha.tms.service.BookingService;
+import com.harsha.tms.service.LoadCommandExecutor;
+
 import jakarta.validation.Valid;
 
 @RestController
@@ -22,17 +30,29 @@ import jakarta.validation.Valid;
 public class BookingController {
 
     private final BookingService bookingService;
+    private final LoadCommandExecutor loadCommandExecutor;
 
-    public BookingController(BookingService bookingService) {
+    public BookingController(BookingService bookingService, LoadCommandExecutor loadCommandExecutor) {
         this.bookingService = bookingService;
+        this.loadCommandExecutor = loadCommandExecutor;
     }
 
     @PostMapping
     public ResponseEntity<BookingResponseDTO> createBooking(@Valid @RequestBody BookingRequestDTO request) {
-        BookingResponseDTO response = bookingService.createBooking(request);
+        BookingResponseDTO response = loadCommandExecutor.execute(request.loadId(),
+                () -> bookingService.createBooking(request));
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @GetMapping
+    public ResponseEntity<CursorPageResponseDTO<BookingResponseDTO>> scrollBookings(
+            BookingSearchCriteria criteria,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        CursorPageResponseDTO<BookingResponseDTO> response = bookingService.scrollBookings(criteria, cursor, size);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<BookingResponseDTO> getBookingById(@PathVariable UUID id) {
         BookingResponseDTO response = bookingService.getBookingById(id);
@@ -41,7 +61,16 @@ public class BookingController {
 
     @PatchMapping("/{id}/cancel")
     public ResponseEntity<BookingResponseDTO> cancelBooking(@PathVariable UUID id) {
-        BookingResponseDTO response = bookingService.cancelBooking(id);
+        BookingResponseDTO response = loadCommandExecutor.execute(bookingService.getLoadId(id),
+                () -> bookingService.cancelBooking(id));
         return ResponseEntity.ok(response);
     }
+
+    @PatchMapping("/status/batch")
+    public ResponseEntity<BulkResponseDTO<BookingResponseDTO>> updateStatuses(
+            @RequestBody List<BookingStatusUpdateRequestDTO> requests) {
+        BulkResponseDTO<BookingResponseDTO> response = bookingService.updateStatuses(requests);
+        HttpStatus status = response.failed() == 0 ? HttpStatus.OK : HttpStatus.MULTI_STATUS;
+        return ResponseEntity.status(status).body(response);
+    }
 }
@@ -0,0 +1,27 @@
+package com.harsha.tms.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.harsha.tms.dto.response.RetryStatsResponseDTO;
+import com.harsha.tms.service.ConflictRetrier;
+
+@RestController
+@RequestMapping("/contention")
+public class ContentionController {
+
+    private final ConflictRetrier conflictRetrier;
+
+    public ContentionController(ConflictRetrier conflictRetrier) {
+        this.conflictRetrier = conflictRetrier;
+    }
+
+    @GetMapping
+    public ResponseEntity<RetryStatsResponseDTO> getRetryStats(@RequestParam(defaultValue = "20") int loads) {
+        RetryStatsResponseDTO response = conflictRetrier.stats(loads);
+        return ResponseEntity.ok(response);
+    }
+}
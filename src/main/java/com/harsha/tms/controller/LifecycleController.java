@@ -0,0 +1,26 @@
+package com.harsha.tms.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.harsha.tms.dto.response.LifecycleStatsResponseDTO;
+import com.harsha.tms.service.LoadLifecycleEngine;
+
+@RestController
+@RequestMapping("/lifecycle")
+public class LifecycleController {
+
+    private final LoadLifecycleEngine loadLifecycleEngine;
+
+    public LifecycleController(LoadLifecycleEngine loadLifecycleEngine) {
+        this.loadLifecycleEngine = loadLifecycleEngine;
+    }
+
+    @GetMapping
+    public ResponseEntity<LifecycleStatsResponseDTO> getStats() {
+        LifecycleStatsResponseDTO response = loadLifecycleEngine.stats();
+        return ResponseEntity.ok(response);
+    }
+}
@@ -17,9 +17,15 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.harsha.tms.dto.request.LoadRequestDTO;
+import com.harsha.tms.dto.response.AutoAllocationResponseDTO;
 import com.harsha.tms.dto.response.BidResponseDTO;
+import com.harsha.tms.dto.response.BulkResponseDTO;
+import com.harsha.tms.dto.response.CapableTransporterResponseDTO;
+import com.harsha.tms.dto.response.CursorPageResponseDTO;
 import com.harsha.tms.dto.response.LoadResponseDTO;
 import com.harsha.tms.entity.BookingStatus;
+import com.harsha.tms.service.BookingService;
+import com.harsha.tms.service.LoadCommandExecutor;
 import com.harsha.tms.service.LoadService;
 
 import jakarta.validation.Valid;
@@ -29,9 +35,14 @@ import jakarta.validation.Valid;
 public class LoadController {
 
     private final LoadService loadService;
+    private final BookingService bookingService;
+    private final LoadCommandExecutor loadCommandExecutor;
 
-    public LoadController(LoadService loadService) {
+    public LoadController(LoadService loadService, BookingService bookingService,
+                          LoadCommandExecutor loadCommandExecutor) {
         this.loadService = loadService;
+        this.bookingService = bookingService;
+        this.loadCommandExecutor = loadCommandExecutor;
     }
 
     @PostMapping
@@ -40,6 +51,13 @@ public class LoadController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkResponseDTO<LoadResponseDTO>> createLoads(@RequestBody List<LoadRequestDTO> requests) {
+        BulkResponseDTO<LoadResponseDTO> response = loadService.createLoads(requests);
+        HttpStatus status = response.failed() == 0 ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS;
+        return ResponseEntity.status(status).body(response);
+    }
+
     @GetMapping
     public ResponseEntity<Page<LoadResponseDTO>> listLoads(
             @RequestParam(required = false) UUID shipperId,
@@ -49,6 +67,16 @@ public class LoadController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping(params = "cursor")
+    public ResponseEntity<CursorPageResponseDTO<LoadResponseDTO>> scrollLoads(
+            @RequestParam(required = false) UUID shipperId,
+            @RequestParam(required = false) BookingStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        CursorPageResponseDTO<LoadResponseDTO> response = loadService.scrollLoads(shipperId, status, cursor, size);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<LoadResponseDTO> getLoadById(@PathVariable UUID id) {
         LoadResponseDTO response = loadService.getLoadById(id);
@@ -57,13 +85,34 @@ public class LoadController {
 
     @PatchMapping("/{id}/cancel")
     public ResponseEntity<LoadResponseDTO> cancelLoad(@PathVariable UUID id) {
-        LoadResponseDTO response = loadService.cancelLoad(id);
+        LoadResponseDTO response = loadCommandExecutor.execute(id, () -> loadService.cancelLoad(id));
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping("/{id}/auto-allocate")
+    public ResponseEntity<AutoAllocationResponseDTO> autoAllocate(@PathVariable UUID id) {
+        AutoAllocationResponseDTO response = loadCommandExecutor.execute(id, () -> bookingService.autoAllocate(id));
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
     @GetMapping("/{id}/best-bids")
-    public ResponseEntity<List<BidResponseDTO>> getBestBids(@PathVariable UUID id) {
-        List<BidResponseDTO> response = loadService.getBestBids(id);
+    public ResponseEntity<List<BidResponseDTO>> getBestBids(
+            @PathVariable UUID id,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) Double minScore) {
+        List<BidResponseDTO> response = loadService.getBestBids(id, limit, minScore);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/{id}/capable-transporters")
+    public ResponseEntity<CursorPageResponseDTO<CapableTransporterResponseDTO>> getCapableTransporters(
+            @PathVariable UUID id,
+            @RequestParam String truckType,
+            @RequestParam(required = false) Integer minTrucks,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        CursorPageResponseDTO<CapableTransporterResponseDTO> response =
+                loadService.getCapableTransporters(id, truckType, minTrucks, cursor, size);
         return ResponseEntity.ok(response);
     }
 }
@@ -0,0 +1,50 @@
+package com.harsha.tms.controller;
+
+import java.util.UUID;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.harsha.tms.dto.request.ScoringPolicyRequestDTO;
+import com.harsha.tms.dto.response.RescoreResponseDTO;
+import com.harsha.tms.dto.response.ScoringPolicyResponseDTO;
+import com.harsha.tms.service.ScoringPolicyService;
+
+import jakarta.validation.Valid;
+
+@RestController
+@RequestMapping("/shipper/{shipperId}/scoring-policy")
+public class ScoringPolicyController {
+
+    private final ScoringPolicyService scoringPolicyService;
+
+    public ScoringPolicyController(ScoringPolicyService scoringPolicyService) {
+        this.scoringPolicyService = scoringPolicyService;
+    }
+
+    @GetMapping
+    public ResponseEntity<ScoringPolicyResponseDTO> getPolicy(@PathVariable UUID shipperId) {
+        ScoringPolicyResponseDTO response = scoringPolicyService.getPolicy(shipperId);
+        return ResponseEntity.ok(response);
+    }
+
+    @PutMapping
+    public ResponseEntity<ScoringPolicyResponseDTO> updatePolicy(
+            @PathVariable UUID shipperId,
+            @Valid @RequestBody ScoringPolicyRequestDTO request) {
+        ScoringPolicyResponseDTO response = scoringPolicyService.updatePolicy(shipperId, request);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/rescore")
+    public ResponseEntity<RescoreResponseDTO> rescore(@PathVariable UUID shipperId) {
+        RescoreResponseDTO response = scoringPolicyService.rescore(shipperId);
+        return ResponseEntity.ok(response);
+    }
+}
@@ -1,7 +1,9 @@
 package com.harsha.tms.controller;
 
+import java.time.LocalDateTime;
 import java.util.UUID;
 
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -10,11 +12,13 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.harsha.tms.dto.request.TransporterRequestDTO;
 import com.harsha.tms.dto.request.UpdateTrucksRequestDTO;
 import com.harsha.tms.dto.response.TransporterResponseDTO;
+import com.harsha.tms.dto.response.TruckAvailabilityResponseDTO;
 import com.harsha.tms.service.TransporterService;
 
 @RestController
@@ -46,4 +50,14 @@ public class TransporterController {
         TransporterResponseDTO response = transporterService.updateTrucks(id, request);
         return ResponseEntity.ok(response);
     }
+
+    @GetMapping("/{id}/availability")
+    public ResponseEntity<TruckAvailabilityResponseDTO> getAvailability(
+            @PathVariable UUID id,
+            @RequestParam String truckType,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        TruckAvailabilityResponseDTO response = transporterService.getAvailability(id, truckType, from, to);
+        return ResponseEntity.ok(response);
+    }
 }
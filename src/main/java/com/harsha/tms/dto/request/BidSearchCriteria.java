@@ -0,0 +1,21 @@
+package com.harsha.tms.dto.request;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import com.harsha.tms.entity.BidStatus;
+
+// Every filter is optional; submittedFrom is inclusive and submittedTo exclusive
+public record BidSearchCriteria(
+        UUID loadId,
+        UUID transporterId,
+        BidStatus status,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+        LocalDateTime submittedFrom,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+        LocalDateTime submittedTo,
+        String truckType
+) {
+}
@@ -0,0 +1,20 @@
+package com.harsha.tms.dto.request;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import com.harsha.tms.entity.BookingStatus;
+
+// Every filter is optional; bookedFrom is inclusive and bookedTo exclusive
+public record BookingSearchCriteria(
+        UUID loadId,
+        UUID transporterId,
+        BookingStatus status,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+        LocalDateTime bookedFrom,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+        LocalDateTime bookedTo
+) {
+}
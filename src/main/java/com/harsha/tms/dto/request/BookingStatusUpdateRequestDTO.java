@@ -0,0 +1,16 @@
+package com.harsha.tms.dto.request;
+
+import java.util.UUID;
+
+import com.harsha.tms.entity.BookingStatus;
+
+import jakarta.validation.constraints.NotNull;
+
+public record BookingStatusUpdateRequestDTO(
+        @NotNull(message = "Booking ID is required")
+        UUID bookingId,
+
+        @NotNull(message = "Status is required")
+        BookingStatus status
+) {
+}
@@ -6,6 +6,7 @@ import java.util.UUID;
 
 import com.harsha.tms.entity.WeightUnit;
 
+import jakarta.validation.constraints.AssertTrue;
 import jakarta.validation.constraints.Future;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
@@ -46,6 +47,14 @@ public record LoadRequestDTO(
         
         @NotNull(message = "Trucks required is required")
         @Min(value = 1, message = "At least 1 truck is required")
-        Integer trucksRequired
+        Integer trucksRequired,
+
+        @Future(message = "Auction close must be in the future")
+        LocalDateTime auctionClosesAt
 ) {
+
+    @AssertTrue(message = "Auction must close before pickup")
+    public boolean isAuctionClosingBeforePickup() {
+        return auctionClosesAt == null || pickupDate == null || auctionClosesAt.isBefore(pickupDate);
+    }
 }
@@ -0,0 +1,22 @@
+package com.harsha.tms.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+
+public record ScoringPolicyRequestDTO(
+        @NotNull(message = "Price weight is required")
+        @PositiveOrZero(message = "Price weight must not be negative")
+        Double priceWeight,
+
+        @NotNull(message = "Rating weight is required")
+        @PositiveOrZero(message = "Rating weight must not be negative")
+        Double ratingWeight,
+
+        @NotNull(message = "Coverage weight is required")
+        @PositiveOrZero(message = "Coverage weight must not be negative")
+        Double coverageWeight,
+
+        @NotNull(message = "Age weight is required")
+        Double ageWeight
+) {
+}
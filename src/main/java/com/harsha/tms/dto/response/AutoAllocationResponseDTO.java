@@ -0,0 +1,17 @@
+package com.harsha.tms.dto.response;
+
+import java.util.List;
+import java.util.UUID;
+
+import com.harsha.tms.entity.BookingStatus;
+
+public record AutoAllocationResponseDTO(
+        UUID loadId,
+        BookingStatus loadStatus,
+        Integer allocatedTrucks,
+        Double totalCost,
+        Boolean optimal,
+        List<BookingResponseDTO> bookings,
+        Integer rejectedBids
+) {
+}
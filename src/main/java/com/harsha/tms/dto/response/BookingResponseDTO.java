@@ -13,7 +13,8 @@ public record BookingResponseDTO(
         Integer allocatedTrucks,
         Double finalRate,
         BookingStatus status,
-        LocalDateTime bookedAt
+        LocalDateTime bookedAt,
+        Integer rejectedBids
 ) {
 }
 
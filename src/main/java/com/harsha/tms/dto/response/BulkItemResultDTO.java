@@ -0,0 +1,10 @@
+package com.harsha.tms.dto.response;
+
+import java.util.List;
+
+public record BulkItemResultDTO<T>(
+        int index,
+        T result,
+        List<String> errors
+) {
+}
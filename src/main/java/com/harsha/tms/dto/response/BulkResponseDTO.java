@@ -0,0 +1,10 @@
+package com.harsha.tms.dto.response;
+
+import java.util.List;
+
+public record BulkResponseDTO<T>(
+        int created,
+        int failed,
+        List<BulkItemResultDTO<T>> items
+) {
+}
@@ -0,0 +1,13 @@
+package com.harsha.tms.dto.response;
+
+import java.util.UUID;
+
+public record CapableTransporterResponseDTO(
+        UUID transporterId,
+        String companyName,
+        Double rating,
+        String truckType,
+        Integer fleet,
+        Integer available
+) {
+}
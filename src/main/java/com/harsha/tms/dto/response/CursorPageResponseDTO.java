@@ -0,0 +1,11 @@
+package com.harsha.tms.dto.response;
+
+import java.util.List;
+
+public record CursorPageResponseDTO<T>(
+        List<T> content,
+        int size,
+        boolean hasNext,
+        String nextCursor
+) {
+}
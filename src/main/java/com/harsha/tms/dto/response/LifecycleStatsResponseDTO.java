@@ -0,0 +1,15 @@
+package com.harsha.tms.dto.response;
+
+public record LifecycleStatsResponseDTO(
+        int pendingDeadlines,
+        long firedDeadlines,
+        long awardedAuctions,
+        long expiredLoads,
+        long departedLoads,
+        long completedLoads,
+        long failedBatches,
+        long lastLagMillis,
+        long maxLagMillis,
+        long lastTickMillis
+) {
+}
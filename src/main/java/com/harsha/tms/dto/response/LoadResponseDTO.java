@@ -21,6 +21,7 @@ public record LoadResponseDTO(
         Integer trucksRequired,
         Integer remainingTrucks,
         BookingStatus status,
-        LocalDateTime datePosted
+        LocalDateTime datePosted,
+        LocalDateTime auctionClosesAt
 ) {
 }
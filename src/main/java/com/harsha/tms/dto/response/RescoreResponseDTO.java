@@ -0,0 +1,11 @@
+package com.harsha.tms.dto.response;
+
+import java.util.UUID;
+
+public record RescoreResponseDTO(
+        UUID shipperId,
+        int loads,
+        int bids,
+        long elapsedMillis
+) {
+}
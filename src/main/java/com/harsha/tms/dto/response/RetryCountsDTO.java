@@ -0,0 +1,8 @@
+package com.harsha.tms.dto.response;
+
+public record RetryCountsDTO(
+        long retries,
+        long successes,
+        long exhaustions
+) {
+}
@@ -0,0 +1,10 @@
+package com.harsha.tms.dto.response;
+
+import java.util.Map;
+import java.util.UUID;
+
+public record RetryStatsResponseDTO(
+        Map<String, RetryCountsDTO> operations,
+        Map<UUID, RetryCountsDTO> loads
+) {
+}
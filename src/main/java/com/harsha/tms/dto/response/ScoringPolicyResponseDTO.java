@@ -0,0 +1,15 @@
+package com.harsha.tms.dto.response;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record ScoringPolicyResponseDTO(
+        UUID shipperId,
+        Double priceWeight,
+        Double ratingWeight,
+        Double coverageWeight,
+        Double ageWeight,
+        long version,
+        LocalDateTime updatedAt
+) {
+}
@@ -1,11 +1,13 @@
 package com.harsha.tms.dto.response;
 
+import java.util.List;
 import java.util.UUID;
 
 public record TransporterResponseDTO(
         UUID transporterId,
         String companyName,
-        Double rating
+        Double rating,
+        List<TruckResponseDTO> trucks
 ) {
 }
 
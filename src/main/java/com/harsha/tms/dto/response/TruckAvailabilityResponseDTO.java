@@ -0,0 +1,15 @@
+package com.harsha.tms.dto.response;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record TruckAvailabilityResponseDTO(
+        UUID transporterId,
+        String truckType,
+        LocalDateTime from,
+        LocalDateTime to,
+        Integer fleet,
+        Integer booked,
+        Integer available
+) {
+}
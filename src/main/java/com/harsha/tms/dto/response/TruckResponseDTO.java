@@ -0,0 +1,10 @@
+package com.harsha.tms.dto.response;
+
+import java.util.UUID;
+
+public record TruckResponseDTO(
+        UUID id,
+        String truckType,
+        Integer count
+) {
+}
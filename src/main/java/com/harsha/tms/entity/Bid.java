@@ -14,7 +14,6 @@ import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
-import jakarta.persistence.UniqueConstraint;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -24,15 +23,11 @@ import lombok.ToString;
 @Entity
 @Table(name = "bids", 
     indexes = {
-        @Index(name = "idx_bid_load_id", columnList = "load_id"),
-        @Index(name = "idx_bid_transporter_id", columnList = "transporter_id"),
+        @Index(name = "idx_bid_load_id_submitted_at", columnList = "load_id, submittedAt, bidId"),
+        @Index(name = "idx_bid_load_id_status", columnList = "load_id, status"),
+        @Index(name = "idx_bid_transporter_id_submitted_at", columnList = "transporter_id, submittedAt, bidId"),
+        @Index(name = "idx_bid_submitted_at", columnList = "submittedAt, bidId"),
         @Index(name = "idx_bid_status", columnList = "status")
-    },
-    uniqueConstraints = {
-        @UniqueConstraint(
-            name = "unique_accepted_bid",
-            columnNames = {"load_id", "status"}
-        )
     }
 )
 @Getter
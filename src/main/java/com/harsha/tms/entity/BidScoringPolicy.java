@@ -0,0 +1,52 @@
+package com.harsha.tms.entity;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+@Entity
+@Table(name = "bid_scoring_policies")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class BidScoringPolicy {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    private UUID id;
+
+    @Version
+    private long version;
+
+    @Column(nullable = false, unique = true)
+    private UUID shipperId;
+
+    @Column(nullable = false)
+    private Double priceWeight;
+
+    @Column(nullable = false)
+    private Double ratingWeight;
+
+    @Column(nullable = false)
+    private Double coverageWeight;
+
+    @Column(nullable = false)
+    private Double ageWeight;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
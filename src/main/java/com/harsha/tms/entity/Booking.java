@@ -22,7 +22,9 @@ import lombok.ToString;
 
 @Entity
 @Table(name = "bookings", indexes = {
-    @Index(name = "idx_booking_load_id", columnList = "load_id")
+    @Index(name = "idx_booking_load_id", columnList = "load_id"),
+    @Index(name = "idx_booking_transporter_id_booked_at", columnList = "transporter_id, bookedAt, bookingId"),
+    @Index(name = "idx_booking_booked_at", columnList = "bookedAt, bookingId")
 })
 @Getter
 @Setter
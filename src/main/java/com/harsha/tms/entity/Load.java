@@ -25,8 +25,9 @@ import lombok.ToString;
 
 @Entity
 @Table(name = "loads", indexes = {
-    @Index(name = "idx_load_status", columnList = "status"),
-    @Index(name = "idx_load_shipper_id", columnList = "shipperId")
+    @Index(name = "idx_load_status_date_posted", columnList = "status, datePosted, id"),
+    @Index(name = "idx_load_shipper_id_date_posted", columnList = "shipperId, datePosted, id"),
+    @Index(name = "idx_load_date_posted", columnList = "datePosted, id")
 })
 @Getter
 @Setter
@@ -83,6 +84,9 @@ public class Load {
     @Column(nullable = false)
     private LocalDateTime datePosted;
 
+    // Bidding closes and the best bids are booked at this time; without it the shipper books by hand
+    private LocalDateTime auctionClosesAt;
+
     @OneToMany(mappedBy = "load", fetch = FetchType.LAZY)
     private List<Bid> bids;
 
@@ -8,6 +8,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
@@ -17,7 +18,9 @@ import lombok.Setter;
 import lombok.ToString;
 
 @Entity
-@Table(name = "transporters")
+@Table(name = "transporters", indexes = {
+    @Index(name = "idx_transporter_rating", columnList = "rating, transporterId")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -7,6 +7,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -17,7 +18,10 @@ import lombok.Setter;
 import lombok.ToString;
 
 @Entity
-@Table(name = "trucks")
+@Table(name = "trucks", indexes = {
+    @Index(name = "idx_truck_transporter_id_truck_type", columnList = "transporter_id, truckType"),
+    @Index(name = "idx_truck_truck_type_transporter_id", columnList = "truckType, transporter_id, count")
+})
 @Getter
 @Setter
 @NoArgsConstructor
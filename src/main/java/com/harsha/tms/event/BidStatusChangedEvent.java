@@ -0,0 +1,12 @@
+package com.harsha.tms.event;
+
+import java.util.UUID;
+
+import com.harsha.tms.entity.BidStatus;
+
+public record BidStatusChangedEvent(
+        UUID loadId,
+        UUID bidId,
+        BidStatus status
+) {
+}
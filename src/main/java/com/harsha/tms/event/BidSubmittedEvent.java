@@ -0,0 +1,9 @@
+package com.harsha.tms.event;
+
+import com.harsha.tms.dto.response.BidResponseDTO;
+
+public record BidSubmittedEvent(
+        BidResponseDTO bid,
+        double score
+) {
+}
@@ -0,0 +1,9 @@
+package com.harsha.tms.event;
+
+import java.util.UUID;
+
+public record BidsRejectedEvent(
+        UUID loadId,
+        int count
+) {
+}
@@ -0,0 +1,12 @@
+package com.harsha.tms.event;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record LoadPostedEvent(
+        UUID loadId,
+        LocalDateTime pickupDate,
+        LocalDateTime deliveryDate,
+        LocalDateTime auctionClosesAt
+) {
+}
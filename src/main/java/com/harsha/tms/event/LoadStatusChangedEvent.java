@@ -0,0 +1,11 @@
+package com.harsha.tms.event;
+
+import java.util.UUID;
+
+import com.harsha.tms.entity.BookingStatus;
+
+public record LoadStatusChangedEvent(
+        UUID loadId,
+        BookingStatus status
+) {
+}
@@ -0,0 +1,8 @@
+package com.harsha.tms.event;
+
+import com.harsha.tms.dto.response.ScoringPolicyResponseDTO;
+
+public record ScoringPolicyChangedEvent(
+        ScoringPolicyResponseDTO policy
+) {
+}
@@ -0,0 +1,8 @@
+package com.harsha.tms.exception;
+
+public class BulkLimitExceededException extends RuntimeException {
+
+    public BulkLimitExceededException(String message) {
+        super(message);
+    }
+}
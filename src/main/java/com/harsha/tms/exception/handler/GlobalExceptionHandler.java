@@ -3,13 +3,17 @@ package com.harsha.tms.exception.handler;
 import java.time.Instant;
 import java.util.stream.Collectors;
 
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.data.core.PropertyReferenceException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
+import com.harsha.tms.exception.BulkLimitExceededException;
 import com.harsha.tms.exception.InsufficientCapacityException;
+import com.harsha.tms.exception.InvalidCursorException;
 import com.harsha.tms.exception.InvalidStatusTransitionException;
 import com.harsha.tms.exception.LoadAlreadyBookedException;
 import com.harsha.tms.exception.ResourceNotFoundException;
@@ -37,12 +41,31 @@ public class GlobalExceptionHandler {
         return buildResponseEntity(ex, request, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidCursor(InvalidCursorException ex,
+                                                             HttpServletRequest request) {
+        return buildResponseEntity(ex, request, HttpStatus.BAD_REQUEST);
+    }
+
     @ExceptionHandler(LoadAlreadyBookedException.class)
     public ResponseEntity<ErrorResponse> handleLoadAlreadyBooked(LoadAlreadyBookedException ex,
                                                                  HttpServletRequest request) {
         return buildResponseEntity(ex, request, HttpStatus.CONFLICT);
     }
 
+    // Reaches here only once ConflictRetrier has used up its attempts
+    @ExceptionHandler(ConcurrencyFailureException.class)
+    public ResponseEntity<ErrorResponse> handleConcurrencyFailure(ConcurrencyFailureException ex,
+                                                                  HttpServletRequest request) {
+        return buildResponseEntity(ex, request, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(BulkLimitExceededException.class)
+    public ResponseEntity<ErrorResponse> handleBulkLimitExceeded(BulkLimitExceededException ex,
+                                                                 HttpServletRequest request) {
+        return buildResponseEntity(ex, request, HttpStatus.BAD_REQUEST);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleMethodArgumentNotValid(MethodArgumentNotValidException ex,
                                                                       HttpServletRequest request) {
@@ -64,6 +87,12 @@ public class GlobalExceptionHandler {
         return buildResponseEntity(ex, request, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(PropertyReferenceException.class)
+    public ResponseEntity<ErrorResponse> handlePropertyReference(PropertyReferenceException ex,
+                                                                HttpServletRequest request) {
+        return buildResponseEntity(ex, request, HttpStatus.BAD_REQUEST);
+    }
+
     private ResponseEntity<ErrorResponse> buildResponseEntity(Exception ex,
                                                               HttpServletRequest request,
                                                               HttpStatus status) {
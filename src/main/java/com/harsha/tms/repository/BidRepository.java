@@ -1,29 +1,76 @@
 package com.harsha.tms.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import com.harsha.tms.entity.Bid;
 import com.harsha.tms.entity.BidStatus;
+import com.harsha.tms.entity.BookingStatus;
+
+import jakarta.persistence.QueryHint;
 
 @Repository
-public interface BidRepository extends JpaRepository<Bid, UUID> {
+public interface BidRepository extends JpaRepository<Bid, UUID>, BidRepositoryCustom {
 
     List<Bid> findByLoad_Id(UUID loadId);
 
-    List<Bid> findByTransporter_TransporterId(UUID transporterId);
+    @Modifying
+    @Query("UPDATE Bid b SET b.status = :to WHERE b.bidId = :bidId AND b.status = :from")
+    int transitionStatus(UUID bidId, BidStatus from, BidStatus to);
+
+    @Modifying
+    @Query("UPDATE Bid b SET b.status = :to WHERE b.bidId IN :bidIds AND b.status = :from")
+    int transitionStatuses(Collection<UUID> bidIds, BidStatus from, BidStatus to);
+
+    @Modifying
+    @Query("UPDATE Bid b SET b.status = :to WHERE b.load.id = :loadId AND b.status = :from")
+    int transitionStatusByLoadId(UUID loadId, BidStatus from, BidStatus to);
+
+    @Modifying
+    @Query("UPDATE Bid b SET b.status = :to WHERE b.load.id IN :loadIds AND b.status = :from")
+    int transitionStatusByLoadIds(Collection<UUID> loadIds, BidStatus from, BidStatus to);
 
-    List<Bid> findByStatus(BidStatus status);
+    @EntityGraph(attributePaths = "transporter")
+    List<Bid> findWithTransporterByLoad_Id(UUID loadId);
 
-    List<Bid> findByLoad_IdAndStatus(UUID loadId, BidStatus status);
+    @EntityGraph(attributePaths = "transporter")
+    List<Bid> findWithTransporterByLoad_IdAndStatus(UUID loadId, BidStatus status);
 
-    List<Bid> findByTransporter_TransporterIdAndStatus(UUID transporterId, BidStatus status);
+    @EntityGraph(attributePaths = "transporter")
+    List<Bid> findWithTransporterByLoad_IdInAndStatus(Collection<UUID> loadIds, BidStatus status);
 
-    List<Bid> findByLoad_IdAndTransporter_TransporterId(UUID loadId, UUID transporterId);
+    @Query("""
+            SELECT b FROM Bid b JOIN FETCH b.transporter t
+            WHERE b.load.id = :loadId
+              AND COALESCE(:priceWeight / b.proposedRate, 0) + :ratingWeight * COALESCE(t.rating, 0) / :maxRating >= :minScore
+            ORDER BY COALESCE(:priceWeight / b.proposedRate, 0) + :ratingWeight * COALESCE(t.rating, 0) / :maxRating DESC,
+                     b.bidId
+            """)
+    List<Bid> findTopScoredByLoadId(UUID loadId, double priceWeight, double ratingWeight, double maxRating,
+                                    double minScore, Limit limit);
 
-    List<Bid> findByLoad_IdAndTransporter_TransporterIdAndStatus(UUID loadId, UUID transporterId, BidStatus status);
+    // Rows arrive grouped by load so each load's bids form one contiguous range
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+            SELECT new com.harsha.tms.repository.BidScoreRow(
+                       l.id, b.bidId, t.transporterId, b.proposedRate, t.rating, b.trucksOffered, b.truckType,
+                       b.status, b.submittedAt, l.remainingTrucks, l.pickupDate)
+            FROM Bid b JOIN b.load l JOIN b.transporter t
+            WHERE l.shipperId = :shipperId AND l.status IN :loadStatuses
+            ORDER BY l.id
+            """)
+    Stream<BidScoreRow> streamScoreRows(UUID shipperId, Collection<BookingStatus> loadStatuses);
 }
 
@@ -0,0 +1,18 @@
+package com.harsha.tms.repository;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+
+import com.harsha.tms.dto.request.BidSearchCriteria;
+import com.harsha.tms.dto.response.BidResponseDTO;
+
+public interface BidRepositoryCustom {
+
+    Page<BidResponseDTO> search(BidSearchCriteria criteria, Pageable pageable);
+
+    // Keyset scroll, newest first, over (submittedAt, bidId)
+    Window<BidResponseDTO> scroll(BidSearchCriteria criteria, ScrollPosition position, Limit limit);
+}
@@ -0,0 +1,150 @@
+package com.harsha.tms.repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import com.harsha.tms.dto.request.BidSearchCriteria;
+import com.harsha.tms.dto.response.BidResponseDTO;
+import com.harsha.tms.entity.Bid;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CompoundSelection;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+/**
+ * Bid listings built as a single Criteria query from whichever filters are set, selecting
+ * straight into {@link BidResponseDTO} so no entities are loaded.
+ */
+public class BidRepositoryCustomImpl implements BidRepositoryCustom {
+
+    private static final String SUBMITTED_AT = "submittedAt";
+    private static final String BID_ID = "bidId";
+    private static final Sort DEFAULT_SORT = Sort.by(Sort.Order.desc(SUBMITTED_AT), Sort.Order.desc(BID_ID));
+
+    private final EntityManager entityManager;
+
+    public BidRepositoryCustomImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Page<BidResponseDTO> search(BidSearchCriteria criteria, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BidResponseDTO> query = cb.createQuery(BidResponseDTO.class);
+        Root<Bid> bid = query.from(Bid.class);
+
+        Sort sort = pageable.getSort().isSorted() ? pageable.getSort() : DEFAULT_SORT;
+        // Ties are broken by id so pages never overlap or skip rows
+        if (sort.getOrderFor(BID_ID) == null) {
+            sort = sort.and(Sort.by(BID_ID));
+        }
+        query.select(toResponse(cb, bid))
+                .where(filters(cb, bid, criteria).toArray(Predicate[]::new))
+                .orderBy(QueryUtils.toOrders(sort, bid, cb));
+
+        TypedQuery<BidResponseDTO> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult(Math.toIntExact(pageable.getOffset()));
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+
+        return PageableExecutionUtils.getPage(typedQuery.getResultList(), pageable, () -> count(criteria));
+    }
+
+    @Override
+    public Window<BidResponseDTO> scroll(BidSearchCriteria criteria, ScrollPosition position, Limit limit) {
+        if (!(position instanceof KeysetScrollPosition keyset)) {
+            throw new IllegalArgumentException("Bids can only be scrolled by keyset");
+        }
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BidResponseDTO> query = cb.createQuery(BidResponseDTO.class);
+        Root<Bid> bid = query.from(Bid.class);
+        Path<LocalDateTime> submittedAt = bid.get(SUBMITTED_AT);
+        Path<UUID> bidId = bid.get(BID_ID);
+
+        List<Predicate> predicates = filters(cb, bid, criteria);
+        if (!keyset.isInitial()) {
+            LocalDateTime afterSubmittedAt = (LocalDateTime) keyset.getKeys().get(SUBMITTED_AT);
+            UUID afterBidId = (UUID) keyset.getKeys().get(BID_ID);
+            predicates.add(cb.or(
+                    cb.lessThan(submittedAt, afterSubmittedAt),
+                    cb.and(cb.equal(submittedAt, afterSubmittedAt), cb.lessThan(bidId, afterBidId))));
+        }
+        query.select(toResponse(cb, bid))
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(cb.desc(submittedAt), cb.desc(bidId));
+
+        int size = limit.max();
+        List<BidResponseDTO> rows = entityManager.createQuery(query)
+                .setMaxResults(size + 1)
+                .getResultList();
+        boolean hasNext = rows.size() > size;
+        List<BidResponseDTO> content = hasNext ? rows.subList(0, size) : rows;
+
+        return Window.from(content, index -> ScrollPosition.forward(Map.of(
+                SUBMITTED_AT, content.get(index).submittedAt(),
+                BID_ID, content.get(index).bidId())), hasNext);
+    }
+
+    private long count(BidSearchCriteria criteria) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Bid> bid = query.from(Bid.class);
+        query.select(cb.count(bid)).where(filters(cb, bid, criteria).toArray(Predicate[]::new));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private static CompoundSelection<BidResponseDTO> toResponse(CriteriaBuilder cb, Root<Bid> bid) {
+        return cb.construct(BidResponseDTO.class,
+                bid.get(BID_ID),
+                bid.get("load").get("id"),
+                bid.get("transporter").get("transporterId"),
+                bid.get("proposedRate"),
+                bid.get("trucksOffered"),
+                bid.get("truckType"),
+                bid.get("status"),
+                bid.get(SUBMITTED_AT));
+    }
+
+    private static List<Predicate> filters(CriteriaBuilder cb, Root<Bid> bid, BidSearchCriteria criteria) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (criteria.loadId() != null) {
+            predicates.add(cb.equal(bid.get("load").get("id"), criteria.loadId()));
+        }
+        if (criteria.transporterId() != null) {
+            predicates.add(cb.equal(bid.get("transporter").get("transporterId"), criteria.transporterId()));
+        }
+        if (criteria.status() != null) {
+            predicates.add(cb.equal(bid.get("status"), criteria.status()));
+        }
+        if (criteria.submittedFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(bid.get(SUBMITTED_AT), criteria.submittedFrom()));
+        }
+        if (criteria.submittedTo() != null) {
+            predicates.add(cb.lessThan(bid.get(SUBMITTED_AT), criteria.submittedTo()));
+        }
+        if (criteria.truckType() != null && !criteria.truckType().isBlank()) {
+            predicates.add(cb.equal(bid.get("truckType"), criteria.truckType()));
+        }
+        return predicates;
+    }
+}
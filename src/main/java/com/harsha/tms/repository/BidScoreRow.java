@@ -0,0 +1,21 @@
+package com.harsha.tms.repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import com.harsha.tms.entity.BidStatus;
+
+public record BidScoreRow(
+        UUID loadId,
+        UUID bidId,
+        UUID transporterId,
+        Double proposedRate,
+        Double rating,
+        Integer trucksOffered,
+        String truckType,
+        BidStatus status,
+        LocalDateTime submittedAt,
+        Integer remainingTrucks,
+        LocalDateTime pickupDate
+) {
+}
@@ -0,0 +1,15 @@
+package com.harsha.tms.repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.harsha.tms.entity.BidScoringPolicy;
+
+@Repository
+public interface BidScoringPolicyRepository extends JpaRepository<BidScoringPolicy, UUID> {
+
+    Optional<BidScoringPolicy> findByShipperId(UUID shipperId);
+}
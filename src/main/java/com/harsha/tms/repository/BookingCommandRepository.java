@@ -0,0 +1,133 @@
+package com.harsha.tms.repository;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Repository;
+
+import com.harsha.tms.entity.BidStatus;
+import com.harsha.tms.entity.BookingStatus;
+
+/**
+ * Books a bid in one database round trip. On PostgreSQL this is a single statement whose
+ * data-modifying CTEs accept the bid, reserve the load's trucks and insert the booking, each write
+ * only running if the previous one did. The transporter's trucks are reserved by
+ * {@code TruckCapacity}, in memory and again against the bookings table before commit, so the row
+ * carries the load's window for the caller to reserve them. On H2 the same steps run inside the
+ * database as {@link BookingRoutine}. Either way the row returned reports what was read as well as
+ * what was written; the caller rolls back when the booking was not made.
+ * <p>
+ * Only the H2 routine is covered by tests. The PostgreSQL statement has never been run by them and
+ * stays behind {@code tms.booking.single-round-trip}, off by default.
+ */
+@Repository
+public class BookingCommandRepository {
+
+    private static final String POSTGRES_BOOK = """
+            WITH l AS (
+                SELECT status, remaining_trucks, pickup_date, delivery_date FROM loads WHERE id = :loadId
+            ), b AS (
+                SELECT status, truck_type FROM bids WHERE bid_id = :bidId
+            ), checked AS (
+                SELECT 1 FROM l, b
+                WHERE l.status IN ('POSTED', 'OPEN_FOR_BIDS') AND b.status = 'PENDING' AND l.remaining_trucks >= :trucks
+                  AND EXISTS (SELECT 1 FROM transporters WHERE transporter_id = :transporterId)
+            ), accepted AS (
+                UPDATE bids SET status = 'ACCEPTED'
+                WHERE bid_id = :bidId AND status = 'PENDING' AND EXISTS (SELECT 1 FROM checked)
+                RETURNING bid_id
+            ), reserved AS (
+                UPDATE loads
+                SET remaining_trucks = remaining_trucks - :trucks,
+                    status = CASE WHEN remaining_trucks = :trucks THEN 'BOOKED' ELSE status END,
+                    version = version + 1
+                WHERE id = :loadId AND remaining_trucks >= :trucks AND status IN ('POSTED', 'OPEN_FOR_BIDS')
+                  AND EXISTS (SELECT 1 FROM accepted)
+                RETURNING status
+            ), booked AS (
+                INSERT INTO bookings (booking_id, load_id, bid_id, transporter_id, allocated_trucks, final_rate,
+                                      status, booked_at)
+                SELECT :bookingId, :loadId, :bidId, :transporterId, :trucks, :finalRate, 'CONFIRMED', :bookedAt
+                WHERE EXISTS (SELECT 1 FROM reserved)
+                RETURNING booking_id
+            )
+            SELECT (SELECT status FROM l) AS load_status,
+                   (SELECT remaining_trucks FROM l) AS remaining_trucks,
+                   (SELECT status FROM b) AS bid_status,
+                   (SELECT truck_type FROM b) AS truck_type,
+                   (SELECT pickup_date FROM l) AS pickup_date,
+                   (SELECT delivery_date FROM l) AS delivery_date,
+                   EXISTS (SELECT 1 FROM transporters WHERE transporter_id = :transporterId) AS transporter_found,
+                   EXISTS (SELECT 1 FROM accepted) AS bid_accepted,
+                   EXISTS (SELECT 1 FROM reserved) AS load_reserved,
+                   (SELECT status FROM reserved) AS load_status_after,
+                   EXISTS (SELECT 1 FROM booked) AS booked
+            """;
+
+    private static final String H2_BOOK = """
+            CALL BOOK_BID(:bookingId, :loadId, :bidId, :transporterId, :trucks, :finalRate, :bookedAt)
+            """;
+
+    private static final String H2_CREATE_ROUTINE =
+            "CREATE ALIAS IF NOT EXISTS BOOK_BID FOR '" + BookingRoutine.class.getName() + ".book'";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final String databaseProduct;
+
+    public BookingCommandRepository(NamedParameterJdbcTemplate jdbcTemplate, DataSource dataSource)
+            throws MetaDataAccessException {
+        this.jdbcTemplate = jdbcTemplate;
+        this.databaseProduct = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+        // DDL commits in H2, so the routine is created up front rather than inside a booking's transaction
+        if ("H2".equals(databaseProduct)) {
+            jdbcTemplate.getJdbcTemplate().execute(H2_CREATE_ROUTINE);
+        }
+    }
+
+    public BookingCommandRow book(UUID bookingId, UUID loadId, UUID bidId, UUID transporterId, int trucks,
+                                  double finalRate, LocalDateTime bookedAt) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("bookingId", bookingId)
+                .addValue("loadId", loadId)
+                .addValue("bidId", bidId)
+                .addValue("transporterId", transporterId)
+                .addValue("trucks", trucks)
+                .addValue("finalRate", finalRate)
+                .addValue("bookedAt", bookedAt);
+
+        return switch (databaseProduct) {
+            case "PostgreSQL" -> jdbcTemplate.queryForObject(POSTGRES_BOOK, parameters, BookingCommandRepository::toRow);
+            case "H2" -> jdbcTemplate.queryForObject(H2_BOOK, parameters, BookingCommandRepository::toRow);
+            default -> throw new IllegalStateException(
+                    "Single round-trip booking is not supported on " + databaseProduct);
+        };
+    }
+
+    private static BookingCommandRow toRow(ResultSet rs, int rowNum) throws SQLException {
+        return new BookingCommandRow(
+                toEnum(BookingStatus.class, rs.getString("load_status")),
+                rs.getObject("remaining_trucks", Integer.class),
+                toEnum(BidStatus.class, rs.getString("bid_status")),
+                rs.getString("truck_type"),
+                rs.getObject("pickup_date", LocalDateTime.class),
+                rs.getObject("delivery_date", LocalDateTime.class),
+                rs.getBoolean("transporter_found"),
+                rs.getBoolean("bid_accepted"),
+                rs.getBoolean("load_reserved"),
+                toEnum(BookingStatus.class, rs.getString("load_status_after")),
+                rs.getBoolean("booked"));
+    }
+
+    private static <E extends Enum<E>> E toEnum(Class<E> type, String name) {
+        return name != null ? Enum.valueOf(type, name) : null;
+    }
+}
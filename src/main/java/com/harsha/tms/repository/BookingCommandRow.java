@@ -0,0 +1,25 @@
+package com.harsha.tms.repository;
+
+import java.time.LocalDateTime;
+
+import com.harsha.tms.entity.BidStatus;
+import com.harsha.tms.entity.BookingStatus;
+
+/**
+ * What a single round-trip booking read before writing, and which of its guarded writes went
+ * through. The load and bid columns are null when the row was not found.
+ */
+public record BookingCommandRow(
+        BookingStatus loadStatus,
+        Integer remainingTrucks,
+        BidStatus bidStatus,
+        String truckType,
+        LocalDateTime pickupDate,
+        LocalDateTime deliveryDate,
+        boolean transporterFound,
+        boolean bidAccepted,
+        boolean loadReserved,
+        BookingStatus loadStatusAfter,
+        boolean booked
+) {
+}
@@ -1,14 +1,93 @@
 package com.harsha.tms.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import com.harsha.tms.entity.Booking;
+import com.harsha.tms.entity.BookingStatus;
+
+import jakarta.persistence.QueryHint;
 
 @Repository
-public interface BookingRepository extends JpaRepository<Booking, UUID> {
+public interface BookingRepository extends JpaRepository<Booking, UUID>, BookingRepositoryCustom {
+
+    @Query("SELECT b.load.id FROM Booking b WHERE b.bookingId = :bookingId")
+    Optional<UUID> findLoadIdByBookingId(UUID bookingId);
+
+    @Modifying
+    @Query("UPDATE Booking b SET b.status = :to WHERE b.bookingId = :bookingId AND b.status = :from")
+    int transitionStatus(UUID bookingId, BookingStatus from, BookingStatus to);
+
+    @Modifying
+    @Query("UPDATE Booking b SET b.status = :to WHERE b.load.id = :loadId AND b.status = :from")
+    int transitionStatusByLoadId(UUID loadId, BookingStatus from, BookingStatus to);
+
+    @Modifying
+    @Query("UPDATE Booking b SET b.status = :to WHERE b.load.id IN :loadIds AND b.status = :from")
+    int transitionStatusByLoadIds(Collection<UUID> loadIds, BookingStatus from, BookingStatus to);
+
+    @Modifying
+    @Query("UPDATE Booking b SET b.status = :to WHERE b.bookingId IN :bookingIds AND b.status = :from")
+    int transitionStatuses(Collection<UUID> bookingIds, BookingStatus from, BookingStatus to);
+
+    @Query("""
+            SELECT new com.harsha.tms.repository.BookingTransitionRow(
+                       b.bookingId, l.id, b.bid.bidId, b.transporter.transporterId, b.bid.truckType, b.allocatedTrucks,
+                       b.finalRate, b.status, b.bookedAt, l.pickupDate, l.deliveryDate, l.status)
+            FROM Booking b JOIN b.load l
+            WHERE b.bookingId IN :bookingIds
+            """)
+    List<BookingTransitionRow> findTransitionRowsByBookingIdIn(Collection<UUID> bookingIds);
+
+    @Query("""
+            SELECT new com.harsha.tms.repository.TruckAllocationRow(
+                       b.transporter.transporterId, b.bid.truckType, SUM(b.allocatedTrucks))
+            FROM Booking b
+            WHERE b.load.id = :loadId AND b.status = :status
+            GROUP BY b.transporter.transporterId, b.bid.truckType
+            """)
+    List<TruckAllocationRow> sumAllocatedTrucksByLoadId(UUID loadId, BookingStatus status);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+            SELECT new com.harsha.tms.repository.BookingWindowRow(
+                       b.transporter.transporterId, b.bid.truckType, l.pickupDate, l.deliveryDate, b.allocatedTrucks)
+            FROM Booking b JOIN b.load l
+            WHERE b.status IN :statuses AND l.deliveryDate > :endingAfter
+            """)
+    Stream<BookingWindowRow> streamWindows(Collection<BookingStatus> statuses, LocalDateTime endingAfter);
+
+    @Query("""
+            SELECT new com.harsha.tms.repository.BookingWindowRow(
+                       b.transporter.transporterId, b.bid.truckType, l.pickupDate, l.deliveryDate, b.allocatedTrucks)
+            FROM Booking b JOIN b.load l
+            WHERE b.transporter.transporterId = :transporterId AND b.status IN :statuses
+              AND l.deliveryDate > :endingAfter
+            """)
+    List<BookingWindowRow> findWindowsByTransporterId(UUID transporterId, Collection<BookingStatus> statuses,
+                                                      LocalDateTime endingAfter);
+
+    @Query("""
+            SELECT new com.harsha.tms.repository.BookingWindowRow(
+                       b.transporter.transporterId, b.bid.truckType, l.pickupDate, l.deliveryDate, b.allocatedTrucks)
+            FROM Booking b JOIN b.load l
+            WHERE b.transporter.transporterId = :transporterId AND b.bid.truckType = :truckType
+              AND b.status IN :statuses AND l.pickupDate < :to AND l.deliveryDate > :from
+            """)
+    List<BookingWindowRow> findWindowsOverlapping(UUID transporterId, String truckType,
+                                                  Collection<BookingStatus> statuses, LocalDateTime from,
+                                                  LocalDateTime to);
 }
 
 
@@ -0,0 +1,14 @@
+package com.harsha.tms.repository;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+
+import com.harsha.tms.dto.request.BookingSearchCriteria;
+import com.harsha.tms.dto.response.BookingResponseDTO;
+
+public interface BookingRepositoryCustom {
+
+    // Keyset scroll, newest first, over (bookedAt, bookingId)
+    Window<BookingResponseDTO> scroll(BookingSearchCriteria criteria, ScrollPosition position, Limit limit);
+}
@@ -0,0 +1,106 @@
+package com.harsha.tms.repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+
+import com.harsha.tms.dto.request.BookingSearchCriteria;
+import com.harsha.tms.dto.response.BookingResponseDTO;
+import com.harsha.tms.entity.Booking;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+/**
+ * Booking listings built as a single Criteria query from whichever filters are set, selecting
+ * straight into {@link BookingResponseDTO} so no entities are loaded. Load and transporter are
+ * read from the booking's own foreign keys, so neither table is joined.
+ */
+public class BookingRepositoryCustomImpl implements BookingRepositoryCustom {
+
+    private static final String BOOKED_AT = "bookedAt";
+    private static final String BOOKING_ID = "bookingId";
+
+    private final EntityManager entityManager;
+
+    public BookingRepositoryCustomImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Window<BookingResponseDTO> scroll(BookingSearchCriteria criteria, ScrollPosition position, Limit limit) {
+        if (!(position instanceof KeysetScrollPosition keyset)) {
+            throw new IllegalArgumentException("Bookings can only be scrolled by keyset");
+        }
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BookingResponseDTO> query = cb.createQuery(BookingResponseDTO.class);
+        Root<Booking> booking = query.from(Booking.class);
+        Path<LocalDateTime> bookedAt = booking.get(BOOKED_AT);
+        Path<UUID> bookingId = booking.get(BOOKING_ID);
+
+        List<Predicate> predicates = filters(cb, booking, criteria);
+        if (!keyset.isInitial()) {
+            LocalDateTime afterBookedAt = (LocalDateTime) keyset.getKeys().get(BOOKED_AT);
+            UUID afterBookingId = (UUID) keyset.getKeys().get(BOOKING_ID);
+            predicates.add(cb.or(
+                    cb.lessThan(bookedAt, afterBookedAt),
+                    cb.and(cb.equal(bookedAt, afterBookedAt), cb.lessThan(bookingId, afterBookingId))));
+        }
+        query.select(cb.construct(BookingResponseDTO.class,
+                        bookingId,
+                        booking.get("load").get("id"),
+                        booking.get("bid").get("bidId"),
+                        booking.get("transporter").get("transporterId"),
+                        booking.get("allocatedTrucks"),
+                        booking.get("finalRate"),
+                        booking.get("status"),
+                        bookedAt,
+                        cb.nullLiteral(Integer.class)))
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(cb.desc(bookedAt), cb.desc(bookingId));
+
+        int size = limit.max();
+        List<BookingResponseDTO> rows = entityManager.createQuery(query)
+                .setMaxResults(size + 1)
+                .getResultList();
+        boolean hasNext = rows.size() > size;
+        List<BookingResponseDTO> content = hasNext ? rows.subList(0, size) : rows;
+
+        return Window.from(content, index -> ScrollPosition.forward(Map.of(
+                BOOKED_AT, content.get(index).bookedAt(),
+                BOOKING_ID, content.get(index).bookingId())), hasNext);
+    }
+
+    private static List<Predicate> filters(CriteriaBuilder cb, Root<Booking> booking,
+                                           BookingSearchCriteria criteria) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (criteria.loadId() != null) {
+            predicates.add(cb.equal(booking.get("load").get("id"), criteria.loadId()));
+        }
+        if (criteria.transporterId() != null) {
+            predicates.add(cb.equal(booking.get("transporter").get("transporterId"), criteria.transporterId()));
+        }
+        if (criteria.status() != null) {
+            predicates.add(cb.equal(booking.get("status"), criteria.status()));
+        }
+        if (criteria.bookedFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(booking.get(BOOKED_AT), criteria.bookedFrom()));
+        }
+        if (criteria.bookedTo() != null) {
+            predicates.add(cb.lessThan(booking.get(BOOKED_AT), criteria.bookedTo()));
+        }
+        return predicates;
+    }
+}
@@ -0,0 +1,116 @@
+package com.harsha.tms.repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * The booking steps of {@link BookingCommandRepository} as an H2 Java stored function, for
+ * databases without data-modifying CTEs. H2 runs it inside the database on its own connection,
+ * so the whole booking is still one call from the application. Returns the same columns as the
+ * PostgreSQL statement.
+ */
+public final class BookingRoutine {
+
+    // H2 calls the function once on this placeholder connection to learn the result columns
+    private static final String COLUMN_LIST_URL = "jdbc:columnlist:connection";
+
+    private static final String RESULT = """
+            SELECT CAST(? AS VARCHAR) AS load_status, CAST(? AS INTEGER) AS remaining_trucks,
+                   CAST(? AS VARCHAR) AS bid_status, CAST(? AS VARCHAR) AS truck_type,
+                   CAST(? AS TIMESTAMP) AS pickup_date, CAST(? AS TIMESTAMP) AS delivery_date,
+                   CAST(? AS BOOLEAN) AS transporter_found, CAST(? AS BOOLEAN) AS bid_accepted,
+                   CAST(? AS BOOLEAN) AS load_reserved, CAST(? AS VARCHAR) AS load_status_after,
+                   CAST(? AS BOOLEAN) AS booked
+            """;
+
+    private BookingRoutine() {
+    }
+
+    public static ResultSet book(Connection connection, UUID bookingId, UUID loadId, UUID bidId, UUID transporterId,
+                                 int trucks, double finalRate, LocalDateTime bookedAt) throws SQLException {
+        if (COLUMN_LIST_URL.equals(connection.getMetaData().getURL())) {
+            return result(connection, new Object[11]);
+        }
+
+        String loadStatus = null;
+        Integer remainingTrucks = null;
+        LocalDateTime pickupDate = null;
+        LocalDateTime deliveryDate = null;
+        try (ResultSet rs = query(connection,
+                "SELECT status, remaining_trucks, pickup_date, delivery_date FROM loads WHERE id = ?", loadId)) {
+            if (rs.next()) {
+                loadStatus = rs.getString(1);
+                remainingTrucks = rs.getInt(2);
+                pickupDate = rs.getObject(3, LocalDateTime.class);
+                deliveryDate = rs.getObject(4, LocalDateTime.class);
+            }
+        }
+
+        String bidStatus = null;
+        String truckType = null;
+        try (ResultSet rs = query(connection, "SELECT status, truck_type FROM bids WHERE bid_id = ?", bidId)) {
+            if (rs.next()) {
+                bidStatus = rs.getString(1);
+                truckType = rs.getString(2);
+            }
+        }
+
+        boolean transporterFound;
+        try (ResultSet rs = query(connection, "SELECT 1 FROM transporters WHERE transporter_id = ?", transporterId)) {
+            transporterFound = rs.next();
+        }
+
+        boolean checked = ("POSTED".equals(loadStatus) || "OPEN_FOR_BIDS".equals(loadStatus))
+                && "PENDING".equals(bidStatus) && transporterFound && remainingTrucks >= trucks;
+        boolean bidAccepted = checked && update(connection,
+                "UPDATE bids SET status = 'ACCEPTED' WHERE bid_id = ? AND status = 'PENDING'", bidId);
+        boolean loadReserved = bidAccepted && update(connection, """
+                UPDATE loads
+                SET remaining_trucks = remaining_trucks - ?,
+                    status = CASE WHEN remaining_trucks = ? THEN 'BOOKED' ELSE status END,
+                    version = version + 1
+                WHERE id = ? AND remaining_trucks >= ? AND status IN ('POSTED', 'OPEN_FOR_BIDS')
+                """, trucks, trucks, loadId, trucks);
+        String loadStatusAfter = null;
+        if (loadReserved) {
+            try (ResultSet rs = query(connection, "SELECT status FROM loads WHERE id = ?", loadId)) {
+                rs.next();
+                loadStatusAfter = rs.getString(1);
+            }
+        }
+        boolean booked = loadReserved && update(connection, """
+                INSERT INTO bookings (booking_id, load_id, bid_id, transporter_id, allocated_trucks, final_rate,
+                                      status, booked_at)
+                VALUES (?, ?, ?, ?, ?, ?, 'CONFIRMED', ?)
+                """, bookingId, loadId, bidId, transporterId, trucks, finalRate, bookedAt);
+
+        return result(connection, new Object[] {loadStatus, remainingTrucks, bidStatus, truckType, pickupDate,
+                deliveryDate, transporterFound, bidAccepted, loadReserved, loadStatusAfter, booked});
+    }
+
+    private static ResultSet result(Connection connection, Object[] values) throws SQLException {
+        return query(connection, RESULT, values);
+    }
+
+    private static ResultSet query(Connection connection, String sql, Object... parameters) throws SQLException {
+        PreparedStatement statement = connection.prepareStatement(sql);
+        for (int i = 0; i < parameters.length; i++) {
+            statement.setObject(i + 1, parameters[i]);
+        }
+        statement.closeOnCompletion();
+        return statement.executeQuery();
+    }
+
+    private static boolean update(Connection connection, String sql, Object... parameters) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < parameters.length; i++) {
+                statement.setObject(i + 1, parameters[i]);
+            }
+            return statement.executeUpdate() > 0;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.harsha.tms.repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import com.harsha.tms.entity.BookingStatus;
+
+public record BookingTransitionRow(
+        UUID bookingId,
+        UUID loadId,
+        UUID bidId,
+        UUID transporterId,
+        String truckType,
+        Integer allocatedTrucks,
+        Double finalRate,
+        BookingStatus status,
+        LocalDateTime bookedAt,
+        LocalDateTime pickupDate,
+        LocalDateTime deliveryDate,
+        BookingStatus loadStatus
+) {
+}
@@ -0,0 +1,13 @@
+package com.harsha.tms.repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record BookingWindowRow(
+        UUID transporterId,
+        String truckType,
+        LocalDateTime pickupDate,
+        LocalDateTime deliveryDate,
+        Integer allocatedTrucks
+) {
+}
@@ -0,0 +1,15 @@
+package com.harsha.tms.repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import com.harsha.tms.entity.BookingStatus;
+
+public record LoadDeadlineRow(
+        UUID loadId,
+        BookingStatus status,
+        LocalDateTime pickupDate,
+        LocalDateTime deliveryDate,
+        LocalDateTime auctionClosesAt
+) {
+}
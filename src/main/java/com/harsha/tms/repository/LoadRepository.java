@@ -1,21 +1,154 @@
 package com.harsha.tms.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import com.harsha.tms.dto.response.LoadResponseDTO;
 import com.harsha.tms.entity.BookingStatus;
 import com.harsha.tms.entity.Load;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface LoadRepository extends JpaRepository<Load, UUID> {
 
-    List<Load> findByShipperId(UUID shipperId);
+    // Read paths select straight into the response record; its components mirror Load's properties
+    Page<LoadResponseDTO> findAllBy(Pageable pageable);
 
-    List<Load> findByStatus(BookingStatus status);
+    Page<LoadResponseDTO> findByShipperId(UUID shipperId, Pageable pageable);
 
-    List<Load> findByShipperIdAndStatus(UUID shipperId, BookingStatus status);
-}
+    Page<LoadResponseDTO> findByStatus(BookingStatus status, Pageable pageable);
+
+    Page<LoadResponseDTO> findByShipperIdAndStatus(UUID shipperId, BookingStatus status, Pageable pageable);
+
+    Window<LoadResponseDTO> findAllBy(ScrollPosition position, Limit limit, Sort sort);
+
+    Window<LoadResponseDTO> findByShipperId(UUID shipperId, ScrollPosition position, Limit limit, Sort sort);
+
+    Window<LoadResponseDTO> findByStatus(BookingStatus status, ScrollPosition position, Limit limit, Sort sort);
+
+    Window<LoadResponseDTO> findByShipperIdAndStatus(UUID shipperId, BookingStatus status,
+                                                     ScrollPosition position, Limit limit, Sort sort);
+
+    // Only loads still POSTED move, so concurrent first bids race safely; the version bump keeps
+    // optimistic locking aware of the change
+    @Modifying
+    @Query("""
+            UPDATE Load l SET l.status = com.harsha.tms.entity.BookingStatus.OPEN_FOR_BIDS, l.version = l.version + 1
+            WHERE l.id IN :loadIds AND l.status = com.harsha.tms.entity.BookingStatus.POSTED
+            """)
+    int openForBids(Collection<UUID> loadIds);
+
+    // Capacity moves in one guarded statement so concurrent bookers queue on the row instead of
+    // failing on a stale version; the load is BOOKED by the same statement that takes its last truck.
+    // Only loads still taking bids qualify, so a booking read before pickup never lands on a load under way.
+    @Modifying
+    @Query("""
+            UPDATE Load l
+            SET l.remainingTrucks = l.remainingTrucks - :trucks,
+                l.status = CASE WHEN l.remainingTrucks = :trucks
+                                THEN com.harsha.tms.entity.BookingStatus.BOOKED ELSE l.status END,
+                l.version = l.version + 1
+            WHERE l.id = :loadId AND l.remainingTrucks >= :trucks
+              AND l.status IN (com.harsha.tms.entity.BookingStatus.POSTED,
+                               com.harsha.tms.entity.BookingStatus.OPEN_FOR_BIDS)
+            """)
+    int reserveTrucks(UUID loadId, int trucks);
+
+    // A BOOKED load given trucks back takes bids again, or they could never be booked; one under way stays so
+    @Modifying
+    @Query("""
+            UPDATE Load l
+            SET l.remainingTrucks = l.remainingTrucks + :trucks,
+                l.status = CASE WHEN l.status = com.harsha.tms.entity.BookingStatus.BOOKED
+                                 AND l.remainingTrucks + :trucks > 0
+                                THEN com.harsha.tms.entity.BookingStatus.OPEN_FOR_BIDS ELSE l.status END,
+                l.version = l.version + 1
+            WHERE l.id = :loadId
+            """)
+    int releaseTrucks(UUID loadId, int trucks);
 
+    // A fully booked load is on the road once any of its bookings is picked up or delivered
+    @Modifying
+    @Query("""
+            UPDATE Load l SET l.status = com.harsha.tms.entity.BookingStatus.IN_TRANSIT, l.version = l.version + 1
+            WHERE l.id IN :loadIds AND l.status = com.harsha.tms.entity.BookingStatus.BOOKED
+            """)
+    int startTransit(Collection<UUID> loadIds);
+
+    // and completed once none of its bookings is still confirmed or in transit
+    @Modifying
+    @Query("""
+            UPDATE Load l SET l.status = com.harsha.tms.entity.BookingStatus.COMPLETED, l.version = l.version + 1
+            WHERE l.id IN :loadIds
+              AND l.status IN (com.harsha.tms.entity.BookingStatus.BOOKED, com.harsha.tms.entity.BookingStatus.IN_TRANSIT)
+              AND NOT EXISTS (SELECT b FROM Booking b WHERE b.load.id = l.id
+                              AND b.status IN (com.harsha.tms.entity.BookingStatus.CONFIRMED,
+                                               com.harsha.tms.entity.BookingStatus.IN_TRANSIT))
+            """)
+    int completeDelivered(Collection<UUID> loadIds);
+
+    // Loads nobody booked are withdrawn once their pickup has passed
+    @Modifying
+    @Query("""
+            UPDATE Load l SET l.status = com.harsha.tms.entity.BookingStatus.CANCELLED, l.version = l.version + 1
+            WHERE l.id IN :loadIds AND l.pickupDate <= :now
+              AND l.status IN (com.harsha.tms.entity.BookingStatus.POSTED, com.harsha.tms.entity.BookingStatus.OPEN_FOR_BIDS)
+              AND NOT EXISTS (SELECT b FROM Booking b WHERE b.load.id = l.id
+                              AND b.status = com.harsha.tms.entity.BookingStatus.CONFIRMED)
+            """)
+    int expireUnbooked(Collection<UUID> loadIds, LocalDateTime now);
+
+    // Loads with trucks booked leave at pickup, fully booked or not
+    @Modifying
+    @Query("""
+            UPDATE Load l SET l.status = com.harsha.tms.entity.BookingStatus.IN_TRANSIT, l.version = l.version + 1
+            WHERE l.id IN :loadIds AND l.pickupDate <= :now
+              AND (l.status = com.harsha.tms.entity.BookingStatus.BOOKED
+                   OR l.status IN (com.harsha.tms.entity.BookingStatus.POSTED,
+                                   com.harsha.tms.entity.BookingStatus.OPEN_FOR_BIDS)
+                      AND EXISTS (SELECT b FROM Booking b WHERE b.load.id = l.id
+                                  AND b.status = com.harsha.tms.entity.BookingStatus.CONFIRMED))
+            """)
+    int departAtPickup(Collection<UUID> loadIds, LocalDateTime now);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+            SELECT new com.harsha.tms.repository.LoadDeadlineRow(
+                    l.id, l.status, l.pickupDate, l.deliveryDate, l.auctionClosesAt)
+            FROM Load l
+            WHERE l.status IN :statuses
+            """)
+    Stream<LoadDeadlineRow> streamDeadlines(Collection<BookingStatus> statuses);
+
+    @Query("SELECT l.id FROM Load l WHERE l.id IN :loadIds AND l.status IN :statuses AND l.pickupDate <= :now")
+    List<UUID> findIdsPickedUpBy(Collection<UUID> loadIds, Collection<BookingStatus> statuses, LocalDateTime now);
+
+    @Query("SELECT l.id FROM Load l WHERE l.id IN :loadIds AND l.status IN :statuses AND l.deliveryDate <= :now")
+    List<UUID> findIdsDeliveredBy(Collection<UUID> loadIds, Collection<BookingStatus> statuses, LocalDateTime now);
+
+    @Query("SELECT l.id FROM Load l WHERE l.id IN :loadIds AND l.status = :status")
+    List<UUID> findIdsByIdInAndStatus(Collection<UUID> loadIds, BookingStatus status);
+
+    @Query("SELECT l.status FROM Load l WHERE l.id = :loadId")
+    BookingStatus findStatusById(UUID loadId);
+
+    @Query("SELECT l.id FROM Load l WHERE l.shipperId = :shipperId AND l.status IN :statuses")
+    List<UUID> findIdsByShipperIdAndStatusIn(UUID shipperId, Collection<BookingStatus> statuses);
+}
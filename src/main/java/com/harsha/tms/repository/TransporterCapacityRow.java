@@ -0,0 +1,11 @@
+package com.harsha.tms.repository;
+
+import java.util.UUID;
+
+public record TransporterCapacityRow(
+        UUID transporterId,
+        String companyName,
+        Double rating,
+        Long fleet
+) {
+}
@@ -1,10 +1,16 @@
 package com.harsha.tms.repository;
 
 import com.harsha.tms.entity.Transporter;
+
+import jakarta.persistence.LockModeType;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
@@ -12,7 +18,9 @@ public interface TransporterRepository extends JpaRepository<Transporter, UUID>
 
     List<Transporter> findByCompanyName(String companyName);
 
-    List<Transporter> findByRatingGreaterThanEqual(Double rating);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Transporter t WHERE t.transporterId = :transporterId")
+    Optional<Transporter> findByIdForUpdate(UUID transporterId);
 
 }
 
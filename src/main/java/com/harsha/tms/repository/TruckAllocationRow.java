@@ -0,0 +1,10 @@
+package com.harsha.tms.repository;
+
+import java.util.UUID;
+
+public record TruckAllocationRow(
+        UUID transporterId,
+        String truckType,
+        Long trucks
+) {
+}
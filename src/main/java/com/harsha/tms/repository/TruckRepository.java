@@ -2,18 +2,47 @@ package com.harsha.tms.repository;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import com.harsha.tms.entity.Truck;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface TruckRepository extends JpaRepository<Truck, UUID> {
 
     List<Truck> findByTransporterTransporterId(UUID transporterId);
 
-    List<Truck> findByTruckType(String truckType);
+    List<Truck> findByTransporterTransporterIdOrderById(UUID transporterId);
+
+    // Capacity checks on a transporter's trucks of one type queue on these rows, across instances
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Truck t WHERE t.transporter.transporterId = :transporterId AND t.truckType = :truckType")
+    List<Truck> lockByTransporterIdAndTruckType(UUID transporterId, String truckType);
+
+    // Owners of at least minTrucks of the type after the given position, best rated first and unrated as 0
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "100"))
+    @Query("""
+            SELECT new com.harsha.tms.repository.TransporterCapacityRow(
+                       t.transporterId, t.companyName, COALESCE(t.rating, 0.0), SUM(tr.count))
+            FROM Truck tr JOIN tr.transporter t
+            WHERE tr.truckType = :truckType
+              AND (COALESCE(t.rating, 0.0) < :rating
+                   OR (COALESCE(t.rating, 0.0) = :rating AND t.transporterId > :transporterId))
+            GROUP BY t.transporterId, t.companyName, t.rating
+            HAVING SUM(tr.count) >= :minTrucks
+            ORDER BY COALESCE(t.rating, 0.0) DESC, t.transporterId
+            """)
+    Stream<TransporterCapacityRow> streamByTruckTypeRankedByRating(String truckType, long minTrucks, double rating,
+                                                                   UUID transporterId);
 
 }
 
@@ -0,0 +1,168 @@
+package com.harsha.tms.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Picks the bids that fill a load's remaining trucks at the lowest cost. A bid is taken whole,
+ * its trucks for its price, so this is a 0/1 knapsack: the most trucks that can be covered
+ * without exceeding the load, and of those the cheapest set of bids.
+ * <p>
+ * A greedy pass by price per truck runs first, with a parallel sort for large bid sets. The
+ * exact dynamic program over truck counts then runs within the time budget, over only the
+ * cheapest bids of each size that could all fit, and replaces the greedy answer when it
+ * finishes; when it would not fit the budget or its table would be too large, the greedy
+ * answer stands.
+ */
+@Component
+public class BidAllocator {
+
+    // Bids above which the greedy ordering is sorted in parallel
+    private static final int PARALLEL_SORT_THRESHOLD = 4096;
+
+    // Decision bits the dynamic program may keep, one per bid and truck count
+    private static final long MAX_TABLE_BITS = 64L * 1024 * 1024;
+
+    private final long budgetNanos;
+
+    public BidAllocator(@Value("${tms.allocation.time-budget:40ms}") Duration timeBudget) {
+        this.budgetNanos = timeBudget.toNanos();
+    }
+
+    public Allocation allocate(List<Candidate> candidates, int trucks) {
+        long deadline = System.nanoTime() + budgetNanos;
+        Integer[] order = byPricePerTruck(candidates);
+        Allocation greedy = greedy(candidates, order, trucks);
+        if (greedy.trucks() == trucks && greedy.chosen().size() <= 1) {
+            return greedy.asOptimal();
+        }
+        Allocation exact = exact(candidates, useful(candidates, order, trucks), trucks, deadline);
+        return exact != null ? exact : greedy;
+    }
+
+    private static Integer[] byPricePerTruck(List<Candidate> candidates) {
+        double[] pricePerTruck = new double[candidates.size()];
+        for (int i = 0; i < pricePerTruck.length; i++) {
+            pricePerTruck[i] = candidates.get(i).price() / candidates.get(i).trucks();
+        }
+        Comparator<Integer> comparator = Comparator
+                .comparingDouble((Integer i) -> pricePerTruck[i])
+                .thenComparingInt(i -> -candidates.get(i).trucks());
+        Integer[] order = new Integer[candidates.size()];
+        Arrays.setAll(order, i -> i);
+        if (order.length >= PARALLEL_SORT_THRESHOLD) {
+            Arrays.parallelSort(order, comparator);
+        } else {
+            Arrays.sort(order, comparator);
+        }
+        return order;
+    }
+
+    private static Allocation greedy(List<Candidate> candidates, Integer[] order, int trucks) {
+        List<Integer> chosen = new ArrayList<>();
+        int covered = 0;
+        double cost = 0;
+        for (int i : order) {
+            Candidate candidate = candidates.get(i);
+            if (covered + candidate.trucks() <= trucks) {
+                chosen.add(i);
+                covered += candidate.trucks();
+                cost += candidate.price();
+                if (covered == trucks) {
+                    break;
+                }
+            }
+        }
+        return new Allocation(chosen, covered, cost, false);
+    }
+
+    // A cover holds at most trucks / w bids of w trucks, and those may as well be the cheapest of that size,
+    // which come first in price per truck order
+    private static int[] useful(List<Candidate> candidates, Integer[] order, int trucks) {
+        int[] ofSize = new int[trucks + 1];
+        int[] useful = new int[order.length];
+        int count = 0;
+        for (int i : order) {
+            int weight = candidates.get(i).trucks();
+            if (weight <= trucks && ofSize[weight]++ < trucks / weight) {
+                useful[count++] = i;
+            }
+        }
+        return Arrays.copyOf(useful, count);
+    }
+
+    // Null when the budget runs out or the decision table would be too large
+    private static Allocation exact(List<Candidate> candidates, int[] items, int trucks, long deadline) {
+        int n = items.length;
+        int words = (trucks >> 6) + 1;
+        if ((long) n * words * 64 > MAX_TABLE_BITS) {
+            return null;
+        }
+
+        // cheapest[c] is the lowest price of bids covering exactly c trucks; item k's row of taken marks the
+        // counts whose cheapest set gained it, walked back from the last item to recover the choice
+        double[] cheapest = new double[trucks + 1];
+        Arrays.fill(cheapest, Double.POSITIVE_INFINITY);
+        cheapest[0] = 0;
+        long[] taken = new long[n * words];
+        for (int k = 0; k < n; k++) {
+            if (System.nanoTime() > deadline) {
+                return null;
+            }
+            int weight = candidates.get(items[k]).trucks();
+            double price = candidates.get(items[k]).price();
+            int row = k * words;
+            for (int c = trucks; c >= weight; c--) {
+                double through = cheapest[c - weight] + price;
+                if (through < cheapest[c]) {
+                    cheapest[c] = through;
+                    taken[row + (c >> 6)] |= 1L << c;
+                }
+            }
+        }
+
+        int covered = trucks;
+        while (cheapest[covered] == Double.POSITIVE_INFINITY) {
+            covered--;
+        }
+        List<Integer> chosen = new ArrayList<>();
+        for (int k = n - 1, c = covered; k >= 0 && c > 0; k--) {
+            if ((taken[k * words + (c >> 6)] & 1L << c) != 0) {
+                chosen.add(items[k]);
+                c -= candidates.get(items[k]).trucks();
+            }
+        }
+        chosen.sort(null);
+        return new Allocation(chosen, covered, cheapest[covered], true);
+    }
+
+    /**
+     * A bid as the allocator sees it: trucks it covers and its price for all of them. Bids are
+     * expected to fit the load; larger ones are never chosen.
+     */
+    public record Candidate(int trucks, double price) {
+
+        public Candidate {
+            if (trucks <= 0) {
+                throw new IllegalArgumentException("A candidate must offer at least one truck");
+            }
+        }
+    }
+
+    /**
+     * @param chosen  indexes of the chosen candidates
+     * @param optimal whether the exact program produced it rather than the greedy fallback
+     */
+    public record Allocation(List<Integer> chosen, int trucks, double cost, boolean optimal) {
+
+        private Allocation asOptimal() {
+            return new Allocation(chosen, trucks, cost, true);
+        }
+    }
+}
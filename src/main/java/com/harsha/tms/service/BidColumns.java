@@ -0,0 +1,113 @@
+package com.harsha.tms.service;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+import com.harsha.tms.dto.response.BidResponseDTO;
+import com.harsha.tms.repository.BidScoreRow;
+
+/**
+ * Bids laid out column by column for batch scoring. Rows must be appended grouped by load;
+ * the bids of load {@code l} occupy {@code [loadStart(l), loadEnd(l))}. Missing values are
+ * normalised the same way {@link BidRanking#score} does.
+ */
+public final class BidColumns {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    double[] rates;
+    double[] ratings;
+    double[] coverage;
+    double[] ageHours;
+    int[] trucksOffered;
+    int[] remainingTrucks;
+    private BidResponseDTO[] bids;
+    private UUID[] loadIds;
+    private int[] loadStarts;
+    private int size;
+    private int loadCount;
+
+    public BidColumns() {
+        this(INITIAL_CAPACITY);
+    }
+
+    public BidColumns(int capacity) {
+        int initial = Math.max(capacity, 1);
+        rates = new double[initial];
+        ratings = new double[initial];
+        coverage = new double[initial];
+        ageHours = new double[initial];
+        trucksOffered = new int[initial];
+        remainingTrucks = new int[initial];
+        bids = new BidResponseDTO[initial];
+        loadIds = new UUID[16];
+        loadStarts = new int[17];
+    }
+
+    public void append(BidScoreRow row) {
+        if (size == rates.length) {
+            grow();
+        }
+        if (loadCount == 0 || !loadIds[loadCount - 1].equals(row.loadId())) {
+            startLoad(row.loadId());
+        }
+
+        int trucks = row.trucksOffered() != null ? row.trucksOffered() : 0;
+        int remaining = row.remainingTrucks() != null ? row.remainingTrucks() : 0;
+        rates[size] = row.proposedRate() != null ? row.proposedRate() : Double.MAX_VALUE;
+        ratings[size] = row.rating() != null ? row.rating() : 0.0;
+        trucksOffered[size] = trucks;
+        remainingTrucks[size] = remaining;
+        coverage[size] = WeightedBidScorer.coverage(trucks, remaining);
+        ageHours[size] = BidRanking.ageHours(row.submittedAt(), row.pickupDate());
+        bids[size] = new BidResponseDTO(row.bidId(), row.loadId(), row.transporterId(), row.proposedRate(),
+                row.trucksOffered(), row.truckType(), row.status(), row.submittedAt());
+        size++;
+        loadStarts[loadCount] = size;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int loadCount() {
+        return loadCount;
+    }
+
+    public UUID loadId(int load) {
+        return loadIds[load];
+    }
+
+    public int loadStart(int load) {
+        return loadStarts[load];
+    }
+
+    public int loadEnd(int load) {
+        return loadStarts[load + 1];
+    }
+
+    public BidResponseDTO bid(int index) {
+        return bids[index];
+    }
+
+    private void startLoad(UUID loadId) {
+        if (loadCount == loadIds.length) {
+            loadIds = Arrays.copyOf(loadIds, loadCount * 2);
+            loadStarts = Arrays.copyOf(loadStarts, loadCount * 2 + 1);
+        }
+        loadIds[loadCount] = loadId;
+        loadStarts[loadCount] = size;
+        loadCount++;
+    }
+
+    private void grow() {
+        int capacity = rates.length * 2;
+        rates = Arrays.copyOf(rates, capacity);
+        ratings = Arrays.copyOf(ratings, capacity);
+        coverage = Arrays.copyOf(coverage, capacity);
+        ageHours = Arrays.copyOf(ageHours, capacity);
+        trucksOffered = Arrays.copyOf(trucksOffered, capacity);
+        remainingTrucks = Arrays.copyOf(remainingTrucks, capacity);
+        bids = Arrays.copyOf(bids, capacity);
+    }
+}
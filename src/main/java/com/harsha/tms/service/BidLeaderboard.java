@@ -0,0 +1,263 @@
+package com.harsha.tms.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Supplier;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.harsha.tms.dto.response.BidResponseDTO;
+import com.harsha.tms.entity.BookingStatus;
+import com.harsha.tms.event.BidStatusChangedEvent;
+import com.harsha.tms.event.BidSubmittedEvent;
+import com.harsha.tms.event.BidsRejectedEvent;
+import com.harsha.tms.event.LoadStatusChangedEvent;
+import com.harsha.tms.event.ScoringPolicyChangedEvent;
+
+/**
+ * Ranked bids of every load that is still taking bids, kept in score order so best-bids
+ * reads are O(k). Boards are built lazily from the database on a miss and updated after each
+ * committed bid change. A load status or capacity change, or a new scoring policy for the
+ * shipper, evicts the board; it is rebuilt on the next read only while the load is open.
+ * Boards filled by a batch rescoring may hold only the top of the ranking, and reads that
+ * reach past it are treated as misses.
+ */
+@Component
+public class BidLeaderboard {
+
+    private static final Comparator<RankedBid> RANK_ORDER = Comparator
+            .comparingDouble(RankedBid::score).reversed()
+            .thenComparing(ranked -> ranked.bid().bidId());
+
+    private final Map<UUID, Board> boards = new ConcurrentHashMap<>();
+
+    public static boolean tracks(BookingStatus loadStatus) {
+        return loadStatus == BookingStatus.POSTED || loadStatus == BookingStatus.OPEN_FOR_BIDS;
+    }
+
+    public Optional<List<BidResponseDTO>> top(UUID loadId, int limit, double minScore) {
+        Board board = boards.get(loadId);
+        if (board == null || !board.isReady()) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(board.top(limit, minScore));
+    }
+
+    /**
+     * Returns the board for a load, building it from {@code snapshot} if it is not cached.
+     * Updates that arrive while the snapshot is being read are replayed on top of it. A partial
+     * board that cannot answer the read is replaced. Returns empty if another caller is already
+     * building the board.
+     */
+    public Optional<List<BidResponseDTO>> loadAndTop(UUID loadId, UUID shipperId, Supplier<List<RankedBid>> snapshot,
+                                                     int limit, double minScore) {
+        Board fresh = new Board(shipperId);
+        Board existing = boards.putIfAbsent(loadId, fresh);
+        if (existing != null) {
+            if (!existing.isReady()) {
+                return Optional.empty();
+            }
+            List<BidResponseDTO> top = existing.top(limit, minScore);
+            if (top != null) {
+                return Optional.of(top);
+            }
+            if (!boards.replace(loadId, existing, fresh)) {
+                return Optional.empty();
+            }
+        }
+
+        try {
+            fresh.fill(snapshot.get(), null);
+        } catch (RuntimeException e) {
+            boards.remove(loadId, fresh);
+            throw e;
+        }
+        return Optional.of(fresh.top(limit, minScore));
+    }
+
+    /**
+     * Registers empty boards for the given loads ahead of a batch rebuild so that updates
+     * committed while the rebuild reads its snapshot are buffered instead of lost. Loads that
+     * already have a board are skipped.
+     */
+    public Reservation reserve(UUID shipperId, Collection<UUID> loadIds) {
+        Map<UUID, Board> reserved = new ConcurrentHashMap<>();
+        for (UUID loadId : loadIds) {
+            Board board = new Board(shipperId);
+            if (boards.putIfAbsent(loadId, board) == null) {
+                reserved.put(loadId, board);
+            }
+        }
+        return new Reservation(reserved);
+    }
+
+    public void evict(UUID loadId) {
+        boards.remove(loadId);
+    }
+
+    public int size() {
+        return boards.size();
+    }
+
+    @TransactionalEventListener
+    public void onBidSubmitted(BidSubmittedEvent event) {
+        Board board = boards.get(event.bid().loadId());
+        if (board != null) {
+            board.put(new RankedBid(event.bid(), event.score()));
+        }
+    }
+
+    @TransactionalEventListener
+    public void onBidStatusChanged(BidStatusChangedEvent event) {
+        Board board = boards.get(event.loadId());
+        if (board != null) {
+            board.changeStatus(event);
+        }
+    }
+
+    @TransactionalEventListener
+    public void onBidsRejected(BidsRejectedEvent event) {
+        evict(event.loadId());
+    }
+
+    @TransactionalEventListener
+    public void onLoadStatusChanged(LoadStatusChangedEvent event) {
+        evict(event.loadId());
+    }
+
+    // Runs after the registry has installed the new scorer and before boards are rebuilt
+    @TransactionalEventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    public void onScoringPolicyChanged(ScoringPolicyChangedEvent event) {
+        UUID shipperId = event.policy().shipperId();
+        boards.values().removeIf(board -> shipperId.equals(board.shipperId));
+    }
+
+    public record RankedBid(BidResponseDTO bid, double score) {}
+
+    public final class Reservation {
+
+        private final Map<UUID, Board> unfilled;
+
+        private Reservation(Map<UUID, Board> unfilled) {
+            this.unfilled = unfilled;
+        }
+
+        public boolean contains(UUID loadId) {
+            return unfilled.containsKey(loadId);
+        }
+
+        /**
+         * Fills a reserved board with the best bids of its load, best first. When
+         * {@code complete} is false the board holds only those bids, and reads ranked below the
+         * last of them miss.
+         */
+        public boolean fill(UUID loadId, List<RankedBid> ranked, boolean complete) {
+            Board board = unfilled.remove(loadId);
+            if (board == null) {
+                return false;
+            }
+            board.fill(ranked, complete || ranked.isEmpty() ? null : ranked.get(ranked.size() - 1));
+            return true;
+        }
+
+        // Drops boards that were never filled so they are rebuilt on the next read
+        public void release() {
+            unfilled.forEach(boards::remove);
+            unfilled.clear();
+        }
+    }
+
+    private static final class Board {
+
+        private final UUID shipperId;
+        // Lowest ranked bid of a partial board; null when the board holds every bid of the load
+        private RankedBid cutoff;
+        private final ConcurrentSkipListSet<RankedBid> ranking = new ConcurrentSkipListSet<>(RANK_ORDER);
+        private final Map<UUID, RankedBid> byBidId = new ConcurrentHashMap<>();
+        // Updates received while the board is being built; null once it is ready
+        private List<Object> pending = new ArrayList<>();
+
+        Board(UUID shipperId) {
+            this.shipperId = shipperId;
+        }
+
+        synchronized boolean isReady() {
+            return pending == null;
+        }
+
+        synchronized void fill(List<RankedBid> snapshot, RankedBid cutoff) {
+            this.cutoff = cutoff;
+            snapshot.forEach(this::apply);
+            pending.forEach(this::replay);
+            pending = null;
+        }
+
+        synchronized void put(RankedBid ranked) {
+            if (pending != null) {
+                pending.add(ranked);
+            } else {
+                apply(ranked);
+            }
+        }
+
+        synchronized void changeStatus(BidStatusChangedEvent event) {
+            if (pending != null) {
+                pending.add(event);
+            } else {
+                applyStatus(event);
+            }
+        }
+
+        // Returns null when a partial board cannot tell which bids come next
+        synchronized List<BidResponseDTO> top(int limit, double minScore) {
+            List<BidResponseDTO> result = new ArrayList<>(Math.min(limit, ranking.size()));
+            for (RankedBid ranked : ranking) {
+                if (result.size() == limit || ranked.score() < minScore) {
+                    return result;
+                }
+                if (cutoff != null && RANK_ORDER.compare(ranked, cutoff) > 0) {
+                    return null;
+                }
+                result.add(ranked.bid());
+            }
+            return cutoff == null || result.size() == limit ? result : null;
+        }
+
+        private void replay(Object update) {
+            if (update instanceof RankedBid ranked) {
+                apply(ranked);
+            } else if (update instanceof BidStatusChangedEvent event) {
+                applyStatus(event);
+            }
+        }
+
+        private void applyStatus(BidStatusChangedEvent event) {
+            RankedBid current = byBidId.get(event.bidId());
+            if (current != null) {
+                BidResponseDTO bid = current.bid();
+                apply(new RankedBid(new BidResponseDTO(bid.bidId(), bid.loadId(), bid.transporterId(),
+                        bid.proposedRate(), bid.trucksOffered(), bid.truckType(), event.status(),
+                        bid.submittedAt()), current.score()));
+            }
+        }
+
+        private void apply(RankedBid ranked) {
+            RankedBid previous = byBidId.put(ranked.bid().bidId(), ranked);
+            if (previous != null) {
+                ranking.remove(previous);
+            }
+            ranking.add(ranked);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.harsha.tms.service;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.ToDoubleFunction;
+
+import com.harsha.tms.entity.Bid;
+import com.harsha.tms.entity.Load;
+
+public final class BidRanking {
+
+    private BidRanking() {
+    }
+
+    /**
+     * Scores a bid against the load it was placed on. Bid age is measured up to the load's pickup
+     * date rather than to now, so a score never drifts while the bid sits in a leaderboard; for a
+     * linear age weight this orders bids exactly as their age at any single instant would.
+     */
+    public static double score(BidScorer scorer, Double proposedRate, Double rating, Integer trucksOffered,
+                               LocalDateTime submittedAt, Load load) {
+        double ageHours = scorer.usesAge() ? ageHours(submittedAt, load.getPickupDate()) : 0.0;
+        return scorer.score(
+                proposedRate != null ? proposedRate : Double.MAX_VALUE,
+                rating != null ? rating : 0.0,
+                trucksOffered != null ? trucksOffered : 0,
+                load.getRemainingTrucks() != null ? load.getRemainingTrucks() : 0,
+                ageHours);
+    }
+
+    public static double ageHours(LocalDateTime submittedAt, LocalDateTime pickupDate) {
+        if (submittedAt == null || pickupDate == null) {
+            return 0.0;
+        }
+        return ChronoUnit.SECONDS.between(submittedAt, pickupDate) / 3600.0;
+    }
+
+    public static double score(BidScorer scorer, Bid bid, Load load) {
+        return score(scorer, bid.getProposedRate(), bid.getTransporter().getRating(), bid.getTrucksOffered(),
+                bid.getSubmittedAt(), load);
+    }
+
+    /**
+     * Returns the {@code limit} highest scoring items at or above {@code minScore}, best first,
+     * keeping at most {@code limit} candidates in a min-heap while scanning.
+     */
+    public static <T> List<T> topK(Collection<T> items, ToDoubleFunction<T> scorer, int limit, double minScore) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        PriorityQueue<Scored<T>> heap = new PriorityQueue<>(Math.min(limit, Math.max(items.size(), 1)) + 1,
+                Comparator.comparingDouble(Scored::score));
+        for (T item : items) {
+            double score = scorer.applyAsDouble(item);
+            if (score < minScore) {
+                continue;
+            }
+            if (heap.size() < limit) {
+                heap.add(new Scored<>(item, score));
+            } else if (score > heap.peek().score()) {
+                heap.poll();
+                heap.add(new Scored<>(item, score));
+            }
+        }
+
+        List<Scored<T>> ranked = new ArrayList<>(heap);
+        ranked.sort(Comparator.comparingDouble(Scored<T>::score).reversed());
+        return ranked.stream().map(Scored::item).toList();
+    }
+
+    private record Scored<T>(T item, double score) {}
+}
@@ -0,0 +1,157 @@
+package com.harsha.tms.service;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.harsha.tms.dto.response.RescoreResponseDTO;
+import com.harsha.tms.entity.BookingStatus;
+import com.harsha.tms.event.ScoringPolicyChangedEvent;
+import com.harsha.tms.repository.BidRepository;
+import com.harsha.tms.repository.BidScoreRow;
+import com.harsha.tms.repository.LoadRepository;
+
+/**
+ * Rebuilds the leaderboards of every open load of a shipper in one pass: bids are streamed
+ * into {@link BidColumns}, scored in parallel chunks on the job's own ForkJoin pool and the top
+ * bids of each load are written back as partial boards.
+ * <p>
+ * A scoring policy change queues its rebuild on a single background thread. When the queue is
+ * full the rebuild is dropped; the shipper's boards are already evicted and are built again on
+ * their next read.
+ */
+@Component
+public class BidRescoringJob implements DisposableBean {
+
+    private static final Set<BookingStatus> OPEN_STATUSES = EnumSet.of(BookingStatus.POSTED, BookingStatus.OPEN_FOR_BIDS);
+    private static final int CHUNK_SIZE = 16_384;
+
+    private final BidRepository bidRepository;
+    private final LoadRepository loadRepository;
+    private final BidScorerRegistry bidScorerRegistry;
+    private final BidLeaderboard bidLeaderboard;
+    private final TransactionTemplate transactionTemplate;
+    private final int topK;
+    private final ExecutorService rescores;
+    private final ForkJoinPool scorers;
+
+    public BidRescoringJob(BidRepository bidRepository, LoadRepository loadRepository,
+                           BidScorerRegistry bidScorerRegistry, BidLeaderboard bidLeaderboard,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${tms.rescoring.top-k:20}") int topK,
+                           @Value("${tms.rescoring.parallelism:0}") int parallelism,
+                           @Value("${tms.rescoring.queue-capacity:16}") int queueCapacity) {
+        this.bidRepository = bidRepository;
+        this.loadRepository = loadRepository;
+        this.bidScorerRegistry = bidScorerRegistry;
+        this.bidLeaderboard = bidLeaderboard;
+        // Runs from after-commit callbacks, where the finished transaction is still bound
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.transactionTemplate.setReadOnly(true);
+        this.topK = Math.max(topK, 1);
+        this.rescores = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(queueCapacity, 1)),
+                Thread.ofPlatform().name("bid-rescoring").daemon().factory(),
+                new ThreadPoolExecutor.DiscardPolicy());
+        this.scorers = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @TransactionalEventListener
+    public void onScoringPolicyChanged(ScoringPolicyChangedEvent event) {
+        UUID shipperId = event.policy().shipperId();
+        rescores.execute(() -> rescore(shipperId));
+    }
+
+    public RescoreResponseDTO rescore(UUID shipperId) {
+        long started = System.nanoTime();
+        BidScorer scorer = bidScorerRegistry.scorerFor(shipperId);
+
+        return transactionTemplate.execute(status -> {
+            BidLeaderboard.Reservation reservation = bidLeaderboard.reserve(shipperId,
+                    loadRepository.findIdsByShipperIdAndStatusIn(shipperId, OPEN_STATUSES));
+            try {
+                BidColumns columns = new BidColumns();
+                try (Stream<BidScoreRow> rows = bidRepository.streamScoreRows(shipperId, OPEN_STATUSES)) {
+                    rows.forEach(columns::append);
+                }
+
+                double[] scores = scorers.submit(() -> scoreAll(scorer, columns)).join();
+                AtomicInteger filled = new AtomicInteger();
+                scorers.submit(() -> IntStream.range(0, columns.loadCount()).parallel().forEach(load -> {
+                    UUID loadId = columns.loadId(load);
+                    if (!reservation.contains(loadId)) {
+                        return;
+                    }
+                    int count = columns.loadEnd(load) - columns.loadStart(load);
+                    if (reservation.fill(loadId, topOf(columns, scores, load), count <= topK)) {
+                        filled.incrementAndGet();
+                    }
+                })).join();
+
+                return new RescoreResponseDTO(shipperId, filled.get(), columns.size(),
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+            } finally {
+                reservation.release();
+            }
+        });
+    }
+
+    // Parallel on the ForkJoin pool it is called from, the common pool elsewhere
+    public static double[] scoreAll(BidScorer scorer, BidColumns columns) {
+        int size = columns.size();
+        double[] scores = new double[size];
+        int chunks = (size + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        IntStream.range(0, chunks).parallel().forEach(chunk -> {
+            int from = chunk * CHUNK_SIZE;
+            scorer.scoreBatch(columns, scores, from, Math.min(size, from + CHUNK_SIZE));
+        });
+        return scores;
+    }
+
+    // Best topK bids of one load, best first, in the leaderboard's order (score desc, bidId)
+    private List<BidLeaderboard.RankedBid> topOf(BidColumns columns, double[] scores, int load) {
+        PriorityQueue<Integer> heap = new PriorityQueue<>(topK + 1, (a, b) -> {
+            int byScore = Double.compare(scores[a], scores[b]);
+            return byScore != 0 ? byScore : columns.bid(b).bidId().compareTo(columns.bid(a).bidId());
+        });
+        for (int i = columns.loadStart(load); i < columns.loadEnd(load); i++) {
+            heap.add(i);
+            if (heap.size() > topK) {
+                heap.poll();
+            }
+        }
+
+        List<BidLeaderboard.RankedBid> ranked = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            int index = heap.poll();
+            ranked.add(new BidLeaderboard.RankedBid(columns.bid(index), scores[index]));
+        }
+        return ranked.reversed();
+    }
+
+    @Override
+    public void destroy() {
+        rescores.close();
+        scorers.close();
+    }
+}
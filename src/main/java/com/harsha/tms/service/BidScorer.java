@@ -0,0 +1,20 @@
+package com.harsha.tms.service;
+
+/**
+ * Scores a single bid; higher is better. Implementations are immutable and must not
+ * allocate, since they run once per bid on every ranking.
+ */
+public interface BidScorer {
+
+    double score(double proposedRate, double rating, int trucksOffered, int remainingTrucks, double ageHours);
+
+    boolean usesAge();
+
+    // Writes the score of every bid in [from, to) of the batch into scores
+    default void scoreBatch(BidColumns columns, double[] scores, int from, int to) {
+        for (int i = from; i < to; i++) {
+            scores[i] = score(columns.rates[i], columns.ratings[i], columns.trucksOffered[i],
+                    columns.remainingTrucks[i], columns.ageHours[i]);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.harsha.tms.service;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.harsha.tms.dto.response.ScoringPolicyResponseDTO;
+import com.harsha.tms.event.ScoringPolicyChangedEvent;
+import com.harsha.tms.repository.BidScoringPolicyRepository;
+
+/**
+ * Compiled scorer per shipper. A stored policy is compiled once on first use and replaced
+ * atomically when a newer version is committed; shippers without a policy get the default
+ * {@link ScoreWeights} scorer.
+ */
+@Component
+public class BidScorerRegistry {
+
+    private static final CompiledPolicy DEFAULT_POLICY = new CompiledPolicy(-1, WeightedBidScorer.DEFAULT);
+
+    private final BidScoringPolicyRepository policyRepository;
+    private final Map<UUID, CompiledPolicy> scorers = new ConcurrentHashMap<>();
+
+    public BidScorerRegistry(BidScoringPolicyRepository policyRepository) {
+        this.policyRepository = policyRepository;
+    }
+
+    public BidScorer scorerFor(UUID shipperId) {
+        CompiledPolicy compiled = scorers.get(shipperId);
+        if (compiled == null) {
+            compiled = install(shipperId, policyRepository.findByShipperId(shipperId)
+                    .map(policy -> compile(policy.getVersion(), policy.getPriceWeight(), policy.getRatingWeight(),
+                            policy.getCoverageWeight(), policy.getAgeWeight()))
+                    .orElse(DEFAULT_POLICY));
+        }
+        return compiled.scorer();
+    }
+
+    @TransactionalEventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onScoringPolicyChanged(ScoringPolicyChangedEvent event) {
+        ScoringPolicyResponseDTO policy = event.policy();
+        install(policy.shipperId(), compile(policy.version(), policy.priceWeight(), policy.ratingWeight(),
+                policy.coverageWeight(), policy.ageWeight()));
+    }
+
+    private CompiledPolicy install(UUID shipperId, CompiledPolicy candidate) {
+        return scorers.merge(shipperId, candidate,
+                (current, next) -> next.version() >= current.version() ? next : current);
+    }
+
+    private static CompiledPolicy compile(long version, double priceWeight, double ratingWeight,
+                                          double coverageWeight, double ageWeight) {
+        return new CompiledPolicy(version, new WeightedBidScorer(priceWeight, ratingWeight, coverageWeight, ageWeight));
+    }
+
+    private record CompiledPolicy(long version, BidScorer scorer) {}
+}
@@ -3,15 +3,24 @@ package com.harsha.tms.service;
 import java.util.List;
 import java.util.UUID;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
 import com.harsha.tms.dto.request.BidRequestDTO;
+import com.harsha.tms.dto.request.BidSearchCriteria;
 import com.harsha.tms.dto.response.BidResponseDTO;
-import com.harsha.tms.entity.BidStatus;
+import com.harsha.tms.dto.response.BulkResponseDTO;
+import com.harsha.tms.dto.response.CursorPageResponseDTO;
 
 public interface BidService {
 
     BidResponseDTO submitBid(BidRequestDTO request);
 
-    List<BidResponseDTO> listBids(UUID loadId, UUID transporterId, BidStatus status);
+    BulkResponseDTO<BidResponseDTO> submitBids(List<BidRequestDTO> requests);
+
+    Page<BidResponseDTO> listBids(BidSearchCriteria criteria, Pageable pageable);
+
+    CursorPageResponseDTO<BidResponseDTO> scrollBids(BidSearchCriteria criteria, String cursor, int size);
 
     BidResponseDTO getBidById(UUID bidId);
 
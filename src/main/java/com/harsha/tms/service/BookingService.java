@@ -1,9 +1,15 @@
 package com.harsha.tms.service;
 
+import java.util.List;
 import java.util.UUID;
 
 import com.harsha.tms.dto.request.BookingRequestDTO;
+import com.harsha.tms.dto.request.BookingSearchCriteria;
+import com.harsha.tms.dto.request.BookingStatusUpdateRequestDTO;
+import com.harsha.tms.dto.response.AutoAllocationResponseDTO;
 import com.harsha.tms.dto.response.BookingResponseDTO;
+import com.harsha.tms.dto.response.BulkResponseDTO;
+import com.harsha.tms.dto.response.CursorPageResponseDTO;
 
 public interface BookingService {
 
@@ -11,5 +17,15 @@ public interface BookingService {
 
     BookingResponseDTO getBookingById(UUID bookingId);
 
+    CursorPageResponseDTO<BookingResponseDTO> scrollBookings(BookingSearchCriteria criteria, String cursor, int size);
+
+    UUID getLoadId(UUID bookingId);
+
     BookingResponseDTO cancelBooking(UUID bookingId);
+
+    AutoAllocationResponseDTO autoAllocate(UUID loadId);
+
+    BulkResponseDTO<AutoAllocationResponseDTO> awardAuctions(List<UUID> loadIds);
+
+    BulkResponseDTO<BookingResponseDTO> updateStatuses(List<BookingStatusUpdateRequestDTO> requests);
 }
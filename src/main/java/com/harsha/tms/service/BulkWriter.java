@@ -0,0 +1,116 @@
+package com.harsha.tms.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.harsha.tms.dto.response.BulkItemResultDTO;
+import com.harsha.tms.dto.response.BulkResponseDTO;
+import com.harsha.tms.exception.BulkLimitExceededException;
+
+import jakarta.validation.Validator;
+
+/**
+ * Writes bulk requests in chunks, each chunk in its own transaction so its inserts go out as
+ * JDBC batches and a failure only loses that chunk. Items failing bean validation are reported
+ * by index and never reach the database; the writer reports business rule failures through
+ * {@link Outcome}, and a chunk that fails to commit is retried item by item so only the
+ * offending items are reported.
+ */
+@Component
+public class BulkWriter {
+
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int maxItems;
+
+    public BulkWriter(Validator validator, PlatformTransactionManager transactionManager,
+                      @Value("${tms.bulk.chunk-size:500}") int chunkSize,
+                      @Value("${tms.bulk.max-items:1000}") int maxItems) {
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = Math.max(chunkSize, 1);
+        this.maxItems = maxItems;
+    }
+
+    /**
+     * @param writer persists one chunk of valid requests and returns their outcomes in the same order
+     */
+    public <R, T> BulkResponseDTO<T> write(List<R> requests, Function<List<R>, List<Outcome<T>>> writer) {
+        if (requests.size() > maxItems) {
+            throw new BulkLimitExceededException(
+                    "Bulk requests are limited to " + maxItems + " items, got " + requests.size());
+        }
+
+        @SuppressWarnings("unchecked")
+        BulkItemResultDTO<T>[] results = new BulkItemResultDTO[requests.size()];
+        List<Integer> valid = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            List<String> errors = validate(requests.get(i));
+            if (errors.isEmpty()) {
+                valid.add(i);
+            } else {
+                results[i] = new BulkItemResultDTO<>(i, null, errors);
+            }
+        }
+
+        for (int from = 0; from < valid.size(); from += chunkSize) {
+            List<Integer> chunk = valid.subList(from, Math.min(from + chunkSize, valid.size()));
+            try {
+                List<Outcome<T>> written = transactionTemplate.execute(status ->
+                        writer.apply(chunk.stream().map(requests::get).toList()));
+                for (int i = 0; i < chunk.size(); i++) {
+                    results[chunk.get(i)] = written.get(i).toResult(chunk.get(i));
+                }
+            } catch (RuntimeException ex) {
+                for (int index : chunk) {
+                    results[index] = writeOne(index, requests.get(index), writer);
+                }
+            }
+        }
+
+        int created = (int) Arrays.stream(results).filter(result -> result.errors().isEmpty()).count();
+        return new BulkResponseDTO<>(created, requests.size() - created, Arrays.asList(results));
+    }
+
+    private <R, T> BulkItemResultDTO<T> writeOne(int index, R request, Function<List<R>, List<Outcome<T>>> writer) {
+        try {
+            List<Outcome<T>> written = transactionTemplate.execute(status -> writer.apply(List.of(request)));
+            return written.get(0).toResult(index);
+        } catch (RuntimeException ex) {
+            return new BulkItemResultDTO<>(index, null, List.of(String.valueOf(ex.getMessage())));
+        }
+    }
+
+    private List<String> validate(Object request) {
+        if (request == null) {
+            return List.of("Item is required");
+        }
+        return validator.validate(request).stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .toList();
+    }
+
+    public record Outcome<T>(T result, String error) {
+
+        public static <T> Outcome<T> ok(T result) {
+            return new Outcome<>(result, null);
+        }
+
+        public static <T> Outcome<T> failed(String error) {
+            return new Outcome<>(null, error);
+        }
+
+        BulkItemResultDTO<T> toResult(int index) {
+            return new BulkItemResultDTO<>(index, result, error == null ? List.of() : List.of(error));
+        }
+    }
+}
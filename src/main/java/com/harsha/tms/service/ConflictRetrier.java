@@ -0,0 +1,148 @@
+package com.harsha.tms.service;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.retry.RetryException;
+import org.springframework.core.retry.RetryPolicy;
+import org.springframework.core.retry.RetryTemplate;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.harsha.tms.dto.response.RetryCountsDTO;
+import com.harsha.tms.dto.response.RetryStatsResponseDTO;
+import com.harsha.tms.entity.Load;
+
+/**
+ * Runs a write in a fresh transaction and, when it loses a race on a row's version or lock,
+ * runs it again after an exponential, jittered pause instead of failing the request. Retries,
+ * successes and exhaustions are counted per operation and, once a load has seen a retry, per
+ * load. The last failure is rethrown once the attempts are used up.
+ */
+@Component
+public class ConflictRetrier {
+
+    private final RetryTemplate retryTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int trackedLoads;
+    private final Map<String, Counts> operations = new ConcurrentHashMap<>();
+    private final Map<UUID, Counts> loads = new ConcurrentHashMap<>();
+
+    public ConflictRetrier(PlatformTransactionManager transactionManager,
+                           @Value("${tms.retry.max-attempts:4}") int maxAttempts,
+                           @Value("${tms.retry.delay:5ms}") Duration delay,
+                           @Value("${tms.retry.max-delay:200ms}") Duration maxDelay,
+                           @Value("${tms.retry.tracked-loads:10000}") int trackedLoads) {
+        this.retryTemplate = new RetryTemplate(RetryPolicy.builder()
+                .includes(ConcurrencyFailureException.class)
+                .maxRetries(Math.max(maxAttempts, 1) - 1)
+                .delay(delay)
+                .multiplier(2)
+                .jitter(delay.dividedBy(2))
+                .maxDelay(maxDelay)
+                .build());
+        // Each attempt must start over; joining a caller's transaction would reuse the stale session
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.trackedLoads = trackedLoads;
+    }
+
+    /**
+     * @param loadId load the write is about, or null to attribute conflicts to the load row that failed
+     */
+    public <T> T execute(String operation, UUID loadId, Supplier<T> write) {
+        AtomicInteger attempts = new AtomicInteger();
+        try {
+            T result = retryTemplate.execute(() -> {
+                attempts.incrementAndGet();
+                return transactionTemplate.execute(status -> write.get());
+            });
+            record(operation, loadId, null, attempts.get() - 1, false);
+            return result;
+        } catch (RetryException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof ConcurrencyFailureException conflict) {
+                record(operation, loadId, conflict, attempts.get() - 1, true);
+            }
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    public RetryStatsResponseDTO stats(int limit) {
+        Map<String, RetryCountsDTO> byOperation = new LinkedHashMap<>();
+        operations.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(entry -> byOperation.put(entry.getKey(), entry.getValue().toDTO()));
+
+        Map<UUID, RetryCountsDTO> byLoad = new LinkedHashMap<>();
+        loads.entrySet().stream()
+                .map(entry -> Map.entry(entry.getKey(), entry.getValue().toDTO()))
+                .sorted(Map.Entry.comparingByValue(Comparator.comparingLong(RetryCountsDTO::retries).reversed()))
+                .limit(Math.max(limit, 0))
+                .forEach(entry -> byLoad.put(entry.getKey(), entry.getValue()));
+
+        return new RetryStatsResponseDTO(byOperation, byLoad);
+    }
+
+    private void record(String operation, UUID loadId, ConcurrencyFailureException conflict, int retries,
+                        boolean exhausted) {
+        Counts counts = operations.computeIfAbsent(operation, key -> new Counts());
+        counts.add(retries, exhausted);
+
+        UUID key = loadId != null ? loadId : conflictingLoadId(conflict);
+        if (key == null) {
+            return;
+        }
+        // Loads only get counters once contended, and the map stops growing at its cap
+        Counts loadCounts = loads.get(key);
+        if (loadCounts == null && (retries > 0 || exhausted) && loads.size() < trackedLoads) {
+            loadCounts = loads.computeIfAbsent(key, id -> new Counts());
+        }
+        if (loadCounts != null) {
+            loadCounts.add(retries, exhausted);
+        }
+    }
+
+    private static UUID conflictingLoadId(ConcurrencyFailureException conflict) {
+        if (conflict instanceof ObjectOptimisticLockingFailureException optimistic
+                && Load.class.getName().equals(optimistic.getPersistentClassName())
+                && optimistic.getIdentifier() instanceof UUID id) {
+            return id;
+        }
+        return null;
+    }
+
+    private static final class Counts {
+
+        private final LongAdder retries = new LongAdder();
+        private final LongAdder successes = new LongAdder();
+        private final LongAdder exhaustions = new LongAdder();
+
+        void add(int retried, boolean exhausted) {
+            retries.add(retried);
+            (exhausted ? exhaustions : successes).increment();
+        }
+
+        RetryCountsDTO toDTO() {
+            return new RetryCountsDTO(retries.sum(), successes.sum(), exhaustions.sum());
+        }
+    }
+}
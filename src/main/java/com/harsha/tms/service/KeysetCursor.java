@@ -0,0 +1,49 @@
+package com.harsha.tms.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.data.domain.ScrollPosition;
+
+import com.harsha.tms.exception.InvalidCursorException;
+
+/**
+ * Opaque position of the last row of a keyset-paginated listing, seeking on (timestamp, id).
+ */
+public record KeysetCursor(LocalDateTime timestamp, UUID id) {
+
+    private static final String SEPARATOR = "|";
+
+    public String encode() {
+        String raw = timestamp + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new InvalidCursorException("Invalid cursor: " + cursor);
+            }
+            return new KeysetCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    UUID.fromString(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException("Invalid cursor: " + cursor, e);
+        }
+    }
+
+    // A missing or blank cursor starts from the first row
+    public static ScrollPosition toScrollPosition(String cursor, String timestampProperty, String idProperty) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        KeysetCursor decoded = decode(cursor);
+        return ScrollPosition.forward(Map.of(timestampProperty, decoded.timestamp(), idProperty, decoded.id()));
+    }
+}
@@ -0,0 +1,17 @@
+package com.harsha.tms.service;
+
+public enum LoadAction {
+    BID("bid on"),
+    CANCEL("cancel"),
+    BOOK("book");
+
+    private final String verb;
+
+    LoadAction(String verb) {
+        this.verb = verb;
+    }
+
+    public String verb() {
+        return verb;
+    }
+}
@@ -0,0 +1,71 @@
+package com.harsha.tms.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs write commands for a load one at a time on a lane picked by the load id, so requests
+ * racing on a hot load queue in memory instead of on its row lock and version while each one
+ * holds a connection. Loads hashing to different lanes run in parallel. Each lane is a single
+ * virtual thread; the caller blocks until its command finishes and gets its result or exception
+ * back unchanged.
+ */
+@Component
+public class LoadCommandExecutor implements DisposableBean {
+
+    // Commands issued from inside a lane run inline; waiting on another lane could deadlock
+    private static final ThreadLocal<Boolean> IN_LANE = ThreadLocal.withInitial(() -> false);
+
+    private final List<ExecutorService> lanes;
+
+    /**
+     * @param lanes number of lanes; 0 runs every command on the caller's thread
+     */
+    public LoadCommandExecutor(@Value("${tms.commands.lanes:64}") int lanes) {
+        this.lanes = new ArrayList<>(Math.max(lanes, 0));
+        for (int i = 0; i < lanes; i++) {
+            this.lanes.add(Executors.newSingleThreadExecutor(Thread.ofVirtual().name("load-lane-" + i).factory()));
+        }
+    }
+
+    public <T> T execute(UUID loadId, Supplier<T> command) {
+        if (lanes.isEmpty() || loadId == null || IN_LANE.get()) {
+            return command.get();
+        }
+
+        ExecutorService lane = lanes.get(Math.floorMod(loadId.hashCode(), lanes.size()));
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                IN_LANE.set(true);
+                try {
+                    return command.get();
+                } finally {
+                    IN_LANE.remove();
+                }
+            }, lane).join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (ex.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        lanes.forEach(ExecutorService::close);
+    }
+}
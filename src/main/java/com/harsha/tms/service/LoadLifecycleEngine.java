@@ -0,0 +1,267 @@
+package com.harsha.tms.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.harsha.tms.dto.response.LifecycleStatsResponseDTO;
+import com.harsha.tms.entity.BidStatus;
+import com.harsha.tms.entity.BookingStatus;
+import com.harsha.tms.event.LoadPostedEvent;
+import com.harsha.tms.event.LoadStatusChangedEvent;
+import com.harsha.tms.repository.BidRepository;
+import com.harsha.tms.repository.BookingRepository;
+import com.harsha.tms.repository.LoadDeadlineRow;
+import com.harsha.tms.repository.LoadRepository;
+
+/**
+ * Moves loads along by their dates. The auction close, pickup and delivery of every load still
+ * under way sit in a {@link TimingWheel}, filled from the loads table at startup and as loads are
+ * posted, and a single thread advances it every tick; the database is only touched for deadlines
+ * that are due.
+ * <p>
+ * When an auction closes, its best scored bids are booked through {@link BookingService}, the
+ * auctions closing together in batches. At pickup, pending bids are rejected, loads nobody booked
+ * are withdrawn as CANCELLED and the rest leave IN_TRANSIT with their bookings, partly booked loads
+ * with the trucks they have. At delivery their bookings and the loads are COMPLETED. Due loads are
+ * handled in batches of set-based updates, one transaction per batch, and every update is guarded
+ * by status, so a deadline that fires twice or for a load that moved on by hand does nothing. A
+ * batch that fails is tried again later.
+ */
+@Component
+public class LoadLifecycleEngine implements DisposableBean {
+
+    private static final Set<BookingStatus> AWAITING_PICKUP =
+            EnumSet.of(BookingStatus.POSTED, BookingStatus.OPEN_FOR_BIDS, BookingStatus.BOOKED);
+    private static final Set<BookingStatus> AWAITING_DELIVERY = EnumSet.of(BookingStatus.BOOKED, BookingStatus.IN_TRANSIT);
+    private static final long RETRY_DELAY_SECONDS = 30;
+
+    private final LoadRepository loadRepository;
+    private final BidRepository bidRepository;
+    private final BookingRepository bookingRepository;
+    private final BookingService bookingService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final Duration tick;
+    private final int batchSize;
+    private final TimingWheel<Deadline> wheel;
+    private ScheduledExecutorService ticker;
+
+    private final AtomicLong fired = new AtomicLong();
+    private final AtomicLong awarded = new AtomicLong();
+    private final AtomicLong expired = new AtomicLong();
+    private final AtomicLong departed = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failedBatches = new AtomicLong();
+    private final AtomicLong maxLagMillis = new AtomicLong();
+    private volatile long lastLagMillis;
+    private volatile long lastTickMillis;
+
+    /**
+     * @param tick how often the wheel advances; zero leaves it to be ticked by hand
+     */
+    public LoadLifecycleEngine(LoadRepository loadRepository, BidRepository bidRepository,
+                               BookingRepository bookingRepository, BookingService bookingService,
+                               ApplicationEventPublisher eventPublisher,
+                               PlatformTransactionManager transactionManager, Clock clock,
+                               @Value("${tms.lifecycle.tick:1s}") Duration tick,
+                               @Value("${tms.lifecycle.batch-size:500}") int batchSize) {
+        this.loadRepository = loadRepository;
+        this.bidRepository = bidRepository;
+        this.bookingRepository = bookingRepository;
+        this.bookingService = bookingService;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+        this.tick = tick;
+        this.batchSize = Math.max(batchSize, 1);
+        this.wheel = new TimingWheel<>(seconds(LocalDateTime.now(clock)));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (tick.isZero() || tick.isNegative()) {
+            return;
+        }
+        seed();
+        ticker = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("load-lifecycle").daemon().factory());
+        ticker.scheduleWithFixedDelay(this::tick, tick.toMillis(), tick.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    void seed() {
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<LoadDeadlineRow> rows = loadRepository.streamDeadlines(
+                    EnumSet.of(BookingStatus.POSTED, BookingStatus.OPEN_FOR_BIDS, BookingStatus.BOOKED,
+                            BookingStatus.IN_TRANSIT))) {
+                rows.forEach(row -> {
+                    if (row.status() == BookingStatus.POSTED || row.status() == BookingStatus.OPEN_FOR_BIDS) {
+                        schedule(row.auctionClosesAt(), new Deadline(row.loadId(), Kind.AUCTION_CLOSE));
+                    }
+                    if (row.status() != BookingStatus.IN_TRANSIT) {
+                        schedule(row.pickupDate(), new Deadline(row.loadId(), Kind.PICKUP));
+                    }
+                    schedule(row.deliveryDate(), new Deadline(row.loadId(), Kind.DELIVERY));
+                });
+            }
+        });
+    }
+
+    @TransactionalEventListener
+    public void onLoadPosted(LoadPostedEvent event) {
+        schedule(event.auctionClosesAt(), new Deadline(event.loadId(), Kind.AUCTION_CLOSE));
+        schedule(event.pickupDate(), new Deadline(event.loadId(), Kind.PICKUP));
+        schedule(event.deliveryDate(), new Deadline(event.loadId(), Kind.DELIVERY));
+    }
+
+    void tick() {
+        long started = System.nanoTime();
+        List<TimingWheel.Entry<Deadline>> entries = new ArrayList<>();
+        synchronized (wheel) {
+            wheel.advance(seconds(LocalDateTime.now(clock)), entries::add);
+        }
+        if (entries.isEmpty()) {
+            return;
+        }
+        Map<Kind, List<UUID>> due = new EnumMap<>(Kind.class);
+        long earliest = Long.MAX_VALUE;
+        for (TimingWheel.Entry<Deadline> entry : entries) {
+            due.computeIfAbsent(entry.value().kind(), kind -> new ArrayList<>()).add(entry.value().loadId());
+            earliest = Math.min(earliest, entry.deadline());
+        }
+
+        // Auctions close before pickups and pickups before deliveries, so a load whose dates all passed while the
+        // engine was down is awarded, leaves and arrives in that order. Awards open their own transactions.
+        due.forEach((kind, loadIds) -> {
+            for (int from = 0; from < loadIds.size(); from += batchSize) {
+                List<UUID> batch = loadIds.subList(from, Math.min(from + batchSize, loadIds.size()));
+                try {
+                    if (kind == Kind.AUCTION_CLOSE) {
+                        awarded.addAndGet(bookingService.awardAuctions(batch).created());
+                    } else {
+                        transactionTemplate.executeWithoutResult(status -> fire(kind, batch));
+                    }
+                } catch (RuntimeException ex) {
+                    failedBatches.incrementAndGet();
+                    retry(kind, batch);
+                }
+            }
+        });
+
+        fired.addAndGet(entries.size());
+        long lag = LocalDateTime.now(clock).toInstant(ZoneOffset.UTC).toEpochMilli() - earliest * 1000;
+        lastLagMillis = lag;
+        maxLagMillis.accumulateAndGet(lag, Math::max);
+        lastTickMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+    }
+
+    private void fire(Kind kind, List<UUID> loadIds) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        if (kind == Kind.PICKUP) {
+            List<UUID> waiting = loadRepository.findIdsPickedUpBy(loadIds, AWAITING_PICKUP, now);
+            if (waiting.isEmpty()) {
+                return;
+            }
+            bidRepository.transitionStatusByLoadIds(waiting, BidStatus.PENDING, BidStatus.REJECTED);
+            int withdrawn = loadRepository.expireUnbooked(waiting, now);
+            int leaving = loadRepository.departAtPickup(waiting, now);
+            bookingRepository.transitionStatusByLoadIds(waiting, BookingStatus.CONFIRMED, BookingStatus.IN_TRANSIT);
+            expired.addAndGet(publish(waiting, withdrawn, BookingStatus.CANCELLED));
+            departed.addAndGet(publish(waiting, leaving, BookingStatus.IN_TRANSIT));
+        } else {
+            List<UUID> travelling = loadRepository.findIdsDeliveredBy(loadIds, AWAITING_DELIVERY, now);
+            if (travelling.isEmpty()) {
+                return;
+            }
+            bookingRepository.transitionStatusByLoadIds(travelling, BookingStatus.IN_TRANSIT, BookingStatus.COMPLETED);
+            bookingRepository.transitionStatusByLoadIds(travelling, BookingStatus.CONFIRMED, BookingStatus.COMPLETED);
+            int delivered = loadRepository.completeDelivered(travelling);
+            completed.addAndGet(publish(travelling, delivered, BookingStatus.COMPLETED));
+        }
+    }
+
+    // A delivery that passed meanwhile would find the load not yet gone, so it is tried again after its pickup
+    private void retry(Kind kind, List<UUID> loadIds) {
+        long retryAt = seconds(LocalDateTime.now(clock)) + RETRY_DELAY_SECONDS;
+        synchronized (wheel) {
+            for (UUID loadId : loadIds) {
+                wheel.schedule(retryAt, new Deadline(loadId, kind));
+                if (kind == Kind.PICKUP) {
+                    wheel.schedule(retryAt, new Deadline(loadId, Kind.DELIVERY));
+                }
+            }
+        }
+    }
+
+    private int publish(List<UUID> loadIds, int moved, BookingStatus status) {
+        if (moved == 0) {
+            return 0;
+        }
+        List<UUID> changed = loadRepository.findIdsByIdInAndStatus(loadIds, status);
+        changed.forEach(loadId -> eventPublisher.publishEvent(new LoadStatusChangedEvent(loadId, status)));
+        return changed.size();
+    }
+
+    public LifecycleStatsResponseDTO stats() {
+        int pending;
+        synchronized (wheel) {
+            pending = wheel.size();
+        }
+        return new LifecycleStatsResponseDTO(pending, fired.get(), awarded.get(), expired.get(), departed.get(), completed.get(),
+                failedBatches.get(), lastLagMillis, maxLagMillis.get(), lastTickMillis);
+    }
+
+    private void schedule(LocalDateTime deadline, Deadline value) {
+        if (deadline == null) {
+            return;
+        }
+        // Rounded up, so a deadline never fires before its time has come
+        long second = seconds(deadline) + (deadline.getNano() > 0 ? 1 : 0);
+        synchronized (wheel) {
+            wheel.schedule(second, value);
+        }
+    }
+
+    private static long seconds(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    @Override
+    public void destroy() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+        }
+    }
+
+    private enum Kind {
+        AUCTION_CLOSE,
+        PICKUP,
+        DELIVERY
+    }
+
+    private record Deadline(UUID loadId, Kind kind) {
+    }
+}
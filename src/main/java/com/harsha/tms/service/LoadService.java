@@ -8,6 +8,9 @@ import org.springframework.data.domain.Pageable;
 
 import com.harsha.tms.dto.request.LoadRequestDTO;
 import com.harsha.tms.dto.response.BidResponseDTO;
+import com.harsha.tms.dto.response.BulkResponseDTO;
+import com.harsha.tms.dto.response.CapableTransporterResponseDTO;
+import com.harsha.tms.dto.response.CursorPageResponseDTO;
 import com.harsha.tms.dto.response.LoadResponseDTO;
 import com.harsha.tms.entity.BookingStatus;
 
@@ -15,11 +18,19 @@ public interface LoadService {
 
     LoadResponseDTO createLoad(LoadRequestDTO request);
 
+    BulkResponseDTO<LoadResponseDTO> createLoads(List<LoadRequestDTO> requests);
+
     LoadResponseDTO getLoadById(UUID loadId);
 
     Page<LoadResponseDTO> listLoads(UUID shipperId, BookingStatus status, Pageable pageable);
 
+    CursorPageResponseDTO<LoadResponseDTO> scrollLoads(UUID shipperId, BookingStatus status, String cursor, int size);
+
     LoadResponseDTO cancelLoad(UUID loadId);
 
-    List<BidResponseDTO> getBestBids(UUID loadId);
+    List<BidResponseDTO> getBestBids(UUID loadId, Integer limit, Double minScore);
+
+    CursorPageResponseDTO<CapableTransporterResponseDTO> getCapableTransporters(UUID loadId, String truckType,
+                                                                                Integer minTrucks, String cursor,
+                                                                                int size);
 }
\ No newline at end of file
@@ -1,40 +1,50 @@
 package com.harsha.tms.service;
 
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
 import com.harsha.tms.entity.BookingStatus;
 import com.harsha.tms.exception.InvalidStatusTransitionException;
 
 public class LoadStatusValidator {
 
+    // Load statuses each action is refused in
+    private static final Map<LoadAction, Set<BookingStatus>> REFUSED = new EnumMap<>(Map.of(
+            LoadAction.BID, EnumSet.of(BookingStatus.BOOKED, BookingStatus.IN_TRANSIT, BookingStatus.COMPLETED,
+                    BookingStatus.CANCELLED),
+            LoadAction.CANCEL, EnumSet.of(BookingStatus.BOOKED, BookingStatus.IN_TRANSIT, BookingStatus.COMPLETED),
+            LoadAction.BOOK, EnumSet.of(BookingStatus.IN_TRANSIT, BookingStatus.COMPLETED, BookingStatus.CANCELLED)));
+
+    // Statuses a booking may move to from each of its own; a delivery may be reported without its pickup.
+    // Cancelling also frees the load's trucks and goes through the booking's own endpoint.
+    private static final Map<BookingStatus, Set<BookingStatus>> BOOKING_TRANSITIONS = new EnumMap<>(Map.of(
+            BookingStatus.CONFIRMED, EnumSet.of(BookingStatus.IN_TRANSIT, BookingStatus.COMPLETED),
+            BookingStatus.IN_TRANSIT, EnumSet.of(BookingStatus.COMPLETED)));
+
     private LoadStatusValidator() {
     }
 
-    public static void validateStatusTransition(BookingStatus currentStatus, String action) {
-        switch (action.toUpperCase()) {
-            case "BID" -> {
-                if (currentStatus == BookingStatus.BOOKED) {
-                    throw new InvalidStatusTransitionException(
-                            "Cannot bid on load with status BOOKED");
-                }
-                if (currentStatus == BookingStatus.CANCELLED) {
-                    throw new InvalidStatusTransitionException(
-                            "Cannot bid on load with status CANCELLED");
-                }
-            }
-            case "CANCEL" -> {
-                if (currentStatus == BookingStatus.BOOKED) {
-                    throw new InvalidStatusTransitionException(
-                            "Cannot cancel load with status BOOKED");
-                }
-            }
-            case "BOOK" -> {
-                if (currentStatus == BookingStatus.CANCELLED) {
-                    throw new InvalidStatusTransitionException(
-                            "Cannot book load with status CANCELLED");
-                }
-            }
-            default -> {
-                // No validation for other actions
-            }
+    public static void validateStatusTransition(BookingStatus currentStatus, LoadAction action) {
+        if (REFUSED.get(action).contains(currentStatus)) {
+            throw new InvalidStatusTransitionException(
+                    "Cannot " + action.verb() + " load with status " + currentStatus);
+        }
+    }
+
+    public static void validateBookingTransition(BookingStatus currentStatus, BookingStatus targetStatus) {
+        if (!BOOKING_TRANSITIONS.getOrDefault(currentStatus, Set.of()).contains(targetStatus)) {
+            throw new InvalidStatusTransitionException(
+                    "Booking is " + currentStatus + " and cannot move to " + targetStatus);
+        }
+    }
+
+    public static void validateBiddingOpen(LocalDateTime auctionClosesAt, Clock clock) {
+        if (auctionClosesAt != null && !LocalDateTime.now(clock).isBefore(auctionClosesAt)) {
+            throw new InvalidStatusTransitionException("Bidding on this load closed at " + auctionClosesAt);
         }
     }
 
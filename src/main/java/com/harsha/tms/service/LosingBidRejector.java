@@ -0,0 +1,64 @@
+package com.harsha.tms.service;
+
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.harsha.tms.entity.BidStatus;
+import com.harsha.tms.entity.BookingStatus;
+import com.harsha.tms.event.BidsRejectedEvent;
+import com.harsha.tms.event.LoadStatusChangedEvent;
+import com.harsha.tms.repository.BidRepository;
+
+/**
+ * Rejects every bid still pending on a load once a booking has taken its last truck, with one
+ * UPDATE per load. By default this runs inside the booking's transaction; when deferred it
+ * runs in its own, retried transaction after the booking commits, so the booking's locks are
+ * released first and a failure here does not undo the booking.
+ */
+@Component
+public class LosingBidRejector {
+
+    private final BidRepository bidRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ConflictRetrier conflictRetrier;
+    private final boolean deferred;
+
+    public LosingBidRejector(BidRepository bidRepository, ApplicationEventPublisher eventPublisher,
+                             ConflictRetrier conflictRetrier,
+                             @Value("${tms.booking.defer-losing-bid-rejection:false}") boolean deferred) {
+        this.bidRepository = bidRepository;
+        this.eventPublisher = eventPublisher;
+        this.conflictRetrier = conflictRetrier;
+        this.deferred = deferred;
+    }
+
+    /**
+     * Called by a booking with the load's status after it. Returns how many bids were rejected,
+     * or null when the rejection is deferred until after commit.
+     */
+    public Integer onBooked(UUID loadId, BookingStatus loadStatus) {
+        if (deferred) {
+            return null;
+        }
+        return loadStatus == BookingStatus.BOOKED ? reject(loadId) : 0;
+    }
+
+    @TransactionalEventListener
+    public void onLoadStatusChanged(LoadStatusChangedEvent event) {
+        if (deferred && event.status() == BookingStatus.BOOKED) {
+            conflictRetrier.execute("rejectLosingBids", event.loadId(), () -> reject(event.loadId()));
+        }
+    }
+
+    private int reject(UUID loadId) {
+        int rejected = bidRepository.transitionStatusByLoadId(loadId, BidStatus.PENDING, BidStatus.REJECTED);
+        if (rejected > 0) {
+            eventPublisher.publishEvent(new BidsRejectedEvent(loadId, rejected));
+        }
+        return rejected;
+    }
+}
@@ -0,0 +1,42 @@
+package com.harsha.tms.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+import com.harsha.tms.exception.InvalidCursorException;
+
+/**
+ * Opaque position of the last row of a listing ranked by rating, seeking on (rating desc, id).
+ */
+public record RatingCursor(double rating, UUID id) {
+
+    // Positioned before every row
+    public static final RatingCursor FIRST = new RatingCursor(Double.MAX_VALUE, new UUID(0, 0));
+
+    private static final String SEPARATOR = "|";
+
+    public String encode() {
+        String raw = rating + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // A missing or blank cursor starts from the first row
+    public static RatingCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return FIRST;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new InvalidCursorException("Invalid cursor: " + cursor);
+            }
+            return new RatingCursor(
+                    Double.parseDouble(raw.substring(0, separator)),
+                    UUID.fromString(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Invalid cursor: " + cursor, e);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.harsha.tms.service;
+
+import java.util.UUID;
+
+import com.harsha.tms.dto.request.ScoringPolicyRequestDTO;
+import com.harsha.tms.dto.response.RescoreResponseDTO;
+import com.harsha.tms.dto.response.ScoringPolicyResponseDTO;
+
+public interface ScoringPolicyService {
+
+    ScoringPolicyResponseDTO getPolicy(UUID shipperId);
+
+    ScoringPolicyResponseDTO updatePolicy(UUID shipperId, ScoringPolicyRequestDTO request);
+
+    RescoreResponseDTO rescore(UUID shipperId);
+}
@@ -0,0 +1,118 @@
+package com.harsha.tms.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Deadlines to the second in a hierarchical timing wheel. The epoch second is read as base-64
+ * digits and each level is a wheel of 64 slots, one per digit: a deadline sits on the level of
+ * the highest digit where it differs from the current second, in the slot of that digit.
+ * Scheduling is O(1). Advancing a second fires one slot of the lowest level, and whenever a digit
+ * rolls over, the slot of the level above that the new second enters is spread over the levels
+ * below, so a deadline is moved at most once per level whatever its distance.
+ * <p>
+ * Deadlines at or before the current second are due on the next advance. Not thread-safe;
+ * callers lock it.
+ */
+final class TimingWheel<T> {
+
+    private static final int BITS = 6;
+    private static final int SLOTS = 1 << BITS;
+    // 42 bits of seconds, over a hundred thousand years ahead
+    private static final int LEVELS = 7;
+
+    private final List<List<Entry<T>>> slots = new ArrayList<>(LEVELS * SLOTS);
+    private List<Entry<T>> overdue = new ArrayList<>();
+    private long current;
+    private int size;
+
+    TimingWheel(long now) {
+        for (int i = 0; i < LEVELS * SLOTS; i++) {
+            slots.add(null);
+        }
+        this.current = now;
+    }
+
+    void schedule(long deadline, T value) {
+        insert(new Entry<>(deadline, value));
+        size++;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Moves the clock to now and hands over every deadline up to it, earliest second first but
+     * in no particular order within a second.
+     */
+    void advance(long now, Consumer<Entry<T>> due) {
+        fire(takeOverdue(), due);
+        while (current < now) {
+            if (size == 0) {
+                current = now;
+                return;
+            }
+            current++;
+            int top = 0;
+            while (top < LEVELS - 1 && (current & ((1L << (BITS * (top + 1))) - 1)) == 0) {
+                top++;
+            }
+            for (int level = top; level > 0; level--) {
+                List<Entry<T>> cascading = take(level, digit(current, level));
+                if (cascading != null) {
+                    cascading.forEach(this::insert);
+                }
+            }
+            fire(take(0, digit(current, 0)), due);
+            fire(takeOverdue(), due);
+        }
+    }
+
+    private void insert(Entry<T> entry) {
+        if (entry.deadline() <= current) {
+            overdue.add(entry);
+            return;
+        }
+        int level = 0;
+        while (level < LEVELS - 1
+                && entry.deadline() >>> (BITS * (level + 1)) != current >>> (BITS * (level + 1))) {
+            level++;
+        }
+        int index = level * SLOTS + digit(entry.deadline(), level);
+        List<Entry<T>> slot = slots.get(index);
+        if (slot == null) {
+            slot = new ArrayList<>();
+            slots.set(index, slot);
+        }
+        slot.add(entry);
+    }
+
+    private void fire(List<Entry<T>> entries, Consumer<Entry<T>> due) {
+        if (entries != null) {
+            size -= entries.size();
+            entries.forEach(due);
+        }
+    }
+
+    private List<Entry<T>> take(int level, int digit) {
+        return slots.set(level * SLOTS + digit, null);
+    }
+
+    private List<Entry<T>> takeOverdue() {
+        if (overdue.isEmpty()) {
+            return null;
+        }
+        List<Entry<T>> taken = overdue;
+        overdue = new ArrayList<>();
+        return taken;
+    }
+
+    private static int digit(long second, int level) {
+        return (int) (second >>> (BITS * level)) & (SLOTS - 1);
+    }
+
+    record Entry<T>(long deadline, T value) {
+    }
+}
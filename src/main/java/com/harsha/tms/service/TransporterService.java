@@ -1,10 +1,12 @@
 package com.harsha.tms.service;
 
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 import com.harsha.tms.dto.request.TransporterRequestDTO;
 import com.harsha.tms.dto.request.UpdateTrucksRequestDTO;
 import com.harsha.tms.dto.response.TransporterResponseDTO;
+import com.harsha.tms.dto.response.TruckAvailabilityResponseDTO;
 
 public interface TransporterService {
 
@@ -13,4 +15,7 @@ public interface TransporterService {
     TransporterResponseDTO getTransporterById(UUID transporterId);
 
     TransporterResponseDTO updateTrucks(UUID transporterId, UpdateTrucksRequestDTO request);
+
+    TruckAvailabilityResponseDTO getAvailability(UUID transporterId, String truckType, LocalDateTime from,
+                                                 LocalDateTime to);
 }
@@ -0,0 +1,436 @@
+package com.harsha.tms.service;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.harsha.tms.entity.BookingStatus;
+import com.harsha.tms.entity.Truck;
+import com.harsha.tms.exception.InsufficientCapacityException;
+import com.harsha.tms.repository.BookingRepository;
+import com.harsha.tms.repository.BookingWindowRow;
+import com.harsha.tms.repository.TruckRepository;
+
+/**
+ * Truck capacity of every transporter by truck type over time, held in memory so that bid and
+ * booking capacity checks need no query. Transporter ids and truck types are interned to ints and
+ * each pair gets a cell in paged arrays: the fleet size from the trucks table, and a
+ * {@link TruckTimeline} of the trucks that active bookings hold between their load's pickup and
+ * delivery. The trucks free over a window are the fleet less the timeline's peak in it, so
+ * trucks are free again once their load is delivered.
+ * <p>
+ * The matrix is built from the trucks and bookings tables at startup, and transporters first
+ * seen later are loaded on demand. A booking reserves its window here and gets it back if the
+ * transaction rolls back; every other change is applied once its transaction has committed.
+ * <p>
+ * The matrix only knows what this instance committed, so it is the fast check, not the guard.
+ * Before a transaction that reserved trucks commits, the transporter's trucks rows of each type it
+ * reserved are locked, in a fixed order, and its windows are checked against the fleet and the
+ * bookings stored by then, its own included; a window that no longer fits fails the commit.
+ */
+@Component
+public class TruckCapacity {
+
+    private static final int PAGE_SHIFT = 10;
+    private static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+
+    // Bookings whose trucks are held until their load is delivered
+    private static final Set<BookingStatus> HOLDING = EnumSet.of(BookingStatus.CONFIRMED, BookingStatus.IN_TRANSIT);
+
+    private static final Comparator<TransporterTrucks> LOCK_ORDER = Comparator
+            .comparing(TransporterTrucks::transporterId)
+            .thenComparing(TransporterTrucks::truckType);
+
+    private final TruckRepository truckRepository;
+    private final BookingRepository bookingRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+
+    private final Map<UUID, Integer> transporters = new ConcurrentHashMap<>();
+    private final Map<String, Integer> truckTypes = new ConcurrentHashMap<>();
+    private final Map<Long, Integer> cells = new ConcurrentHashMap<>();
+    private final Set<UUID> loaded = ConcurrentHashMap.newKeySet();
+    // Grown copy-on-write under the lock; a page, once published, is never replaced
+    private volatile Page[] pages = new Page[0];
+    private int cellCount;
+
+    public TruckCapacity(TruckRepository truckRepository, BookingRepository bookingRepository,
+                         PlatformTransactionManager transactionManager, Clock clock) {
+        this.truckRepository = truckRepository;
+        this.bookingRepository = bookingRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.clock = clock;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        transactionTemplate.executeWithoutResult(status -> {
+            Map<UUID, List<Truck>> trucks = truckRepository.findAll().stream()
+                    .collect(Collectors.groupingBy(truck -> truck.getTransporter().getTransporterId()));
+            Map<UUID, List<BookingWindowRow>> windows;
+            try (Stream<BookingWindowRow> rows = bookingRepository.streamWindows(HOLDING, now)) {
+                windows = rows.collect(Collectors.groupingBy(BookingWindowRow::transporterId));
+            }
+            Set<UUID> transporterIds = new HashSet<>(trucks.keySet());
+            transporterIds.addAll(windows.keySet());
+            for (UUID transporterId : transporterIds) {
+                if (!loaded.contains(transporterId)) {
+                    load(transporterId, trucks.getOrDefault(transporterId, List.of()),
+                            windows.getOrDefault(transporterId, List.of()));
+                }
+            }
+        });
+    }
+
+    /**
+     * Loads a transporter now if it is not loaded yet. A transaction that writes a booking before
+     * reserving its trucks calls this first, so a later load does not count the booking on top of its
+     * reservation.
+     */
+    public void preload(UUID transporterId) {
+        if (!loaded.contains(transporterId)) {
+            synchronized (this) {
+                if (!loaded.contains(transporterId)) {
+                    load(transporterId, truckRepository.findByTransporterTransporterIdOrderById(transporterId),
+                            bookingRepository.findWindowsByTransporterId(transporterId, HOLDING,
+                                    LocalDateTime.now(clock)));
+                }
+            }
+        }
+    }
+
+    public int fleet(UUID transporterId, String truckType) {
+        int cell = cell(transporterId, truckType);
+        return cell >= 0 ? page(cell).fleets.get(offset(cell)) : 0;
+    }
+
+    // Most trucks held by bookings at any moment between pickup and delivery
+    public int booked(UUID transporterId, String truckType, LocalDateTime pickup, LocalDateTime delivery) {
+        int cell = cell(transporterId, truckType);
+        if (cell < 0) {
+            return 0;
+        }
+        TruckTimeline timeline = page(cell).timelines.get(offset(cell));
+        synchronized (timeline) {
+            return timeline.peak(seconds(pickup), end(pickup, delivery));
+        }
+    }
+
+    public int available(UUID transporterId, String truckType, LocalDateTime pickup, LocalDateTime delivery) {
+        return Math.max(fleet(transporterId, truckType) - booked(transporterId, truckType, pickup, delivery), 0);
+    }
+
+    /**
+     * Holds trucks from pickup to delivery if that many are free throughout. Within a transaction
+     * they are given back if it rolls back, and checked against the database before it commits.
+     */
+    public boolean reserve(UUID transporterId, String truckType, LocalDateTime pickup, LocalDateTime delivery,
+                           int trucks) {
+        int cell = cell(transporterId, truckType);
+        if (cell < 0) {
+            return false;
+        }
+        int fleet = page(cell).fleets.get(offset(cell));
+        TruckTimeline timeline = page(cell).timelines.get(offset(cell));
+        long start = seconds(pickup);
+        long end = end(pickup, delivery);
+        synchronized (timeline) {
+            timeline.forget(seconds(LocalDateTime.now(clock)));
+            if (fleet - timeline.peak(start, end) < trucks) {
+                return false;
+            }
+            timeline.add(start, end, trucks);
+        }
+
+        afterCompletion(committed -> {
+            if (!committed) {
+                synchronized (timeline) {
+                    timeline.add(start, end, -trucks);
+                }
+            }
+        });
+        checkBeforeCommit(new TransporterTrucks(transporterId, truckType), new Window(pickup, delivery, trucks));
+        return true;
+    }
+
+    public void release(UUID transporterId, String truckType, LocalDateTime pickup, LocalDateTime delivery,
+                        int trucks) {
+        afterCompletion(committed -> {
+            if (committed) {
+                hold(transporterId, truckType, seconds(pickup), end(pickup, delivery), -trucks);
+            }
+        });
+    }
+
+    /**
+     * Gives back what is left of each booking's window once the transaction commits, for loads
+     * delivered before their delivery date. All the windows share one completion callback.
+     */
+    public void releaseRemaining(List<BookingWindowRow> windows) {
+        afterCompletion(committed -> {
+            if (committed) {
+                long now = seconds(LocalDateTime.now(clock));
+                for (BookingWindowRow window : windows) {
+                    if (window.truckType() != null) {
+                        hold(window.transporterId(), window.truckType(), Math.max(seconds(window.pickupDate()), now),
+                                end(window.pickupDate(), window.deliveryDate()), -window.allocatedTrucks());
+                    }
+                }
+            }
+        });
+    }
+
+    // The transporter's trucks as stored once the current transaction commits
+    public void replace(UUID transporterId, List<Truck> trucks) {
+        afterCompletion(committed -> {
+            if (committed && loaded.contains(transporterId)) {
+                synchronized (this) {
+                    setFleets(transporterId, trucks);
+                }
+            }
+        });
+    }
+
+    // Read under the lock, so a change committed meanwhile is either in what is read or applied by hold() after
+    private int cell(UUID transporterId, String truckType) {
+        preload(transporterId);
+        return find(transporterId, truckType);
+    }
+
+    private int find(UUID transporterId, String truckType) {
+        Integer transporter = transporters.get(transporterId);
+        Integer type = truckType != null ? truckTypes.get(truckType) : null;
+        if (transporter == null || type == null) {
+            return -1;
+        }
+        Integer cell = cells.get(key(transporter, type));
+        return cell != null ? cell : -1;
+    }
+
+    // Changes made after commit only apply to a transporter that is loaded; a later load reads them anyway.
+    // One being loaded is waited for, since what it read may predate the change.
+    private void hold(UUID transporterId, String truckType, long start, long end, int trucks) {
+        if (!loaded.contains(transporterId)) {
+            synchronized (this) {
+                if (!loaded.contains(transporterId)) {
+                    return;
+                }
+            }
+        }
+        int cell = find(transporterId, truckType);
+        if (cell >= 0) {
+            TruckTimeline timeline = page(cell).timelines.get(offset(cell));
+            synchronized (timeline) {
+                timeline.add(start, end, trucks);
+            }
+        }
+    }
+
+    // One check per transaction, registered with its first reservation; outside a transaction there is nothing
+    // to hold back
+    private void checkBeforeCommit(TransporterTrucks trucks, Window window) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        CapacityCheck check = null;
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof CapacityCheck registered && registered.owner() == this) {
+                check = registered;
+            }
+        }
+        if (check == null) {
+            check = new CapacityCheck();
+            TransactionSynchronizationManager.registerSynchronization(check);
+        }
+        check.windows.computeIfAbsent(trucks, key -> new ArrayList<>()).add(window);
+    }
+
+    private void check(Map<TransporterTrucks, List<Window>> reserved) {
+        reserved.keySet().stream().sorted(LOCK_ORDER).forEach(trucks -> {
+            int fleet = truckRepository.lockByTransporterIdAndTruckType(trucks.transporterId(), trucks.truckType())
+                    .stream()
+                    .mapToInt(truck -> truck.getCount() != null ? truck.getCount() : 0)
+                    .sum();
+            List<Window> windows = reserved.get(trucks);
+            LocalDateTime from = windows.stream().map(Window::pickup).min(Comparator.naturalOrder()).orElseThrow();
+            LocalDateTime to = windows.stream().map(Window::delivery).max(Comparator.naturalOrder()).orElseThrow();
+            List<BookingWindowRow> held = bookingRepository.findWindowsOverlapping(trucks.transporterId(),
+                    trucks.truckType(), HOLDING, from, to);
+            for (Window window : windows) {
+                if (peak(held, seconds(window.pickup()), end(window.pickup(), window.delivery())) > fleet) {
+                    throw new InsufficientCapacityException("Trucks of type " + trucks.truckType() +
+                            " were allocated by another booking. Requested: " + window.trucks());
+                }
+            }
+        });
+    }
+
+    // Most trucks the windows hold at once within [start, end); a window's end frees its trucks before
+    // another's start at the same second takes them
+    private static int peak(List<BookingWindowRow> windows, long start, long end) {
+        List<long[]> changes = new ArrayList<>(windows.size() * 2);
+        for (BookingWindowRow window : windows) {
+            long from = Math.max(seconds(window.pickupDate()), start);
+            long to = Math.min(end(window.pickupDate(), window.deliveryDate()), end);
+            if (from < to) {
+                changes.add(new long[] {from, window.allocatedTrucks()});
+                changes.add(new long[] {to, -window.allocatedTrucks()});
+            }
+        }
+        changes.sort(Comparator.<long[]>comparingLong(change -> change[0]).thenComparingLong(change -> change[1]));
+        int held = 0;
+        int peak = 0;
+        for (long[] change : changes) {
+            held += (int) change[1];
+            peak = Math.max(peak, held);
+        }
+        return peak;
+    }
+
+    private void load(UUID transporterId, List<Truck> trucks, List<BookingWindowRow> windows) {
+        setFleets(transporterId, trucks);
+        int transporter = transporters.get(transporterId);
+        for (BookingWindowRow window : windows) {
+            if (window.truckType() == null) {
+                continue;
+            }
+            int cell = allocateCell(transporter, window.truckType());
+            TruckTimeline timeline = page(cell).timelines.get(offset(cell));
+            synchronized (timeline) {
+                timeline.add(seconds(window.pickupDate()), end(window.pickupDate(), window.deliveryDate()),
+                        window.allocatedTrucks());
+            }
+        }
+        loaded.add(transporterId);
+    }
+
+    // Fleets are overwritten in place so concurrent readers see the old size or the new one, never a gap
+    private void setFleets(UUID transporterId, List<Truck> trucks) {
+        Map<String, Integer> fleets = new HashMap<>();
+        for (Truck truck : trucks) {
+            if (truck.getTruckType() != null) {
+                fleets.merge(truck.getTruckType(), truck.getCount() != null ? truck.getCount() : 0, Integer::sum);
+            }
+        }
+
+        int transporter = transporters.computeIfAbsent(transporterId, id -> transporters.size());
+        for (Map.Entry<String, Integer> type : truckTypes.entrySet()) {
+            Integer cell = cells.get(key(transporter, type.getValue()));
+            if (cell != null && !fleets.containsKey(type.getKey())) {
+                page(cell).fleets.set(offset(cell), 0);
+            }
+        }
+        fleets.forEach((truckType, fleet) -> {
+            int cell = allocateCell(transporter, truckType);
+            page(cell).fleets.set(offset(cell), fleet);
+        });
+    }
+
+    // Called under the lock
+    private int allocateCell(int transporter, String truckType) {
+        int type = truckTypes.computeIfAbsent(truckType, name -> truckTypes.size());
+        return cells.computeIfAbsent(key(transporter, type), pair -> allocate());
+    }
+
+    private int allocate() {
+        int cell = cellCount++;
+        if ((cell >> PAGE_SHIFT) == pages.length) {
+            Page[] grown = Arrays.copyOf(pages, pages.length + 1);
+            grown[pages.length] = new Page();
+            pages = grown;
+        }
+        page(cell).timelines.set(offset(cell), new TruckTimeline());
+        return cell;
+    }
+
+    private Page page(int cell) {
+        return pages[cell >> PAGE_SHIFT];
+    }
+
+    private static int offset(int cell) {
+        return cell & (PAGE_SIZE - 1);
+    }
+
+    private static long key(int transporter, int type) {
+        return (long) transporter << 32 | type;
+    }
+
+    private static long seconds(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    // A window that ends before it starts still holds its trucks for a moment
+    private static long end(LocalDateTime pickup, LocalDateTime delivery) {
+        return Math.max(seconds(delivery), seconds(pickup) + 1);
+    }
+
+    private static void afterCompletion(CompletionCallback callback) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            callback.completed(true);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                callback.completed(status == STATUS_COMMITTED);
+            }
+        });
+    }
+
+    @FunctionalInterface
+    private interface CompletionCallback {
+
+        void completed(boolean committed);
+    }
+
+    private record TransporterTrucks(UUID transporterId, String truckType) {
+    }
+
+    private record Window(LocalDateTime pickup, LocalDateTime delivery, int trucks) {
+    }
+
+    private final class CapacityCheck implements TransactionSynchronization {
+
+        private final Map<TransporterTrucks, List<Window>> windows = new HashMap<>();
+
+        private TruckCapacity owner() {
+            return TruckCapacity.this;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            check(windows);
+        }
+    }
+
+    private static final class Page {
+
+        private final AtomicIntegerArray fleets = new AtomicIntegerArray(PAGE_SIZE);
+        private final AtomicReferenceArray<TruckTimeline> timelines = new AtomicReferenceArray<>(PAGE_SIZE);
+    }
+}
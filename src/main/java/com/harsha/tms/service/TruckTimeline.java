@@ -0,0 +1,132 @@
+package com.harsha.tms.service;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Trucks of one transporter and type held by bookings over time. A booking adds its trucks at
+ * its load's pickup and takes them off at delivery; these deltas are kept in a treap keyed by
+ * epoch second, each node carrying the sum and the largest running sum of its subtree, so the
+ * peak number of trucks held over any window is found in O(log n).
+ * <p>
+ * Deltas before the horizon are folded into a single one at it once that time has passed, so
+ * the tree only grows with bookings that are yet to end. Not thread-safe; callers lock it.
+ */
+final class TruckTimeline {
+
+    private Node root;
+    private long horizon = Long.MIN_VALUE;
+
+    // Trucks held over [start, end); the part of the window before the horizon is already history
+    void add(long start, long end, int trucks) {
+        long from = Math.max(start, horizon);
+        if (from >= end || trucks == 0) {
+            return;
+        }
+        root = put(put(root, from, trucks), end, -trucks);
+    }
+
+    // Most trucks held at any moment of [start, end)
+    int peak(long start, long end) {
+        long from = Math.max(start, horizon);
+        if (from >= end) {
+            return 0;
+        }
+        Split before = split(root, from + 1);
+        Split within = split(before.right, end);
+        int held = sum(before.left);
+        int peak = within.left != null ? Math.max(held, held + within.left.maxPrefix) : held;
+        root = merge(before.left, merge(within.left, within.right));
+        return peak;
+    }
+
+    void forget(long before) {
+        if (before <= horizon) {
+            return;
+        }
+        Split split = split(root, before);
+        horizon = before;
+        root = put(split.right, before, sum(split.left));
+    }
+
+    private static Node put(Node node, long key, int delta) {
+        Split before = split(node, key);
+        Split at = split(before.right, key + 1);
+        Node entry = at.left;
+        if (entry == null) {
+            entry = delta != 0 ? new Node(key, delta) : null;
+        } else {
+            entry.delta += delta;
+            entry = entry.delta != 0 ? update(entry) : null;
+        }
+        return merge(before.left, merge(entry, at.right));
+    }
+
+    // Keys below the given one go left
+    private static Split split(Node node, long key) {
+        if (node == null) {
+            return new Split(null, null);
+        }
+        if (node.key < key) {
+            Split split = split(node.right, key);
+            node.right = split.left;
+            return new Split(update(node), split.right);
+        }
+        Split split = split(node.left, key);
+        node.left = split.right;
+        return new Split(split.left, update(node));
+    }
+
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            return update(left);
+        }
+        right.left = merge(left, right.left);
+        return update(right);
+    }
+
+    private static Node update(Node node) {
+        int throughNode = sum(node.left) + node.delta;
+        int maxPrefix = throughNode;
+        if (node.left != null) {
+            maxPrefix = Math.max(maxPrefix, node.left.maxPrefix);
+        }
+        if (node.right != null) {
+            maxPrefix = Math.max(maxPrefix, throughNode + node.right.maxPrefix);
+        }
+        node.sum = throughNode + sum(node.right);
+        node.maxPrefix = maxPrefix;
+        return node;
+    }
+
+    private static int sum(Node node) {
+        return node != null ? node.sum : 0;
+    }
+
+    private record Split(Node left, Node right) {
+    }
+
+    private static final class Node {
+
+        private final long key;
+        private final int priority = ThreadLocalRandom.current().nextInt();
+        private int delta;
+        private int sum;
+        private int maxPrefix;
+        private Node left;
+        private Node right;
+
+        Node(long key, int delta) {
+            this.key = key;
+            this.delta = delta;
+            this.sum = delta;
+            this.maxPrefix = delta;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.harsha.tms.service;
+
+public final class WeightedBidScorer implements BidScorer {
+
+    public static final WeightedBidScorer DEFAULT =
+            new WeightedBidScorer(ScoreWeights.PRICE_WEIGHT, ScoreWeights.RATING_WEIGHT, 0.0, 0.0);
+
+    private final double priceWeight;
+    private final double ratingWeight;
+    private final double ratingFactor;
+    private final double coverageWeight;
+    private final double ageWeight;
+
+    public WeightedBidScorer(double priceWeight, double ratingWeight, double coverageWeight, double ageWeight) {
+        this.priceWeight = priceWeight;
+        this.ratingWeight = ratingWeight;
+        this.ratingFactor = ratingWeight / ScoreWeights.MAX_RATING;
+        this.coverageWeight = coverageWeight;
+        this.ageWeight = ageWeight;
+    }
+
+    @Override
+    public double score(double proposedRate, double rating, int trucksOffered, int remainingTrucks, double ageHours) {
+        return priceWeight / proposedRate + ratingFactor * rating
+                + coverageWeight * coverage(trucksOffered, remainingTrucks) + ageWeight * ageHours;
+    }
+
+    /**
+     * Same arithmetic as {@link #score} over precomputed columns, as a branch-free loop the JIT
+     * can unroll and vectorize. Results are bit-identical to the per-bid path.
+     */
+    @Override
+    public void scoreBatch(BidColumns columns, double[] scores, int from, int to) {
+        double[] rates = columns.rates;
+        double[] ratings = columns.ratings;
+        double[] coverage = columns.coverage;
+        double[] ageHours = columns.ageHours;
+        for (int i = from; i < to; i++) {
+            scores[i] = priceWeight / rates[i] + ratingFactor * ratings[i]
+                    + coverageWeight * coverage[i] + ageWeight * ageHours[i];
+        }
+    }
+
+    // Share of the load's remaining trucks a bid would cover
+    public static double coverage(int trucksOffered, int remainingTrucks) {
+        return remainingTrucks > 0 ? (double) Math.min(trucksOffered, remainingTrucks) / remainingTrucks : 0.0;
+    }
+
+    @Override
+    public boolean usesAge() {
+        return ageWeight != 0.0;
+    }
+
+    // True when the score depends on price and rating only and can be evaluated in SQL
+    public boolean isPriceAndRatingOnly() {
+        return coverageWeight == 0.0 && ageWeight == 0.0;
+    }
+
+    public double priceWeight() {
+        return priceWeight;
+    }
+
+    public double ratingWeight() {
+        return ratingWeight;
+    }
+}
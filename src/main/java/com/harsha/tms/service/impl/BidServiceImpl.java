@@ -2,85 +2,191 @@ package com.harsha.tms.service.impl;
 
 import java.time.Clock;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.harsha.tms.dto.request.BidRequestDTO;
+import com.harsha.tms.dto.request.BidSearchCriteria;
 import com.harsha.tms.dto.response.BidResponseDTO;
+import com.harsha.tms.dto.response.BulkResponseDTO;
+import com.harsha.tms.dto.response.CursorPageResponseDTO;
 import com.harsha.tms.entity.Bid;
 import com.harsha.tms.entity.BidStatus;
 import com.harsha.tms.entity.BookingStatus;
 import com.harsha.tms.entity.Load;
-import com.harsha.tms.entity.Truck;
+import com.harsha.tms.entity.Transporter;
+import com.harsha.tms.event.BidStatusChangedEvent;
+import com.harsha.tms.event.BidSubmittedEvent;
 import com.harsha.tms.exception.InsufficientCapacityException;
+import com.harsha.tms.exception.InvalidStatusTransitionException;
 import com.harsha.tms.exception.ResourceNotFoundException;
 import com.harsha.tms.repository.BidRepository;
 import com.harsha.tms.repository.LoadRepository;
 import com.harsha.tms.repository.TransporterRepository;
-import com.harsha.tms.repository.TruckRepository;
+import com.harsha.tms.service.BidRanking;
+import com.harsha.tms.service.BidScorerRegistry;
 import com.harsha.tms.service.BidService;
+import com.harsha.tms.service.BulkWriter;
+import com.harsha.tms.service.ConflictRetrier;
+import com.harsha.tms.service.KeysetCursor;
+import com.harsha.tms.service.LoadAction;
 import com.harsha.tms.service.LoadStatusValidator;
+import com.harsha.tms.service.TruckCapacity;
 
 @Service
 public class BidServiceImpl implements BidService {
 
+    private static final int MAX_SCROLL_SIZE = 100;
+
     private final BidRepository bidRepository;
     private final LoadRepository loadRepository;
     private final TransporterRepository transporterRepository;
-    private final TruckRepository truckRepository;
+    private final TruckCapacity truckCapacity;
+    private final BidScorerRegistry bidScorerRegistry;
+    private final BulkWriter bulkWriter;
+    private final ConflictRetrier conflictRetrier;
+    private final ApplicationEventPublisher eventPublisher;
     private final Clock clock;
 
     public BidServiceImpl(BidRepository bidRepository, LoadRepository loadRepository,
-                          TransporterRepository transporterRepository, TruckRepository truckRepository, Clock clock) {
+                          TransporterRepository transporterRepository, TruckCapacity truckCapacity,
+                          BidScorerRegistry bidScorerRegistry, BulkWriter bulkWriter,
+                          ConflictRetrier conflictRetrier, ApplicationEventPublisher eventPublisher,
+                          Clock clock) {
         this.bidRepository = bidRepository;
         this.loadRepository = loadRepository;
         this.transporterRepository = transporterRepository;
-        this.truckRepository = truckRepository;
+        this.truckCapacity = truckCapacity;
+        this.bidScorerRegistry = bidScorerRegistry;
+        this.bulkWriter = bulkWriter;
+        this.conflictRetrier = conflictRetrier;
+        this.eventPublisher = eventPublisher;
         this.clock = clock;
     }
 
     @Override
-    @Transactional
     public BidResponseDTO submitBid(BidRequestDTO request) {
+        return conflictRetrier.execute("submitBid", request.loadId(), () -> submit(request));
+    }
+
+    private BidResponseDTO submit(BidRequestDTO request) {
         Load load = loadRepository.findById(request.loadId())
                 .orElseThrow(() -> new ResourceNotFoundException("Load not found with id: " + request.loadId()));
 
-        LoadStatusValidator.validateStatusTransition(load.getStatus(), "BID");
+        LoadStatusValidator.validateStatusTransition(load.getStatus(), LoadAction.BID);
+        LoadStatusValidator.validateBiddingOpen(load.getAuctionClosesAt(), clock);
+        checkTrucksRemaining(load);
 
         var transporter = transporterRepository.findById(request.transporterId())
                 .orElseThrow(() -> new ResourceNotFoundException("Transporter not found with id: " + request.transporterId()));
 
-        List<Truck> trucks = truckRepository.findByTransporterTransporterId(request.transporterId());
-        int availableTrucks = trucks.stream()
-                .filter(truck -> truck.getTruckType().equals(request.truckType()))
-                .mapToInt(truck -> {
-                    Integer count = truck.getCount();
-                    return count != null ? count : 0;
-                })
-                .sum();
+        checkCapacity(request, truckCapacity.available(request.transporterId(), request.truckType(),
+                load.getPickupDate(), load.getDeliveryDate()));
 
-        if (request.trucksOffered() > availableTrucks) {
-            throw new InsufficientCapacityException("Insufficient trucks available. Requested: " +
-                    request.trucksOffered() + ", Available: " + availableTrucks);
+        // Flipped in the database; the managed load keeps its old status so it is never flushed
+        if (load.getStatus() == BookingStatus.POSTED) {
+            loadRepository.openForBids(List.of(load.getId()));
         }
 
-        if (load.getStatus() == BookingStatus.POSTED) {
-            List<Bid> existingBids = bidRepository.findByLoad_Id(request.loadId());
-            if (existingBids.isEmpty()) {
-                load.setStatus(BookingStatus.OPEN_FOR_BIDS);
-                loadRepository.save(load);
+        Bid savedBid = bidRepository.save(toBid(request, load, transporter, LocalDateTime.now(clock)));
+        return publishSubmitted(savedBid);
+    }
+
+    @Override
+    public BulkResponseDTO<BidResponseDTO> submitBids(List<BidRequestDTO> requests) {
+        return bulkWriter.write(requests, this::submitChunk);
+    }
+
+    // Everything a chunk needs is fetched up front, one query per kind, and the bids are saved together;
+    // truck capacity over each load's window comes from memory
+    private List<BulkWriter.Outcome<BidResponseDTO>> submitChunk(List<BidRequestDTO> chunk) {
+        Set<UUID> loadIds = chunk.stream().map(BidRequestDTO::loadId).collect(Collectors.toSet());
+        Set<UUID> transporterIds = chunk.stream().map(BidRequestDTO::transporterId).collect(Collectors.toSet());
+
+        Map<UUID, Load> loads = loadRepository.findAllById(loadIds).stream()
+                .collect(Collectors.toMap(Load::getId, Function.identity()));
+        Map<UUID, Transporter> transporters = transporterRepository.findAllById(transporterIds).stream()
+                .collect(Collectors.toMap(Transporter::getTransporterId, Function.identity()));
+
+        LocalDateTime submittedAt = LocalDateTime.now(clock);
+        List<Bid> bids = new ArrayList<>(chunk.size());
+        List<String> errors = new ArrayList<>(chunk.size());
+        for (BidRequestDTO request : chunk) {
+            try {
+                Load load = loads.get(request.loadId());
+                if (load == null) {
+                    throw new ResourceNotFoundException("Load not found with id: " + request.loadId());
+                }
+                LoadStatusValidator.validateStatusTransition(load.getStatus(), LoadAction.BID);
+                LoadStatusValidator.validateBiddingOpen(load.getAuctionClosesAt(), clock);
+                checkTrucksRemaining(load);
+
+                Transporter transporter = transporters.get(request.transporterId());
+                if (transporter == null) {
+                    throw new ResourceNotFoundException("Transporter not found with id: " + request.transporterId());
+                }
+                checkCapacity(request, truckCapacity.available(request.transporterId(), request.truckType(),
+                        load.getPickupDate(), load.getDeliveryDate()));
+                bids.add(toBid(request, load, transporter, submittedAt));
+                errors.add(null);
+            } catch (ResourceNotFoundException | InvalidStatusTransitionException
+                     | InsufficientCapacityException | IllegalStateException ex) {
+                bids.add(null);
+                errors.add(ex.getMessage());
             }
         }
-        
-        // Check for existing ACCEPTED bid
-        List<Bid> acceptedBids = bidRepository.findByLoad_IdAndStatus(request.loadId(), BidStatus.ACCEPTED);
-        if (!acceptedBids.isEmpty()) {
-            throw new IllegalStateException("Cannot submit bid: Load already has an accepted bid");
+
+        List<Bid> accepted = bids.stream().filter(Objects::nonNull).toList();
+        bidRepository.saveAll(accepted);
+        List<UUID> posted = accepted.stream()
+                .map(Bid::getLoad)
+                .filter(load -> load.getStatus() == BookingStatus.POSTED)
+                .map(Load::getId)
+                .distinct()
+                .toList();
+        if (!posted.isEmpty()) {
+            loadRepository.openForBids(posted);
+        }
+
+        List<BulkWriter.Outcome<BidResponseDTO>> outcomes = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            outcomes.add(bids.get(i) != null
+                    ? BulkWriter.Outcome.ok(publishSubmitted(bids.get(i)))
+                    : BulkWriter.Outcome.failed(errors.get(i)));
+        }
+        return outcomes;
+    }
+
+    // A load partly booked keeps taking bids for the trucks it still needs
+    private static void checkTrucksRemaining(Load load) {
+        if (load.getRemainingTrucks() == null || load.getRemainingTrucks() <= 0) {
+            throw new IllegalStateException("Cannot submit bid: Load has no trucks left to book");
+        }
+    }
+
+    private static void checkCapacity(BidRequestDTO request, int availableTrucks) {
+        if (request.trucksOffered() > availableTrucks) {
+            throw new InsufficientCapacityException("Insufficient trucks available. Requested: " +
+                    request.trucksOffered() + ", Available: " + availableTrucks);
         }
+    }
 
+    private static Bid toBid(BidRequestDTO request, Load load, Transporter transporter, LocalDateTime submittedAt) {
         Bid bid = new Bid();
         bid.setLoad(load);
         bid.setTransporter(transporter);
@@ -88,11 +194,12 @@ public class BidServiceImpl implements BidService {
         bid.setTrucksOffered(request.trucksOffered());
         bid.setTruckType(request.truckType());
         bid.setStatus(BidStatus.PENDING);
-        bid.setSubmittedAt(LocalDateTime.now(clock));
-
-        Bid savedBid = bidRepository.save(bid);
+        bid.setSubmittedAt(submittedAt);
+        return bid;
+    }
 
-        return new BidResponseDTO(
+    private BidResponseDTO publishSubmitted(Bid savedBid) {
+        BidResponseDTO response = new BidResponseDTO(
                 savedBid.getBidId(),
                 savedBid.getLoad().getId(),
                 savedBid.getTransporter().getTransporterId(),
@@ -102,43 +209,34 @@ public class BidServiceImpl implements BidService {
                 savedBid.getStatus(),
                 savedBid.getSubmittedAt()
         );
+        Load load = savedBid.getLoad();
+        double score = BidRanking.score(bidScorerRegistry.scorerFor(load.getShipperId()), savedBid.getProposedRate(),
+                savedBid.getTransporter().getRating(), savedBid.getTrucksOffered(), savedBid.getSubmittedAt(), load);
+        eventPublisher.publishEvent(new BidSubmittedEvent(response, score));
+        return response;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<BidResponseDTO> listBids(BidSearchCriteria criteria, Pageable pageable) {
+        return bidRepository.search(criteria, pageable);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<BidResponseDTO> listBids(UUID loadId, UUID transporterId, BidStatus status) {
-        List<Bid> bids;
-        
-        if (loadId != null && transporterId != null && status != null) {
-            bids = bidRepository.findByLoad_IdAndTransporter_TransporterIdAndStatus(loadId, transporterId, status);
-        } else if (loadId != null && transporterId != null) {
-            bids = bidRepository.findByLoad_IdAndTransporter_TransporterId(loadId, transporterId);
-        } else if (loadId != null && status != null) {
-            bids = bidRepository.findByLoad_IdAndStatus(loadId, status);
-        } else if (transporterId != null && status != null) {
-            bids = bidRepository.findByTransporter_TransporterIdAndStatus(transporterId, status);
-        } else if (loadId != null) {
-            bids = bidRepository.findByLoad_Id(loadId);
-        } else if (transporterId != null) {
-            bids = bidRepository.findByTransporter_TransporterId(transporterId);
-        } else if (status != null) {
-            bids = bidRepository.findByStatus(status);
-        } else {
-            bids = bidRepository.findAll();
+    public CursorPageResponseDTO<BidResponseDTO> scrollBids(BidSearchCriteria criteria, String cursor, int size) {
+        ScrollPosition position = KeysetCursor.toScrollPosition(cursor, "submittedAt", "bidId");
+        Window<BidResponseDTO> bids = bidRepository.scroll(criteria, position,
+                Limit.of(Math.clamp(size, 1, MAX_SCROLL_SIZE)));
+
+        List<BidResponseDTO> content = bids.getContent();
+        String nextCursor = null;
+        if (bids.hasNext() && !content.isEmpty()) {
+            BidResponseDTO last = content.get(content.size() - 1);
+            nextCursor = new KeysetCursor(last.submittedAt(), last.bidId()).encode();
         }
 
-        return bids.stream()
-                .map(bid -> new BidResponseDTO(
-                        bid.getBidId(),
-                        bid.getLoad().getId(),
-                        bid.getTransporter().getTransporterId(),
-                        bid.getProposedRate(),
-                        bid.getTrucksOffered(),
-                        bid.getTruckType(),
-                        bid.getStatus(),
-                        bid.getSubmittedAt()
-                ))
-                .toList();
+        return new CursorPageResponseDTO<>(content, content.size(), bids.hasNext(), nextCursor);
     }
 
     @Override
@@ -159,24 +257,30 @@ public class BidServiceImpl implements BidService {
         );
     }
 
+    // One guarded UPDATE: only a PENDING bid is rejected, so an accepted bid backing a booking is never
+    // overwritten, even one accepted meanwhile
     @Override
     @Transactional
     public BidResponseDTO rejectBid(UUID bidId) {
         Bid bid = bidRepository.findById(bidId)
                 .orElseThrow(() -> new ResourceNotFoundException("Bid not found with id: " + bidId));
 
-        bid.setStatus(BidStatus.REJECTED);
-        Bid savedBid = bidRepository.save(bid);
+        if (bidRepository.transitionStatus(bidId, BidStatus.PENDING, BidStatus.REJECTED) == 0) {
+            throw new InvalidStatusTransitionException(bid.getStatus() != BidStatus.PENDING
+                    ? "Bid is " + bid.getStatus() + ". Only PENDING bids can be rejected."
+                    : "Bid was accepted or rejected by another transaction.");
+        }
+        eventPublisher.publishEvent(new BidStatusChangedEvent(bid.getLoad().getId(), bidId, BidStatus.REJECTED));
 
         return new BidResponseDTO(
-                savedBid.getBidId(),
-                savedBid.getLoad().getId(),
-                savedBid.getTransporter().getTransporterId(),
-                savedBid.getProposedRate(),
-                savedBid.getTrucksOffered(),
-                savedBid.getTruckType(),
-                savedBid.getStatus(),
-                savedBid.getSubmittedAt()
+                bid.getBidId(),
+                bid.getLoad().getId(),
+                bid.getTransporter().getTransporterId(),
+                bid.getProposedRate(),
+                bid.getTrucksOffered(),
+                bid.getTruckType(),
+                BidStatus.REJECTED,
+                bid.getSubmittedAt()
         );
     }
 }
@@ -2,142 +2,607 @@ package com.harsha.tms.service.impl;
 
 import java.time.Clock;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
-import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.harsha.tms.dto.request.BookingRequestDTO;
+import com.harsha.tms.dto.request.BookingSearchCriteria;
+import com.harsha.tms.dto.request.BookingStatusUpdateRequestDTO;
+import com.harsha.tms.dto.response.AutoAllocationResponseDTO;
 import com.harsha.tms.dto.response.BookingResponseDTO;
+import com.harsha.tms.dto.response.BulkResponseDTO;
+import com.harsha.tms.dto.response.CursorPageResponseDTO;
 import com.harsha.tms.entity.Bid;
 import com.harsha.tms.entity.BidStatus;
 import com.harsha.tms.entity.Booking;
 import com.harsha.tms.entity.BookingStatus;
 import com.harsha.tms.entity.Load;
-import com.harsha.tms.entity.Truck;
+import com.harsha.tms.event.BidStatusChangedEvent;
+import com.harsha.tms.event.LoadStatusChangedEvent;
 import com.harsha.tms.exception.InsufficientCapacityException;
 import com.harsha.tms.exception.InvalidStatusTransitionException;
 import com.harsha.tms.exception.LoadAlreadyBookedException;
 import com.harsha.tms.exception.ResourceNotFoundException;
 import com.harsha.tms.repository.BidRepository;
+import com.harsha.tms.repository.BookingCommandRepository;
+import com.harsha.tms.repository.BookingCommandRow;
 import com.harsha.tms.repository.BookingRepository;
+import com.harsha.tms.repository.BookingTransitionRow;
+import com.harsha.tms.repository.BookingWindowRow;
 import com.harsha.tms.repository.LoadRepository;
 import com.harsha.tms.repository.TransporterRepository;
-import com.harsha.tms.repository.TruckRepository;
+import com.harsha.tms.service.BidAllocator;
+import com.harsha.tms.service.BidRanking;
+import com.harsha.tms.service.BidScorer;
+import com.harsha.tms.service.BidScorerRegistry;
 import com.harsha.tms.service.BookingService;
+import com.harsha.tms.service.BulkWriter;
+import com.harsha.tms.service.ConflictRetrier;
+import com.harsha.tms.service.KeysetCursor;
+import com.harsha.tms.service.LoadAction;
 import com.harsha.tms.service.LoadStatusValidator;
+import com.harsha.tms.service.LosingBidRejector;
+import com.harsha.tms.service.TruckCapacity;
 
 @Service
 public class BookingServiceImpl implements BookingService {
 
+    private static final int MAX_SCROLL_SIZE = 100;
+
     private final BookingRepository bookingRepository;
     private final LoadRepository loadRepository;
     private final BidRepository bidRepository;
     private final TransporterRepository transporterRepository;
-    private final TruckRepository truckRepository;
+    private final TruckCapacity truckCapacity;
+    private final BookingCommandRepository bookingCommandRepository;
+    private final ConflictRetrier conflictRetrier;
+    private final LosingBidRejector losingBidRejector;
+    private final BidAllocator bidAllocator;
+    private final BidScorerRegistry bidScorerRegistry;
+    private final BulkWriter bulkWriter;
+    private final ApplicationEventPublisher eventPublisher;
     private final Clock clock;
+    private final boolean singleRoundTrip;
 
     public BookingServiceImpl(BookingRepository bookingRepository, LoadRepository loadRepository,
                               BidRepository bidRepository, TransporterRepository transporterRepository,
-                              TruckRepository truckRepository, Clock clock) {
+                              TruckCapacity truckCapacity, BookingCommandRepository bookingCommandRepository,
+                              ConflictRetrier conflictRetrier, LosingBidRejector losingBidRejector,
+                              BidAllocator bidAllocator, BidScorerRegistry bidScorerRegistry, BulkWriter bulkWriter,
+                              ApplicationEventPublisher eventPublisher, Clock clock,
+                              @Value("${tms.booking.single-round-trip:false}") boolean singleRoundTrip) {
         this.bookingRepository = bookingRepository;
         this.loadRepository = loadRepository;
         this.bidRepository = bidRepository;
         this.transporterRepository = transporterRepository;
-        this.truckRepository = truckRepository;
+        this.truckCapacity = truckCapacity;
+        this.bookingCommandRepository = bookingCommandRepository;
+        this.conflictRetrier = conflictRetrier;
+        this.losingBidRejector = losingBidRejector;
+        this.bidAllocator = bidAllocator;
+        this.bidScorerRegistry = bidScorerRegistry;
+        this.bulkWriter = bulkWriter;
+        this.eventPublisher = eventPublisher;
         this.clock = clock;
+        this.singleRoundTrip = singleRoundTrip;
     }
 
     @Override
-    @Transactional
     public BookingResponseDTO createBooking(BookingRequestDTO request) {
-        try {
-            Load load = loadRepository.findById(request.loadId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Load not found with id: " + request.loadId()));
-
-            Bid bid = bidRepository.findById(request.bidId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Bid not found with id: " + request.bidId()));
-
-            var transporter = transporterRepository.findById(request.transporterId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Transporter not found with id: " + request.transporterId()));
-
-            // Validate single-ACCEPTED-bid-per-load rule
-            List<Bid> acceptedBids = bidRepository.findByLoad_Id(request.loadId()).stream()
-                    .filter(b -> b.getStatus() == BidStatus.ACCEPTED)
-                    .toList();
-            if (!acceptedBids.isEmpty()) {
-                throw new InvalidStatusTransitionException(
-                        "Load already has an accepted bid. Cannot accept multiple bids for the same load.");
-            }
-
-            if (request.allocatedTrucks() > load.getRemainingTrucks()) {
-                throw new InsufficientCapacityException("Insufficient remaining trucks. Requested: " +
-                        request.allocatedTrucks() + ", Available: " + load.getRemainingTrucks());
-            }
-
-            // Validate transporter has enough trucks of the required type
-            List<Truck> trucks = truckRepository.findByTransporterTransporterId(request.transporterId());
-            int availableTrucksOfType = 0;
-            Truck targetTruck = null;
-            for (Truck truck : trucks) {
-                if (truck.getTruckType().equals(bid.getTruckType())) {
-                    Integer currentCount = truck.getCount();
-                    availableTrucksOfType = currentCount != null ? currentCount : 0;
-                    targetTruck = truck;
-                    break;
-                }
+        return conflictRetrier.execute("createBooking", request.loadId(), () -> book(request));
+    }
+
+    private BookingResponseDTO book(BookingRequestDTO request) {
+        if (singleRoundTrip) {
+            return bookInOneRoundTrip(request);
+        }
+
+        Load load = loadRepository.findById(request.loadId())
+                .orElseThrow(() -> new ResourceNotFoundException("Load not found with id: " + request.loadId()));
+
+        Bid bid = bidRepository.findById(request.bidId())
+                .orElseThrow(() -> new ResourceNotFoundException("Bid not found with id: " + request.bidId()));
+
+        var transporter = transporterRepository.findById(request.transporterId())
+                .orElseThrow(() -> new ResourceNotFoundException("Transporter not found with id: " + request.transporterId()));
+
+        checkBookable(request, load.getStatus(), load.getRemainingTrucks(), bid.getStatus(), bid.getTruckType(),
+                truckCapacity.available(request.transporterId(), bid.getTruckType(), load.getPickupDate(),
+                        load.getDeliveryDate()));
+
+        // The checks above report precise errors from what was read; the guarded updates and the truck
+        // reservation below are what hold under concurrency. Rows are taken in bid, load order so bookers
+        // never deadlock.
+        if (bidRepository.transitionStatus(bid.getBidId(), BidStatus.PENDING, BidStatus.ACCEPTED) == 0) {
+            throw bidTakenConcurrently();
+        }
+        if (loadRepository.reserveTrucks(load.getId(), request.allocatedTrucks()) == 0) {
+            // A load that left or was withdrawn meanwhile is reported as such rather than as taken
+            LoadStatusValidator.validateStatusTransition(loadRepository.findStatusById(load.getId()), LoadAction.BOOK);
+            throw loadTakenConcurrently(request.allocatedTrucks());
+        }
+        if (!truckCapacity.reserve(request.transporterId(), bid.getTruckType(), load.getPickupDate(),
+                load.getDeliveryDate(), request.allocatedTrucks())) {
+            throw trucksTakenConcurrently(bid.getTruckType(), request.allocatedTrucks());
+        }
+        BookingStatus loadStatus = loadRepository.findStatusById(load.getId());
+
+        Booking booking = new Booking();
+        booking.setLoad(load);
+        booking.setBid(bid);
+        booking.setTransporter(transporter);
+        booking.setAllocatedTrucks(request.allocatedTrucks());
+        booking.setFinalRate(request.finalRate());
+        booking.setStatus(BookingStatus.CONFIRMED);
+        booking.setBookedAt(LocalDateTime.now(clock));
+
+        Booking savedBooking = bookingRepository.save(booking);
+        Integer rejectedBids = losingBidRejector.onBooked(load.getId(), loadStatus);
+
+        eventPublisher.publishEvent(new BidStatusChangedEvent(load.getId(), bid.getBidId(), BidStatus.ACCEPTED));
+        eventPublisher.publishEvent(new LoadStatusChangedEvent(load.getId(), loadStatus));
+
+        return new BookingResponseDTO(
+                savedBooking.getBookingId(),
+                savedBooking.getLoad().getId(),
+                savedBooking.getBid().getBidId(),
+                savedBooking.getTransporter().getTransporterId(),
+                savedBooking.getAllocatedTrucks(),
+                savedBooking.getFinalRate(),
+                savedBooking.getStatus(),
+                savedBooking.getBookedAt(),
+                rejectedBids
+        );
+    }
+
+    private BookingResponseDTO bookInOneRoundTrip(BookingRequestDTO request) {
+        UUID bookingId = UUID.randomUUID();
+        LocalDateTime bookedAt = LocalDateTime.now(clock);
+        // The statement inserts the booking before its trucks are reserved below, where loading the
+        // transporter would read that booking as well
+        truckCapacity.preload(request.transporterId());
+        BookingCommandRow row = bookingCommandRepository.book(bookingId, request.loadId(), request.bidId(),
+                request.transporterId(), request.allocatedTrucks(), request.finalRate(), bookedAt);
+
+        // Throwing rolls back whichever of the guarded writes did go through
+        if (!row.booked()) {
+            if (row.loadStatus() == null) {
+                throw new ResourceNotFoundException("Load not found with id: " + request.loadId());
             }
-            
-            if (availableTrucksOfType < request.allocatedTrucks()) {
-                throw new InsufficientCapacityException(
-                        "Insufficient trucks of type " + bid.getTruckType() + ". Requested: " +
-                                request.allocatedTrucks() + ", Available: " + availableTrucksOfType);
+            if (row.bidStatus() == null) {
+                throw new ResourceNotFoundException("Bid not found with id: " + request.bidId());
             }
-
-            // Deduct allocated trucks from transporter's inventory
-            if (targetTruck != null) {
-                targetTruck.setCount(availableTrucksOfType - request.allocatedTrucks());
-                truckRepository.save(targetTruck);
+            if (!row.transporterFound()) {
+                throw new ResourceNotFoundException("Transporter not found with id: " + request.transporterId());
+            }
+            checkBookable(request, row.loadStatus(), row.remainingTrucks(), row.bidStatus(), row.truckType(),
+                    truckCapacity.available(request.transporterId(), row.truckType(), row.pickupDate(),
+                            row.deliveryDate()));
+            if (!row.bidAccepted()) {
+                throw bidTakenConcurrently();
             }
+            throw loadTakenConcurrently(request.allocatedTrucks());
+        }
+        // Trucks are held in memory, so they are reserved once the statement has read the load's window
+        if (!truckCapacity.reserve(request.transporterId(), row.truckType(), row.pickupDate(), row.deliveryDate(),
+                request.allocatedTrucks())) {
+            throw insufficientTrucksOfType(request, row.truckType(), truckCapacity.available(
+                    request.transporterId(), row.truckType(), row.pickupDate(), row.deliveryDate()));
+        }
+        Integer rejectedBids = losingBidRejector.onBooked(request.loadId(), row.loadStatusAfter());
 
-            load.setRemainingTrucks(load.getRemainingTrucks() - request.allocatedTrucks());
+        eventPublisher.publishEvent(new BidStatusChangedEvent(request.loadId(), request.bidId(), BidStatus.ACCEPTED));
+        eventPublisher.publishEvent(new LoadStatusChangedEvent(request.loadId(), row.loadStatusAfter()));
 
-            if (load.getRemainingTrucks() == 0) {
-                LoadStatusValidator.validateBookedStatus(load.getRemainingTrucks());
-                load.setStatus(BookingStatus.BOOKED);
-            }
+        return new BookingResponseDTO(
+                bookingId,
+                request.loadId(),
+                request.bidId(),
+                request.transporterId(),
+                request.allocatedTrucks(),
+                request.finalRate(),
+                BookingStatus.CONFIRMED,
+                bookedAt,
+                rejectedBids
+        );
+    }
 
-            loadRepository.save(load);
+    private static void checkBookable(BookingRequestDTO request, BookingStatus loadStatus, int remainingTrucks,
+                                      BidStatus bidStatus, String truckType, Integer trucksOfType) {
+        LoadStatusValidator.validateStatusTransition(loadStatus, LoadAction.BOOK);
 
+        if (bidStatus != BidStatus.PENDING) {
+            throw new InvalidStatusTransitionException(
+                    "Bid is " + bidStatus + ". Only PENDING bids can be accepted.");
+        }
+
+        if (request.allocatedTrucks() > remainingTrucks) {
+            throw new InsufficientCapacityException("Insufficient remaining trucks. Requested: " +
+                    request.allocatedTrucks() + ", Available: " + remainingTrucks);
+        }
+
+        // Validate transporter has enough trucks of the required type
+        int availableTrucksOfType = trucksOfType != null ? trucksOfType : 0;
+        if (availableTrucksOfType < request.allocatedTrucks()) {
+            throw insufficientTrucksOfType(request, truckType, availableTrucksOfType);
+        }
+    }
+
+    private static InsufficientCapacityException insufficientTrucksOfType(BookingRequestDTO request,
+                                                                          String truckType, int available) {
+        return new InsufficientCapacityException("Insufficient trucks of type " + truckType + ". Requested: " +
+                request.allocatedTrucks() + ", Available: " + available);
+    }
+
+    private static InvalidStatusTransitionException bidTakenConcurrently() {
+        return new InvalidStatusTransitionException("Bid was accepted or rejected by another transaction.");
+    }
+
+    private static LoadAlreadyBookedException loadTakenConcurrently(int trucks) {
+        return new LoadAlreadyBookedException("Remaining trucks were taken by another booking. Requested: " + trucks);
+    }
+
+    private static InsufficientCapacityException trucksTakenConcurrently(String truckType, int trucks) {
+        return new InsufficientCapacityException("Trucks of type " + truckType +
+                " were allocated by another booking. Requested: " + trucks);
+    }
+
+    @Override
+    public AutoAllocationResponseDTO autoAllocate(UUID loadId) {
+        return conflictRetrier.execute("autoAllocate", loadId, () -> allocate(loadId));
+    }
+
+    private AutoAllocationResponseDTO allocate(UUID loadId) {
+        Load load = loadRepository.findById(loadId)
+                .orElseThrow(() -> new ResourceNotFoundException("Load not found with id: " + loadId));
+        LoadStatusValidator.validateStatusTransition(load.getStatus(), LoadAction.BOOK);
+
+        List<Bid> bids = fittingBids(load,
+                bidRepository.findWithTransporterByLoad_IdAndStatus(loadId, BidStatus.PENDING));
+        BidAllocator.Allocation allocation = bidAllocator.allocate(bids.stream()
+                .map(bid -> new BidAllocator.Candidate(bid.getTrucksOffered(), bid.getProposedRate()))
+                .toList(), load.getRemainingTrucks());
+        if (allocation.chosen().isEmpty()) {
+            throw new InsufficientCapacityException("No pending bid fits the load's " +
+                    load.getRemainingTrucks() + " remaining trucks");
+        }
+        List<Bid> chosen = allocation.chosen().stream().map(bids::get).toList();
+
+        // The same guarded writes as a single booking, once for all chosen bids; any failure rolls back the lot
+        if (bidRepository.transitionStatuses(chosen.stream().map(Bid::getBidId).toList(),
+                BidStatus.PENDING, BidStatus.ACCEPTED) != chosen.size()) {
+            throw bidTakenConcurrently();
+        }
+        if (loadRepository.reserveTrucks(loadId, allocation.trucks()) == 0) {
+            throw loadTakenConcurrently(allocation.trucks());
+        }
+        for (Bid bid : chosen) {
+            if (!truckCapacity.reserve(bid.getTransporter().getTransporterId(), bid.getTruckType(),
+                    load.getPickupDate(), load.getDeliveryDate(), bid.getTrucksOffered())) {
+                throw trucksTakenConcurrently(bid.getTruckType(), bid.getTrucksOffered());
+            }
+        }
+        BookingStatus loadStatus = loadRepository.findStatusById(loadId);
+
+        LocalDateTime bookedAt = LocalDateTime.now(clock);
+        List<Booking> bookings = new ArrayList<>(chosen.size());
+        for (Bid bid : chosen) {
             Booking booking = new Booking();
             booking.setLoad(load);
             booking.setBid(bid);
-            booking.setTransporter(transporter);
-            booking.setAllocatedTrucks(request.allocatedTrucks());
-            booking.setFinalRate(request.finalRate());
+            booking.setTransporter(bid.getTransporter());
+            booking.setAllocatedTrucks(bid.getTrucksOffered());
+            booking.setFinalRate(bid.getProposedRate());
             booking.setStatus(BookingStatus.CONFIRMED);
-            booking.setBookedAt(LocalDateTime.now(clock));
+            booking.setBookedAt(bookedAt);
+            bookings.add(booking);
+        }
+        List<Booking> savedBookings = bookingRepository.saveAll(bookings);
+        Integer rejectedBids = losingBidRejector.onBooked(loadId, loadStatus);
+
+        for (Bid bid : chosen) {
+            eventPublisher.publishEvent(new BidStatusChangedEvent(loadId, bid.getBidId(), BidStatus.ACCEPTED));
+        }
+        eventPublisher.publishEvent(new LoadStatusChangedEvent(loadId, loadStatus));
 
-            Booking savedBooking = bookingRepository.save(booking);
+        return new AutoAllocationResponseDTO(
+                loadId,
+                loadStatus,
+                allocation.trucks(),
+                allocation.cost(),
+                allocation.optimal(),
+                savedBookings.stream()
+                        .map(booking -> new BookingResponseDTO(
+                                booking.getBookingId(),
+                                loadId,
+                                booking.getBid().getBidId(),
+                                booking.getTransporter().getTransporterId(),
+                                booking.getAllocatedTrucks(),
+                                booking.getFinalRate(),
+                                booking.getStatus(),
+                                booking.getBookedAt(),
+                                null))
+                        .toList(),
+                rejectedBids
+        );
+    }
+
+    // Bids the load can take whole. A transporter's bids of one type share its trucks free over the load's
+    // window, so the cheapest per truck are kept while they fit and the allocator never picks more than exist.
+    private List<Bid> fittingBids(Load load, List<Bid> pending) {
+        Map<TransporterTrucks, Integer> free = new HashMap<>();
+        List<Bid> fitting = new ArrayList<>();
+        pending.stream()
+                .filter(bid -> bid.getTruckType() != null && bid.getProposedRate() != null
+                        && bid.getTrucksOffered() != null && bid.getTrucksOffered() > 0
+                        && bid.getTrucksOffered() <= load.getRemainingTrucks())
+                .sorted(Comparator.comparingDouble(bid -> bid.getProposedRate() / bid.getTrucksOffered()))
+                .forEach(bid -> {
+                    UUID transporterId = bid.getTransporter().getTransporterId();
+                    TransporterTrucks key = new TransporterTrucks(transporterId, bid.getTruckType());
+                    int left = free.computeIfAbsent(key, k -> truckCapacity.available(transporterId,
+                            bid.getTruckType(), load.getPickupDate(), load.getDeliveryDate()));
+                    if (bid.getTrucksOffered() <= left) {
+                        free.put(key, left - bid.getTrucksOffered());
+                        fitting.add(bid);
+                    }
+                });
+        return fitting;
+    }
 
-            bid.setStatus(BidStatus.ACCEPTED);
-            bidRepository.save(bid);
+    private record TransporterTrucks(UUID transporterId, String truckType) {
+    }
+
+    @Override
+    public BulkResponseDTO<AutoAllocationResponseDTO> awardAuctions(List<UUID> loadIds) {
+        return bulkWriter.write(loadIds, this::awardChunk);
+    }
 
-            return new BookingResponseDTO(
-                    savedBooking.getBookingId(),
-                    savedBooking.getLoad().getId(),
-                    savedBooking.getBid().getBidId(),
-                    savedBooking.getTransporter().getTransporterId(),
-                    savedBooking.getAllocatedTrucks(),
-                    savedBooking.getFinalRate(),
-                    savedBooking.getStatus(),
-                    savedBooking.getBookedAt()
-            );
-        } catch (ObjectOptimisticLockingFailureException e) {
-            throw new LoadAlreadyBookedException("Load was modified by another transaction. Please retry.");
+    // Loads and their pending bids are read in two queries for the whole chunk. Each load's winners hold
+    // their trucks as they are picked, so a transporter winning several auctions is never booked twice,
+    // and the bids are then accepted in one guarded update and the bookings saved as one batch. A write
+    // that finds a row taken meanwhile fails the chunk, which the bulk writer retries load by load.
+    private List<BulkWriter.Outcome<AutoAllocationResponseDTO>> awardChunk(List<UUID> chunk) {
+        Map<UUID, Load> loads = loadRepository.findAllById(chunk).stream()
+                .collect(Collectors.toMap(Load::getId, Function.identity()));
+        Map<UUID, List<Bid>> pending = bidRepository.findWithTransporterByLoad_IdInAndStatus(chunk, BidStatus.PENDING)
+                .stream()
+                .collect(Collectors.groupingBy(bid -> bid.getLoad().getId()));
+        LocalDateTime now = LocalDateTime.now(clock);
+
+        Map<UUID, List<Bid>> winners = new LinkedHashMap<>();
+        List<BulkWriter.Outcome<AutoAllocationResponseDTO>> outcomes = new ArrayList<>(chunk.size());
+        for (UUID loadId : chunk) {
+            Load load = loads.get(loadId);
+            if (load == null) {
+                outcomes.add(BulkWriter.Outcome.failed("Load not found with id: " + loadId));
+                continue;
+            }
+            if (load.getAuctionClosesAt() == null || now.isBefore(load.getAuctionClosesAt())) {
+                outcomes.add(BulkWriter.Outcome.failed("Auction on load " + loadId + " has not closed"));
+                continue;
+            }
+            try {
+                LoadStatusValidator.validateStatusTransition(load.getStatus(), LoadAction.BOOK);
+            } catch (InvalidStatusTransitionException ex) {
+                outcomes.add(BulkWriter.Outcome.failed(ex.getMessage()));
+                continue;
+            }
+            List<Bid> won = auctionWinners(load, pending.getOrDefault(loadId, List.of()));
+            if (won.isEmpty()) {
+                outcomes.add(BulkWriter.Outcome.failed("No pending bid fits the load's " +
+                        load.getRemainingTrucks() + " remaining trucks"));
+                continue;
+            }
+            for (Bid bid : won) {
+                if (!truckCapacity.reserve(bid.getTransporter().getTransporterId(), bid.getTruckType(),
+                        load.getPickupDate(), load.getDeliveryDate(), bid.getTrucksOffered())) {
+                    throw trucksTakenConcurrently(bid.getTruckType(), bid.getTrucksOffered());
+                }
+            }
+            winners.put(loadId, won);
+            outcomes.add(null);
+        }
+        if (winners.isEmpty()) {
+            return outcomes;
+        }
+
+        List<UUID> bidIds = winners.values().stream().flatMap(List::stream).map(Bid::getBidId).toList();
+        if (bidRepository.transitionStatuses(bidIds, BidStatus.PENDING, BidStatus.ACCEPTED) != bidIds.size()) {
+            throw bidTakenConcurrently();
+        }
+        winners.forEach((loadId, won) -> {
+            int trucks = won.stream().mapToInt(Bid::getTrucksOffered).sum();
+            if (loadRepository.reserveTrucks(loadId, trucks) == 0) {
+                throw loadTakenConcurrently(trucks);
+            }
+        });
+        Set<UUID> booked = new HashSet<>(loadRepository.findIdsByIdInAndStatus(winners.keySet(), BookingStatus.BOOKED));
+
+        LocalDateTime bookedAt = LocalDateTime.now(clock);
+        List<Booking> bookings = new ArrayList<>(bidIds.size());
+        winners.forEach((loadId, won) -> {
+            for (Bid bid : won) {
+                Booking booking = new Booking();
+                booking.setLoad(loads.get(loadId));
+                booking.setBid(bid);
+                booking.setTransporter(bid.getTransporter());
+                booking.setAllocatedTrucks(bid.getTrucksOffered());
+                booking.setFinalRate(bid.getProposedRate());
+                booking.setStatus(BookingStatus.CONFIRMED);
+                booking.setBookedAt(bookedAt);
+                bookings.add(booking);
+            }
+        });
+        Map<UUID, List<BookingResponseDTO>> savedBookings = bookingRepository.saveAll(bookings).stream()
+                .map(booking -> new BookingResponseDTO(
+                        booking.getBookingId(),
+                        booking.getLoad().getId(),
+                        booking.getBid().getBidId(),
+                        booking.getTransporter().getTransporterId(),
+                        booking.getAllocatedTrucks(),
+                        booking.getFinalRate(),
+                        booking.getStatus(),
+                        booking.getBookedAt(),
+                        null))
+                .collect(Collectors.groupingBy(BookingResponseDTO::loadId));
+
+        for (int i = 0; i < chunk.size(); i++) {
+            UUID loadId = chunk.get(i);
+            List<Bid> won = winners.get(loadId);
+            if (outcomes.get(i) != null || won == null) {
+                continue;
+            }
+            BookingStatus loadStatus = booked.contains(loadId) ? BookingStatus.BOOKED : BookingStatus.OPEN_FOR_BIDS;
+            Integer rejectedBids = losingBidRejector.onBooked(loadId, loadStatus);
+            for (Bid bid : won) {
+                eventPublisher.publishEvent(new BidStatusChangedEvent(loadId, bid.getBidId(), BidStatus.ACCEPTED));
+            }
+            eventPublisher.publishEvent(new LoadStatusChangedEvent(loadId, loadStatus));
+            outcomes.set(i, BulkWriter.Outcome.ok(new AutoAllocationResponseDTO(
+                    loadId,
+                    loadStatus,
+                    won.stream().mapToInt(Bid::getTrucksOffered).sum(),
+                    won.stream().mapToDouble(Bid::getProposedRate).sum(),
+                    false,
+                    savedBookings.get(loadId),
+                    rejectedBids)));
+        }
+        return outcomes;
+    }
+
+    // The best scored bids under the shipper's policy, each taken whole while it fits the trucks still wanted
+    // and its transporter's free trucks
+    private List<Bid> auctionWinners(Load load, List<Bid> pending) {
+        BidScorer scorer = bidScorerRegistry.scorerFor(load.getShipperId());
+        List<Bid> ranked = BidRanking.topK(pending.stream()
+                        .filter(bid -> bid.getTruckType() != null && bid.getProposedRate() != null
+                                && bid.getTrucksOffered() != null && bid.getTrucksOffered() > 0)
+                        .toList(),
+                bid -> BidRanking.score(scorer, bid, load), pending.size(), -Double.MAX_VALUE);
+
+        Map<TransporterTrucks, Integer> free = new HashMap<>();
+        List<Bid> won = new ArrayList<>();
+        int wanted = load.getRemainingTrucks();
+        for (Bid bid : ranked) {
+            if (wanted == 0) {
+                break;
+            }
+            if (bid.getTrucksOffered() > wanted) {
+                continue;
+            }
+            UUID transporterId = bid.getTransporter().getTransporterId();
+            TransporterTrucks key = new TransporterTrucks(transporterId, bid.getTruckType());
+            int left = free.computeIfAbsent(key, k -> truckCapacity.available(transporterId,
+                    bid.getTruckType(), load.getPickupDate(), load.getDeliveryDate()));
+            if (bid.getTrucksOffered() <= left) {
+                free.put(key, left - bid.getTrucksOffered());
+                won.add(bid);
+                wanted -= bid.getTrucksOffered();
+            }
+        }
+        return won;
+    }
+
+    @Override
+    public BulkResponseDTO<BookingResponseDTO> updateStatuses(List<BookingStatusUpdateRequestDTO> requests) {
+        return bulkWriter.write(requests, this::transitionChunk);
+    }
+
+    // Items are checked in order against the status the earlier ones leave, so a pickup and its delivery
+    // may share a chunk. Each booking then moves once from its stored status to its last one, with one
+    // guarded update per pair of statuses; a booking changed meanwhile fails the chunk, which the bulk
+    // writer retries item by item. Loads follow with two set-based updates, and completed bookings give
+    // their trucks back in one go.
+    private List<BulkWriter.Outcome<BookingResponseDTO>> transitionChunk(List<BookingStatusUpdateRequestDTO> chunk) {
+        Map<UUID, BookingTransitionRow> rows = bookingRepository.findTransitionRowsByBookingIdIn(chunk.stream()
+                        .map(BookingStatusUpdateRequestDTO::bookingId)
+                        .collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(BookingTransitionRow::bookingId, Function.identity()));
+
+        Map<UUID, BookingStatus> statuses = new LinkedHashMap<>();
+        List<BulkWriter.Outcome<BookingResponseDTO>> outcomes = new ArrayList<>(chunk.size());
+        for (BookingStatusUpdateRequestDTO request : chunk) {
+            BookingTransitionRow row = rows.get(request.bookingId());
+            if (row == null) {
+                outcomes.add(BulkWriter.Outcome.failed("Booking not found with id: " + request.bookingId()));
+                continue;
+            }
+            try {
+                LoadStatusValidator.validateBookingTransition(
+                        statuses.getOrDefault(row.bookingId(), row.status()), request.status());
+            } catch (InvalidStatusTransitionException ex) {
+                outcomes.add(BulkWriter.Outcome.failed(ex.getMessage()));
+                continue;
+            }
+            statuses.put(row.bookingId(), request.status());
+            outcomes.add(BulkWriter.Outcome.ok(new BookingResponseDTO(row.bookingId(), row.loadId(), row.bidId(),
+                    row.transporterId(), row.allocatedTrucks(), row.finalRate(), request.status(), row.bookedAt(),
+                    null)));
+        }
+        if (statuses.isEmpty()) {
+            return outcomes;
+        }
+
+        Map<BookingStatus, Map<BookingStatus, List<UUID>>> moves = new EnumMap<>(BookingStatus.class);
+        Set<UUID> loadIds = new HashSet<>();
+        List<BookingWindowRow> completed = new ArrayList<>();
+        statuses.forEach((bookingId, status) -> {
+            BookingTransitionRow row = rows.get(bookingId);
+            moves.computeIfAbsent(status, to -> new EnumMap<>(BookingStatus.class))
+                    .computeIfAbsent(row.status(), from -> new ArrayList<>())
+                    .add(bookingId);
+            loadIds.add(row.loadId());
+            if (status == BookingStatus.COMPLETED) {
+                completed.add(new BookingWindowRow(row.transporterId(), row.truckType(), row.pickupDate(),
+                        row.deliveryDate(), row.allocatedTrucks()));
+            }
+        });
+        moves.forEach((to, byFrom) -> byFrom.forEach((from, bookingIds) -> {
+            if (bookingRepository.transitionStatuses(bookingIds, from, to) != bookingIds.size()) {
+                throw new InvalidStatusTransitionException("Booking status was changed by another transaction.");
+            }
+        }));
+
+        int inTransit = loadRepository.startTransit(loadIds);
+        int delivered = loadRepository.completeDelivered(loadIds);
+        truckCapacity.releaseRemaining(completed);
+
+        Map<UUID, BookingStatus> loadStatuses = new HashMap<>();
+        if (inTransit > 0) {
+            loadRepository.findIdsByIdInAndStatus(loadIds, BookingStatus.IN_TRANSIT)
+                    .forEach(loadId -> loadStatuses.put(loadId, BookingStatus.IN_TRANSIT));
+        }
+        if (delivered > 0) {
+            loadRepository.findIdsByIdInAndStatus(loadIds, BookingStatus.COMPLETED)
+                    .forEach(loadId -> loadStatuses.put(loadId, BookingStatus.COMPLETED));
         }
+        Map<UUID, BookingStatus> before = rows.values().stream().collect(Collectors.toMap(
+                BookingTransitionRow::loadId, BookingTransitionRow::loadStatus, (a, b) -> a));
+        loadStatuses.forEach((loadId, status) -> {
+            if (before.get(loadId) != status) {
+                eventPublisher.publishEvent(new LoadStatusChangedEvent(loadId, status));
+            }
+        });
+        return outcomes;
     }
 
     @Override
@@ -154,51 +619,68 @@ public class BookingServiceImpl implements BookingService {
                 booking.getAllocatedTrucks(),
                 booking.getFinalRate(),
                 booking.getStatus(),
-                booking.getBookedAt()
+                booking.getBookedAt(),
+                null
         );
     }
 
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
+    public CursorPageResponseDTO<BookingResponseDTO> scrollBookings(BookingSearchCriteria criteria, String cursor,
+                                                                    int size) {
+        ScrollPosition position = KeysetCursor.toScrollPosition(cursor, "bookedAt", "bookingId");
+        Window<BookingResponseDTO> bookings = bookingRepository.scroll(criteria, position,
+                Limit.of(Math.clamp(size, 1, MAX_SCROLL_SIZE)));
+
+        List<BookingResponseDTO> content = bookings.getContent();
+        String nextCursor = null;
+        if (bookings.hasNext() && !content.isEmpty()) {
+            BookingResponseDTO last = content.get(content.size() - 1);
+            nextCursor = new KeysetCursor(last.bookedAt(), last.bookingId()).encode();
+        }
+
+        return new CursorPageResponseDTO<>(content, content.size(), bookings.hasNext(), nextCursor);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public UUID getLoadId(UUID bookingId) {
+        return bookingRepository.findLoadIdByBookingId(bookingId)
+                .orElseThrow(() -> new ResourceNotFoundException("Booking not found with id: " + bookingId));
+    }
+
+    @Override
     public BookingResponseDTO cancelBooking(UUID bookingId) {
+        return conflictRetrier.execute("cancelBooking", null, () -> cancel(bookingId));
+    }
+
+    private BookingResponseDTO cancel(UUID bookingId) {
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new ResourceNotFoundException("Booking not found with id: " + bookingId));
 
         Load load = booking.getLoad();
         Bid bid = booking.getBid();
 
-        List<Truck> trucks = truckRepository.findByTransporterTransporterId(booking.getTransporter().getTransporterId());
-        for (Truck truck : trucks) {
-            if (truck.getTruckType().equals(bid.getTruckType())) {
-                Integer currentCount = truck.getCount();
-                int available = currentCount != null ? currentCount : 0;
-                truck.setCount(available + booking.getAllocatedTrucks());
-                truckRepository.save(truck);
-                break;
-            }
+        if (bookingRepository.transitionStatus(bookingId, BookingStatus.CONFIRMED, BookingStatus.CANCELLED) == 0) {
+            throw new InvalidStatusTransitionException("Booking is " + booking.getStatus() + " and cannot be cancelled");
         }
 
-        boolean wasBooked = load.getStatus() == BookingStatus.BOOKED;
-        load.setRemainingTrucks(load.getRemainingTrucks() + booking.getAllocatedTrucks());
-
-        if (wasBooked && load.getRemainingTrucks().equals(load.getTrucksRequired())) {
-            load.setStatus(BookingStatus.OPEN_FOR_BIDS);
-        }
+        loadRepository.releaseTrucks(load.getId(), booking.getAllocatedTrucks());
+        truckCapacity.release(booking.getTransporter().getTransporterId(), bid.getTruckType(), load.getPickupDate(),
+                load.getDeliveryDate(), booking.getAllocatedTrucks());
 
-        loadRepository.save(load);
-
-        booking.setStatus(BookingStatus.CANCELLED);
-        Booking savedBooking = bookingRepository.save(booking);
+        eventPublisher.publishEvent(new LoadStatusChangedEvent(load.getId(), loadRepository.findStatusById(load.getId())));
 
         return new BookingResponseDTO(
-                savedBooking.getBookingId(),
-                savedBooking.getLoad().getId(),
-                savedBooking.getBid().getBidId(),
-                savedBooking.getTransporter().getTransporterId(),
-                savedBooking.getAllocatedTrucks(),
-                savedBooking.getFinalRate(),
-                savedBooking.getStatus(),
-                savedBooking.getBookedAt()
+                booking.getBookingId(),
+                load.getId(),
+                bid.getBidId(),
+                booking.getTransporter().getTransporterId(),
+                booking.getAllocatedTrucks(),
+                booking.getFinalRate(),
+                BookingStatus.CANCELLED,
+                booking.getBookedAt(),
+                null
         );
     }
 }
@@ -2,75 +2,109 @@ package com.harsha.tms.service.impl;
 
 import java.time.Clock;
 import java.time.LocalDateTime;
-import java.util.Comparator;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.harsha.tms.dto.request.LoadRequestDTO;
 import com.harsha.tms.dto.response.BidResponseDTO;
+import com.harsha.tms.dto.response.BulkResponseDTO;
+import com.harsha.tms.dto.response.CapableTransporterResponseDTO;
+import com.harsha.tms.dto.response.CursorPageResponseDTO;
 import com.harsha.tms.dto.response.LoadResponseDTO;
 import com.harsha.tms.entity.Bid;
+import com.harsha.tms.entity.BidStatus;
 import com.harsha.tms.entity.BookingStatus;
 import com.harsha.tms.entity.Load;
+import com.harsha.tms.event.BidsRejectedEvent;
+import com.harsha.tms.event.LoadPostedEvent;
+import com.harsha.tms.event.LoadStatusChangedEvent;
 import com.harsha.tms.exception.ResourceNotFoundException;
 import com.harsha.tms.repository.BidRepository;
+import com.harsha.tms.repository.BookingRepository;
 import com.harsha.tms.repository.LoadRepository;
+import com.harsha.tms.repository.TransporterCapacityRow;
+import com.harsha.tms.repository.TruckAllocationRow;
+import com.harsha.tms.repository.TruckRepository;
+import com.harsha.tms.service.BidLeaderboard;
+import com.harsha.tms.service.BidRanking;
+import com.harsha.tms.service.BidScorer;
+import com.harsha.tms.service.BidScorerRegistry;
+import com.harsha.tms.service.BulkWriter;
+import com.harsha.tms.service.KeysetCursor;
+import com.harsha.tms.service.LoadAction;
 import com.harsha.tms.service.LoadStatusValidator;
+import com.harsha.tms.service.RatingCursor;
 import com.harsha.tms.service.ScoreWeights;
+import com.harsha.tms.service.TruckCapacity;
+import com.harsha.tms.service.WeightedBidScorer;
 
 @Service
 public class LoadServiceImpl implements com.harsha.tms.service.LoadService {
 
+    private static final int MAX_SCROLL_SIZE = 100;
+
+    private static final Sort KEYSET_SORT = Sort.by(Sort.Order.desc("datePosted"), Sort.Order.desc("id"));
+
     private final LoadRepository loadRepository;
     private final BidRepository bidRepository;
+    private final BookingRepository bookingRepository;
+    private final TruckRepository truckRepository;
+    private final TruckCapacity truckCapacity;
+    private final BidLeaderboard bidLeaderboard;
+    private final BidScorerRegistry bidScorerRegistry;
+    private final BulkWriter bulkWriter;
+    private final ApplicationEventPublisher eventPublisher;
     private final Clock clock;
+    private final boolean pushDownRanking;
 
-    public LoadServiceImpl(LoadRepository loadRepository, BidRepository bidRepository, Clock clock) {
+    public LoadServiceImpl(LoadRepository loadRepository, BidRepository bidRepository,
+                           BookingRepository bookingRepository, TruckRepository truckRepository,
+                           TruckCapacity truckCapacity,
+                           BidLeaderboard bidLeaderboard, BidScorerRegistry bidScorerRegistry,
+                           BulkWriter bulkWriter, ApplicationEventPublisher eventPublisher, Clock clock,
+                           @Value("${tms.best-bids.push-down:true}") boolean pushDownRanking) {
         this.loadRepository = loadRepository;
         this.bidRepository = bidRepository;
+        this.bookingRepository = bookingRepository;
+        this.truckRepository = truckRepository;
+        this.truckCapacity = truckCapacity;
+        this.bidLeaderboard = bidLeaderboard;
+        this.bidScorerRegistry = bidScorerRegistry;
+        this.bulkWriter = bulkWriter;
+        this.eventPublisher = eventPublisher;
         this.clock = clock;
+        this.pushDownRanking = pushDownRanking;
     }
 
     @Override
     @Transactional
     public LoadResponseDTO createLoad(LoadRequestDTO request) {
-        Load load = new Load();
-        load.setShipperId(request.shipperId());
-        load.setPickupLocation(request.pickupLocation());
-        load.setDeliveryLocation(request.deliveryLocation());
-        load.setWeight(request.weight());
-        load.setWeightUnit(request.weightUnit());
-        load.setCargoType(request.cargoType());
-        load.setPickupDate(request.pickupDate());
-        load.setDeliveryDate(request.deliveryDate());
-        load.setOfferedPrice(request.offeredPrice());
-        load.setTrucksRequired(request.trucksRequired());
-        load.setRemainingTrucks(request.trucksRequired());
-        load.setStatus(BookingStatus.POSTED);
-        load.setDatePosted(LocalDateTime.now(clock));
-        
-        Load savedLoad = loadRepository.save(load);
-        
-        return new LoadResponseDTO(
-                savedLoad.getId(),
-                savedLoad.getShipperId(),
-                savedLoad.getPickupLocation(),
-                savedLoad.getDeliveryLocation(),
-                savedLoad.getWeight(),
-                savedLoad.getWeightUnit(),
-                savedLoad.getCargoType(),
-                savedLoad.getPickupDate(),
-                savedLoad.getDeliveryDate(),
-                savedLoad.getOfferedPrice(),
-                savedLoad.getTrucksRequired(),
-                savedLoad.getRemainingTrucks(),
-                savedLoad.getStatus(),
-                savedLoad.getDatePosted()
-        );
+        Load savedLoad = loadRepository.save(toLoad(request, LocalDateTime.now(clock)));
+        return publishPosted(savedLoad);
+    }
+
+    @Override
+    public BulkResponseDTO<LoadResponseDTO> createLoads(List<LoadRequestDTO> requests) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        return bulkWriter.write(requests, chunk -> loadRepository.saveAll(
+                        chunk.stream().map(request -> toLoad(request, now)).toList())
+                .stream()
+                .map(saved -> BulkWriter.Outcome.ok(publishPosted(saved)))
+                .toList());
     }
 
     @Override
@@ -78,51 +112,54 @@ public class LoadServiceImpl implements com.harsha.tms.service.LoadService {
     public LoadResponseDTO getLoadById(java.util.UUID loadId) {
         Load load = loadRepository.findById(loadId)
                 .orElseThrow(() -> new ResourceNotFoundException("Load not found with id: " + loadId));
-        
-        return new LoadResponseDTO(
-                load.getId(),
-                load.getShipperId(),
-                load.getPickupLocation(),
-                load.getDeliveryLocation(),
-                load.getWeight(),
-                load.getWeightUnit(),
-                load.getCargoType(),
-                load.getPickupDate(),
-                load.getDeliveryDate(),
-                load.getOfferedPrice(),
-                load.getTrucksRequired(),
-                load.getRemainingTrucks(),
-                load.getStatus(),
-                load.getDatePosted()
-        );
+
+        return toLoadResponseDTO(load);
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<LoadResponseDTO> listLoads(java.util.UUID shipperId, BookingStatus status, Pageable pageable) {
-        List<Load> loads;
+        Page<LoadResponseDTO> loads;
         
         if (shipperId != null && status != null) {
-            loads = loadRepository.findByShipperIdAndStatus(shipperId, status);
+            loads = loadRepository.findByShipperIdAndStatus(shipperId, status, pageable);
         } else if (shipperId != null) {
-            loads = loadRepository.findByShipperId(shipperId);
+            loads = loadRepository.findByShipperId(shipperId, pageable);
         } else if (status != null) {
-            loads = loadRepository.findByStatus(status);
+            loads = loadRepository.findByStatus(status, pageable);
         } else {
-            return loadRepository.findAll(pageable).map(this::toLoadResponseDTO);
+            loads = loadRepository.findAllBy(pageable);
         }
         
-        int start = (int) pageable.getOffset();
-        int end = Math.min((start + pageable.getPageSize()), loads.size());
-        List<LoadResponseDTO> pageContent = loads.subList(start, end).stream()
-                .map(this::toLoadResponseDTO)
-                .toList();
-        
-        return new org.springframework.data.domain.PageImpl<>(
-                pageContent,
-                pageable,
-                loads.size()
-        );
+        return loads;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponseDTO<LoadResponseDTO> scrollLoads(java.util.UUID shipperId, BookingStatus status,
+                                                              String cursor, int size) {
+        ScrollPosition position = KeysetCursor.toScrollPosition(cursor, "datePosted", "id");
+        Limit limit = Limit.of(Math.clamp(size, 1, MAX_SCROLL_SIZE));
+        Window<LoadResponseDTO> loads;
+
+        if (shipperId != null && status != null) {
+            loads = loadRepository.findByShipperIdAndStatus(shipperId, status, position, limit, KEYSET_SORT);
+        } else if (shipperId != null) {
+            loads = loadRepository.findByShipperId(shipperId, position, limit, KEYSET_SORT);
+        } else if (status != null) {
+            loads = loadRepository.findByStatus(status, position, limit, KEYSET_SORT);
+        } else {
+            loads = loadRepository.findAllBy(position, limit, KEYSET_SORT);
+        }
+
+        List<LoadResponseDTO> content = loads.getContent();
+        String nextCursor = null;
+        if (loads.hasNext() && !content.isEmpty()) {
+            LoadResponseDTO last = content.get(content.size() - 1);
+            nextCursor = new KeysetCursor(last.datePosted(), last.id()).encode();
+        }
+
+        return new CursorPageResponseDTO<>(content, content.size(), loads.hasNext(), nextCursor);
     }
 
     @Override
@@ -131,10 +168,25 @@ public class LoadServiceImpl implements com.harsha.tms.service.LoadService {
         Load load = loadRepository.findById(loadId)
                 .orElseThrow(() -> new ResourceNotFoundException("Load not found with id: " + loadId));
         
-        LoadStatusValidator.validateStatusTransition(load.getStatus(), "CANCEL");
-        
+        LoadStatusValidator.validateStatusTransition(load.getStatus(), LoadAction.CANCEL);
+
+        // A fixed number of set-based statements however many bids and bookings the load has. Bids are
+        // taken before the load as in createBooking. The trucks the bookings held over the load's window
+        // are freed in memory on commit.
+        int rejectedBids = bidRepository.transitionStatusByLoadId(loadId, BidStatus.PENDING, BidStatus.REJECTED);
+        List<TruckAllocationRow> allocations =
+                bookingRepository.sumAllocatedTrucksByLoadId(loadId, BookingStatus.CONFIRMED);
+        bookingRepository.transitionStatusByLoadId(loadId, BookingStatus.CONFIRMED, BookingStatus.CANCELLED);
+
+        allocations.forEach(allocation -> truckCapacity.release(allocation.transporterId(), allocation.truckType(),
+                load.getPickupDate(), load.getDeliveryDate(), allocation.trucks().intValue()));
+
         load.setStatus(BookingStatus.CANCELLED);
         Load savedLoad = loadRepository.save(load);
+        if (rejectedBids > 0) {
+            eventPublisher.publishEvent(new BidsRejectedEvent(loadId, rejectedBids));
+        }
+        eventPublisher.publishEvent(new LoadStatusChangedEvent(savedLoad.getId(), savedLoad.getStatus()));
         
         return new LoadResponseDTO(
                 savedLoad.getId(),
@@ -150,42 +202,125 @@ public class LoadServiceImpl implements com.harsha.tms.service.LoadService {
                 savedLoad.getTrucksRequired(),
                 savedLoad.getRemainingTrucks(),
                 savedLoad.getStatus(),
-                savedLoad.getDatePosted()
+                savedLoad.getDatePosted(),
+                savedLoad.getAuctionClosesAt()
         );
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<BidResponseDTO> getBestBids(java.util.UUID loadId) {
-        loadRepository.findById(loadId)
+    public List<BidResponseDTO> getBestBids(java.util.UUID loadId, Integer limit, Double minScore) {
+        int k = limit != null ? Math.max(limit, 1) : Integer.MAX_VALUE;
+        double scoreFloor = minScore != null ? minScore : -Double.MAX_VALUE;
+
+        Optional<List<BidResponseDTO>> cached = bidLeaderboard.top(loadId, k, scoreFloor);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+
+        Load load = loadRepository.findById(loadId)
                 .orElseThrow(() -> new ResourceNotFoundException("Load not found with id: " + loadId));
-        
-        List<Bid> bids = bidRepository.findByLoad_Id(loadId);
-        
+
+        BidScorer scorer = bidScorerRegistry.scorerFor(load.getShipperId());
+
+        if (BidLeaderboard.tracks(load.getStatus())) {
+            Optional<List<BidResponseDTO>> ranked = bidLeaderboard.loadAndTop(loadId, load.getShipperId(),
+                    () -> bidRepository.findWithTransporterByLoad_Id(loadId).stream()
+                            .map(bid -> new BidLeaderboard.RankedBid(toBidResponseDTO(bid),
+                                    BidRanking.score(scorer, bid, load)))
+                            .toList(),
+                    k, scoreFloor);
+            // A load closed after its status was read may have been evicted before the board was built
+            if (!BidLeaderboard.tracks(loadRepository.findStatusById(loadId))) {
+                bidLeaderboard.evict(loadId);
+            }
+            if (ranked.isPresent()) {
+                return ranked.get();
+            }
+        }
+
+        List<Bid> bids;
+
+        if (pushDownRanking && scorer instanceof WeightedBidScorer weighted && weighted.isPriceAndRatingOnly()) {
+            bids = bidRepository.findTopScoredByLoadId(loadId,
+                    weighted.priceWeight(), weighted.ratingWeight(), ScoreWeights.MAX_RATING,
+                    scoreFloor, limit != null ? Limit.of(k) : Limit.unlimited());
+        } else {
+            List<Bid> candidates = bidRepository.findWithTransporterByLoad_Id(loadId);
+            bids = BidRanking.topK(candidates, bid -> BidRanking.score(scorer, bid, load),
+                    Math.min(k, candidates.size()), scoreFloor);
+        }
+
         return bids.stream()
-                .map(bid -> {
-                    Double ratingObj = bid.getTransporter().getRating();
-                    double rating = ratingObj != null ? ratingObj : 0.0;
-                    Double proposedRateObj = bid.getProposedRate();
-                    double proposedRate = proposedRateObj != null ? proposedRateObj : Double.MAX_VALUE;
-                    double score = ScoreWeights.PRICE_WEIGHT * (1.0 / proposedRate) + 
-                                   ScoreWeights.RATING_WEIGHT * (rating / ScoreWeights.MAX_RATING);
-                    return new BidWithScore(bid, score);
-                })
-                .sorted(Comparator.comparingDouble(BidWithScore::score).reversed())
-                .map(bidWithScore -> new BidResponseDTO(
-                        bidWithScore.bid().getBidId(),
-                        bidWithScore.bid().getLoad().getId(),
-                        bidWithScore.bid().getTransporter().getTransporterId(),
-                        bidWithScore.bid().getProposedRate(),
-                        bidWithScore.bid().getTrucksOffered(),
-                        bidWithScore.bid().getTruckType(),
-                        bidWithScore.bid().getStatus(),
-                        bidWithScore.bid().getSubmittedAt()
-                ))
+                .map(this::toBidResponseDTO)
                 .toList();
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponseDTO<CapableTransporterResponseDTO> getCapableTransporters(java.util.UUID loadId,
+                                                                                       String truckType,
+                                                                                       Integer minTrucks,
+                                                                                       String cursor, int size) {
+        Load load = loadRepository.findById(loadId)
+                .orElseThrow(() -> new ResourceNotFoundException("Load not found with id: " + loadId));
+        RatingCursor position = RatingCursor.decode(cursor);
+        int needed = Math.max(minTrucks != null ? minTrucks : load.getRemainingTrucks(), 1);
+        int pageSize = Math.clamp(size, 1, MAX_SCROLL_SIZE);
+
+        // The database ranks owners of enough trucks by their fleet; the calendar then drops those whose
+        // trucks are held over the load's window. Rows are streamed, so only as many are read as it takes
+        // to fill the page.
+        List<CapableTransporterResponseDTO> content = new ArrayList<>(pageSize + 1);
+        try (Stream<TransporterCapacityRow> rows = truckRepository.streamByTruckTypeRankedByRating(truckType, needed,
+                position.rating(), position.id())) {
+            Iterator<TransporterCapacityRow> iterator = rows.iterator();
+            while (content.size() <= pageSize && iterator.hasNext()) {
+                TransporterCapacityRow row = iterator.next();
+                int available = truckCapacity.available(row.transporterId(), truckType, load.getPickupDate(),
+                        load.getDeliveryDate());
+                if (available >= needed) {
+                    content.add(new CapableTransporterResponseDTO(row.transporterId(), row.companyName(),
+                            row.rating(), truckType, Math.toIntExact(row.fleet()), available));
+                }
+            }
+        }
+
+        boolean hasNext = content.size() > pageSize;
+        String nextCursor = null;
+        if (hasNext) {
+            content = content.subList(0, pageSize);
+            CapableTransporterResponseDTO last = content.get(pageSize - 1);
+            nextCursor = new RatingCursor(last.rating(), last.transporterId()).encode();
+        }
+        return new CursorPageResponseDTO<>(content, content.size(), hasNext, nextCursor);
+    }
     
+    private Load toLoad(LoadRequestDTO request, LocalDateTime datePosted) {
+        Load load = new Load();
+        load.setShipperId(request.shipperId());
+        load.setPickupLocation(request.pickupLocation());
+        load.setDeliveryLocation(request.deliveryLocation());
+        load.setWeight(request.weight());
+        load.setWeightUnit(request.weightUnit());
+        load.setCargoType(request.cargoType());
+        load.setPickupDate(request.pickupDate());
+        load.setDeliveryDate(request.deliveryDate());
+        load.setOfferedPrice(request.offeredPrice());
+        load.setTrucksRequired(request.trucksRequired());
+        load.setRemainingTrucks(request.trucksRequired());
+        load.setStatus(BookingStatus.POSTED);
+        load.setDatePosted(datePosted);
+        load.setAuctionClosesAt(request.auctionClosesAt());
+        return load;
+    }
+
+    private LoadResponseDTO publishPosted(Load savedLoad) {
+        eventPublisher.publishEvent(new LoadPostedEvent(savedLoad.getId(), savedLoad.getPickupDate(),
+                savedLoad.getDeliveryDate(), savedLoad.getAuctionClosesAt()));
+        return toLoadResponseDTO(savedLoad);
+    }
+
     private LoadResponseDTO toLoadResponseDTO(Load load) {
         return new LoadResponseDTO(
                 load.getId(),
@@ -201,9 +336,21 @@ public class LoadServiceImpl implements com.harsha.tms.service.LoadService {
                 load.getTrucksRequired(),
                 load.getRemainingTrucks(),
                 load.getStatus(),
-                load.getDatePosted()
+                load.getDatePosted(),
+                load.getAuctionClosesAt()
+        );
+    }
+
+    private BidResponseDTO toBidResponseDTO(Bid bid) {
+        return new BidResponseDTO(
+                bid.getBidId(),
+                bid.getLoad().getId(),
+                bid.getTransporter().getTransporterId(),
+                bid.getProposedRate(),
+                bid.getTrucksOffered(),
+                bid.getTruckType(),
+                bid.getStatus(),
+                bid.getSubmittedAt()
         );
     }
-    
-    private record BidWithScore(Bid bid, double score) {}
 }
@@ -0,0 +1,93 @@
+package com.harsha.tms.service.impl;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.harsha.tms.dto.request.ScoringPolicyRequestDTO;
+import com.harsha.tms.dto.response.RescoreResponseDTO;
+import com.harsha.tms.dto.response.ScoringPolicyResponseDTO;
+import com.harsha.tms.entity.BidScoringPolicy;
+import com.harsha.tms.event.ScoringPolicyChangedEvent;
+import com.harsha.tms.repository.BidScoringPolicyRepository;
+import com.harsha.tms.service.BidRescoringJob;
+import com.harsha.tms.service.ScoreWeights;
+import com.harsha.tms.service.ScoringPolicyService;
+
+@Service
+public class ScoringPolicyServiceImpl implements ScoringPolicyService {
+
+    private final BidScoringPolicyRepository policyRepository;
+    private final BidRescoringJob bidRescoringJob;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Clock clock;
+
+    public ScoringPolicyServiceImpl(BidScoringPolicyRepository policyRepository, BidRescoringJob bidRescoringJob,
+                                    ApplicationEventPublisher eventPublisher, Clock clock) {
+        this.policyRepository = policyRepository;
+        this.bidRescoringJob = bidRescoringJob;
+        this.eventPublisher = eventPublisher;
+        this.clock = clock;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ScoringPolicyResponseDTO getPolicy(UUID shipperId) {
+        return policyRepository.findByShipperId(shipperId)
+                .map(this::toScoringPolicyResponseDTO)
+                .orElseGet(() -> new ScoringPolicyResponseDTO(
+                        shipperId,
+                        ScoreWeights.PRICE_WEIGHT,
+                        ScoreWeights.RATING_WEIGHT,
+                        0.0,
+                        0.0,
+                        0,
+                        null
+                ));
+    }
+
+    @Override
+    @Transactional
+    public ScoringPolicyResponseDTO updatePolicy(UUID shipperId, ScoringPolicyRequestDTO request) {
+        BidScoringPolicy policy = policyRepository.findByShipperId(shipperId)
+                .orElseGet(() -> {
+                    BidScoringPolicy created = new BidScoringPolicy();
+                    created.setShipperId(shipperId);
+                    return created;
+                });
+
+        policy.setPriceWeight(request.priceWeight());
+        policy.setRatingWeight(request.ratingWeight());
+        policy.setCoverageWeight(request.coverageWeight());
+        policy.setAgeWeight(request.ageWeight());
+        policy.setUpdatedAt(LocalDateTime.now(clock));
+
+        BidScoringPolicy savedPolicy = policyRepository.saveAndFlush(policy);
+
+        ScoringPolicyResponseDTO response = toScoringPolicyResponseDTO(savedPolicy);
+        eventPublisher.publishEvent(new ScoringPolicyChangedEvent(response));
+        return response;
+    }
+
+    // Not transactional: the job reads its snapshot in a transaction of its own
+    @Override
+    public RescoreResponseDTO rescore(UUID shipperId) {
+        return bidRescoringJob.rescore(shipperId);
+    }
+
+    private ScoringPolicyResponseDTO toScoringPolicyResponseDTO(BidScoringPolicy policy) {
+        return new ScoringPolicyResponseDTO(
+                policy.getShipperId(),
+                policy.getPriceWeight(),
+                policy.getRatingWeight(),
+                policy.getCoverageWeight(),
+                policy.getAgeWeight(),
+                policy.getVersion(),
+                policy.getUpdatedAt()
+        );
+    }
+}
@@ -1,6 +1,12 @@
 package com.harsha.tms.service.impl;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
 
 import org.springframework.stereotype.Service;
@@ -9,22 +15,28 @@ import org.springframework.transaction.annotation.Transactional;
 import com.harsha.tms.dto.request.TransporterRequestDTO;
 import com.harsha.tms.dto.request.UpdateTrucksRequestDTO;
 import com.harsha.tms.dto.response.TransporterResponseDTO;
+import com.harsha.tms.dto.response.TruckAvailabilityResponseDTO;
+import com.harsha.tms.dto.response.TruckResponseDTO;
 import com.harsha.tms.entity.Transporter;
 import com.harsha.tms.entity.Truck;
 import com.harsha.tms.exception.ResourceNotFoundException;
 import com.harsha.tms.repository.TransporterRepository;
 import com.harsha.tms.repository.TruckRepository;
 import com.harsha.tms.service.TransporterService;
+import com.harsha.tms.service.TruckCapacity;
 
 @Service
 public class TransporterServiceImpl implements TransporterService {
 
     private final TransporterRepository transporterRepository;
     private final TruckRepository truckRepository;
+    private final TruckCapacity truckCapacity;
 
-    public TransporterServiceImpl(TransporterRepository transporterRepository, TruckRepository truckRepository) {
+    public TransporterServiceImpl(TransporterRepository transporterRepository, TruckRepository truckRepository,
+                                  TruckCapacity truckCapacity) {
         this.transporterRepository = transporterRepository;
         this.truckRepository = truckRepository;
+        this.truckCapacity = truckCapacity;
     }
 
     @Override
@@ -38,11 +50,13 @@ public class TransporterServiceImpl implements TransporterService {
         return new TransporterResponseDTO(
                 savedTransporter.getTransporterId(),
                 savedTransporter.getCompanyName(),
-                savedTransporter.getRating()
+                savedTransporter.getRating(),
+                List.of()
         );
     }
 
     @Override
+    @Transactional(readOnly = true)
     public TransporterResponseDTO getTransporterById(UUID transporterId) {
         Transporter transporter = transporterRepository.findById(transporterId)
                 .orElseThrow(() -> new ResourceNotFoundException("Transporter not found with id: " + transporterId));
@@ -50,31 +64,84 @@ public class TransporterServiceImpl implements TransporterService {
         return new TransporterResponseDTO(
                 transporter.getTransporterId(),
                 transporter.getCompanyName(),
-                transporter.getRating()
+                transporter.getRating(),
+                toTruckResponseDTOs(truckRepository.findByTransporterTransporterId(transporterId))
         );
     }
 
     @Override
     @Transactional
     public TransporterResponseDTO updateTrucks(UUID transporterId, UpdateTrucksRequestDTO request) {
-        Transporter transporter = transporterRepository.findById(transporterId)
+        // Serializes syncs of the same fleet so two of them cannot both insert a new truck type
+        Transporter transporter = transporterRepository.findByIdForUpdate(transporterId)
                 .orElseThrow(() -> new ResourceNotFoundException("Transporter not found with id: " + transporterId));
 
-        List<Truck> existingTrucks = truckRepository.findByTransporterTransporterId(transporterId);
-        truckRepository.deleteAll(existingTrucks);
-
+        Map<String, Integer> requested = new LinkedHashMap<>();
         for (UpdateTrucksRequestDTO.TruckDTO truckDTO : request.trucks()) {
-            Truck truck = new Truck();
-            truck.setTruckType(truckDTO.truckType());
-            truck.setCount(truckDTO.count());
-            truck.setTransporter(transporter);
-            truckRepository.save(truck);
+            requested.merge(truckDTO.truckType(), Objects.requireNonNullElse(truckDTO.count(), 0), Integer::sum);
+        }
+
+        // Only rows whose count changes are updated, by dirty checking at flush; a type listed on several
+        // rows keeps its lowest-id row, taken as the first the database returns since it orders UUIDs
+        // differently from UUID.compareTo
+        List<Truck> existingTrucks = truckRepository.findByTransporterTransporterIdOrderById(transporterId);
+        Map<String, Truck> kept = new LinkedHashMap<>();
+        List<Truck> removed = new ArrayList<>();
+        for (Truck truck : existingTrucks) {
+            Integer count = requested.get(truck.getTruckType());
+            if (count == null || kept.putIfAbsent(truck.getTruckType(), truck) != null) {
+                removed.add(truck);
+            } else if (!count.equals(truck.getCount())) {
+                truck.setCount(count);
+            }
+        }
+
+        List<Truck> added = new ArrayList<>();
+        requested.forEach((truckType, count) -> {
+            if (!kept.containsKey(truckType)) {
+                Truck truck = new Truck();
+                truck.setTruckType(truckType);
+                truck.setCount(count);
+                truck.setTransporter(transporter);
+                added.add(truck);
+            }
+        });
+
+        if (!removed.isEmpty()) {
+            truckRepository.deleteAllInBatch(removed);
+        }
+        List<Truck> trucks = new ArrayList<>(kept.values());
+        if (!added.isEmpty()) {
+            trucks.addAll(truckRepository.saveAll(added));
         }
+        // Kept rows are still in id order and each added type has a single row
+        truckCapacity.replace(transporterId, trucks);
 
         return new TransporterResponseDTO(
                 transporter.getTransporterId(),
                 transporter.getCompanyName(),
-                transporter.getRating()
+                transporter.getRating(),
+                toTruckResponseDTOs(trucks)
         );
     }
+
+    @Override
+    public TruckAvailabilityResponseDTO getAvailability(UUID transporterId, String truckType, LocalDateTime from,
+                                                        LocalDateTime to) {
+        if (!transporterRepository.existsById(transporterId)) {
+            throw new ResourceNotFoundException("Transporter not found with id: " + transporterId);
+        }
+
+        int fleet = truckCapacity.fleet(transporterId, truckType);
+        int booked = truckCapacity.booked(transporterId, truckType, from, to);
+        return new TruckAvailabilityResponseDTO(transporterId, truckType, from, to, fleet, booked,
+                Math.max(fleet - booked, 0));
+    }
+
+    private static List<TruckResponseDTO> toTruckResponseDTOs(List<Truck> trucks) {
+        return trucks.stream()
+                .sorted(Comparator.comparing(Truck::getTruckType, Comparator.nullsFirst(Comparator.naturalOrder())))
+                .map(truck -> new TruckResponseDTO(truck.getId(), truck.getTruckType(), truck.getCount()))
+                .toList();
+    }
 }
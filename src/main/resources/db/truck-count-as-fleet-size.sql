@@ -0,0 +1,39 @@
+-- One-off correction for deploying the availability calendar (user-019) on PostgreSQL.
+--
+-- Before it, booking took a transporter's trucks off trucks.count, from the lowest-id row of the type,
+-- and a cancellation put them back. Since it, trucks.count is the fleet size and bookings hold trucks
+-- only between pickup and delivery. Rows written under the old scheme are therefore short by the trucks
+-- of their confirmed bookings; this adds them back.
+--
+-- Run once, with every instance stopped, before starting the new version:
+--   psql -d TransportManagementSystem -v ON_ERROR_STOP=1 -f truck-count-as-fleet-size.sql
+-- It runs in one transaction and records itself in applied_corrections, so a second run fails on the
+-- primary key and changes nothing.
+
+BEGIN;
+
+CREATE TABLE IF NOT EXISTS applied_corrections (
+    name       VARCHAR(100) PRIMARY KEY,
+    applied_at TIMESTAMP    NOT NULL DEFAULT now()
+);
+
+INSERT INTO applied_corrections (name) VALUES ('truck-count-as-fleet-size');
+
+WITH held AS (
+    SELECT b.transporter_id, bid.truck_type, SUM(b.allocated_trucks) AS trucks
+    FROM bookings b
+    JOIN bids bid ON bid.bid_id = b.bid_id
+    WHERE b.status = 'CONFIRMED'
+    GROUP BY b.transporter_id, bid.truck_type
+), first_row AS (
+    SELECT DISTINCT ON (t.transporter_id, t.truck_type) t.id, held.trucks
+    FROM trucks t
+    JOIN held ON held.transporter_id = t.transporter_id AND held.truck_type = t.truck_type
+    ORDER BY t.transporter_id, t.truck_type, t.id
+)
+UPDATE trucks t
+SET count = COALESCE(t.count, 0) + first_row.trucks
+FROM first_row
+WHERE t.id = first_row.id;
+
+COMMIT;
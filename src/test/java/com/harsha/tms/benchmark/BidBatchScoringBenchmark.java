@@ -0,0 +1,134 @@
+package com.harsha.tms.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.harsha.tms.entity.Bid;
+import com.harsha.tms.entity.BidStatus;
+import com.harsha.tms.entity.Load;
+import com.harsha.tms.entity.Transporter;
+import com.harsha.tms.repository.BidScoreRow;
+import com.harsha.tms.service.BidColumns;
+import com.harsha.tms.service.BidRanking;
+import com.harsha.tms.service.BidRescoringJob;
+import com.harsha.tms.service.ScoreWeights;
+import com.harsha.tms.service.WeightedBidScorer;
+
+/**
+ * Scores a whole batch of bids: the original per-bid {@link ScoreWeights} formula over entities,
+ * the compiled scorer over entities, and the columnar batch on one thread and on the ForkJoin
+ * pool. Run like {@link BidScorerBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class BidBatchScoringBenchmark {
+
+    @Param("1000000")
+    private int bids;
+
+    private final WeightedBidScorer scorer = new WeightedBidScorer(1000.0, 0.5, 0.2, 0.01);
+    private List<Bid> entities;
+    private Load load;
+    private BidColumns columns;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        LocalDateTime pickupDate = LocalDateTime.of(2024, 1, 5, 10, 0);
+        load = new Load();
+        load.setId(UUID.randomUUID());
+        load.setRemainingTrucks(3);
+        load.setPickupDate(pickupDate);
+
+        List<Transporter> transporters = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            Transporter transporter = new Transporter();
+            transporter.setTransporterId(UUID.randomUUID());
+            transporter.setRating(random.nextDouble(5));
+            transporters.add(transporter);
+        }
+
+        entities = new ArrayList<>(bids);
+        columns = new BidColumns(bids);
+        UUID loadId = null;
+        for (int i = 0; i < bids; i++) {
+            if (i % 50 == 0) {
+                loadId = UUID.randomUUID();
+            }
+            Bid bid = new Bid();
+            bid.setBidId(UUID.randomUUID());
+            bid.setLoad(load);
+            bid.setTransporter(transporters.get(random.nextInt(transporters.size())));
+            bid.setProposedRate(500 + random.nextDouble(9500));
+            bid.setTrucksOffered(1 + random.nextInt(5));
+            bid.setTruckType("Flatbed");
+            bid.setStatus(BidStatus.PENDING);
+            bid.setSubmittedAt(pickupDate.minusMinutes(random.nextInt(10_000)));
+            entities.add(bid);
+
+            columns.append(new BidScoreRow(loadId, bid.getBidId(), bid.getTransporter().getTransporterId(),
+                    bid.getProposedRate(), bid.getTransporter().getRating(), bid.getTrucksOffered(),
+                    bid.getTruckType(), bid.getStatus(), bid.getSubmittedAt(), load.getRemainingTrucks(), pickupDate));
+        }
+    }
+
+    @Benchmark
+    public double[] scalarScoreWeights() {
+        double[] scores = new double[bids];
+        for (int i = 0; i < bids; i++) {
+            Bid bid = entities.get(i);
+            double rating = bid.getTransporter().getRating() != null ? bid.getTransporter().getRating() : 0.0;
+            scores[i] = ScoreWeights.PRICE_WEIGHT / bid.getProposedRate()
+                    + ScoreWeights.RATING_WEIGHT * rating / ScoreWeights.MAX_RATING;
+        }
+        return scores;
+    }
+
+    @Benchmark
+    public double[] scalarCompiledScorer() {
+        double[] scores = new double[bids];
+        for (int i = 0; i < bids; i++) {
+            scores[i] = BidRanking.score(scorer, entities.get(i), load);
+        }
+        return scores;
+    }
+
+    @Benchmark
+    public double[] columnarBatch() {
+        double[] scores = new double[bids];
+        scorer.scoreBatch(columns, scores, 0, bids);
+        return scores;
+    }
+
+    @Benchmark
+    public double[] columnarParallel() {
+        return BidRescoringJob.scoreAll(scorer, columns);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(BidBatchScoringBenchmark.class.getSimpleName()).build()).run();
+    }
+}
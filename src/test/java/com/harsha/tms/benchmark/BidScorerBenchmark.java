@@ -0,0 +1,84 @@
+package com.harsha.tms.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.harsha.tms.entity.Load;
+import com.harsha.tms.service.BidRanking;
+import com.harsha.tms.service.BidScorer;
+import com.harsha.tms.service.WeightedBidScorer;
+
+/**
+ * Per-bid cost of a compiled scoring policy. Run with
+ * {@code mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test
+ * "-Dexec.args=-cp %classpath com.harsha.tms.benchmark.BidScorerBenchmark"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BidScorerBenchmark {
+
+    private static final int BIDS = 1024;
+
+    private final BidScorer scorer = new WeightedBidScorer(1000.0, 0.5, 0.2, 0.01);
+    private final double[] rates = new double[BIDS];
+    private final double[] ratings = new double[BIDS];
+    private final Integer[] trucksOffered = new Integer[BIDS];
+    private final LocalDateTime[] submittedAt = new LocalDateTime[BIDS];
+    private Load load;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        LocalDateTime now = LocalDateTime.of(2024, 1, 1, 10, 0);
+        for (int i = 0; i < BIDS; i++) {
+            rates[i] = 500 + random.nextDouble(9500);
+            ratings[i] = random.nextDouble(5);
+            trucksOffered[i] = 1 + random.nextInt(5);
+            submittedAt[i] = now.minusMinutes(random.nextInt(10_000));
+        }
+        load = new Load();
+        load.setRemainingTrucks(3);
+        load.setPickupDate(now.plusDays(2));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BIDS)
+    public void compiledScorer(Blackhole blackhole) {
+        for (int i = 0; i < BIDS; i++) {
+            blackhole.consume(scorer.score(rates[i], ratings[i], trucksOffered[i], 3, 12.0));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BIDS)
+    public void scoreAgainstLoad(Blackhole blackhole) {
+        for (int i = 0; i < BIDS; i++) {
+            blackhole.consume(BidRanking.score(scorer, rates[i], ratings[i], trucksOffered[i], submittedAt[i], load));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(BidScorerBenchmark.class.getSimpleName()).build()).run();
+    }
+}
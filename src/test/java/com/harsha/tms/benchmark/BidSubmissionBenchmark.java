@@ -0,0 +1,132 @@
+package com.harsha.tms.benchmark;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.harsha.tms.TransportManagementSystemApplication;
+import com.harsha.tms.dto.request.BidRequestDTO;
+import com.harsha.tms.dto.response.BidResponseDTO;
+import com.harsha.tms.entity.Bid;
+import com.harsha.tms.entity.BidStatus;
+import com.harsha.tms.entity.BookingStatus;
+import com.harsha.tms.entity.Load;
+import com.harsha.tms.entity.Transporter;
+import com.harsha.tms.entity.Truck;
+import com.harsha.tms.entity.WeightUnit;
+import com.harsha.tms.repository.BidRepository;
+import com.harsha.tms.repository.LoadRepository;
+import com.harsha.tms.repository.TransporterRepository;
+import com.harsha.tms.repository.TruckRepository;
+import com.harsha.tms.service.BidService;
+
+/**
+ * Latency of {@code submitBid} against a load that already holds {@code existingBids} bids, on
+ * the in-memory H2 test database. Run like {@link BidScorerBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class BidSubmissionBenchmark {
+
+    @Param({"10", "50000"})
+    private int existingBids;
+
+    private ConfigurableApplicationContext context;
+    private BidService bidService;
+    private BidRequestDTO request;
+
+    @Setup
+    public void setUp() {
+        SpringApplication application = new SpringApplication(TransportManagementSystemApplication.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+        context = application.run("--logging.level.root=WARN");
+        bidService = context.getBean(BidService.class);
+
+        Transporter transporter = new Transporter();
+        transporter.setCompanyName("Benchmark Freight");
+        transporter.setRating(4.0);
+        transporter = context.getBean(TransporterRepository.class).save(transporter);
+        List<Truck> trucks = new ArrayList<>();
+        for (String type : List.of("Flatbed", "Reefer", "Tanker", "Container")) {
+            Truck truck = new Truck();
+            truck.setTruckType(type);
+            truck.setCount(10);
+            truck.setTransporter(transporter);
+            trucks.add(truck);
+        }
+        context.getBean(TruckRepository.class).saveAll(trucks);
+
+        LocalDateTime now = LocalDateTime.now();
+        Load load = new Load();
+        load.setShipperId(UUID.randomUUID());
+        load.setPickupLocation("New York");
+        load.setDeliveryLocation("Los Angeles");
+        load.setWeight(BigDecimal.valueOf(1000));
+        load.setWeightUnit(WeightUnit.KG);
+        load.setCargoType("Electronics");
+        load.setPickupDate(now.plusDays(30));
+        load.setDeliveryDate(now.plusDays(33));
+        load.setOfferedPrice(BigDecimal.valueOf(5000));
+        load.setTrucksRequired(2);
+        load.setRemainingTrucks(2);
+        load.setStatus(BookingStatus.OPEN_FOR_BIDS);
+        load.setDatePosted(now);
+        load = context.getBean(LoadRepository.class).save(load);
+
+        List<Bid> bids = new ArrayList<>(existingBids);
+        for (int i = 0; i < existingBids; i++) {
+            Bid bid = new Bid();
+            bid.setLoad(load);
+            bid.setTransporter(transporter);
+            bid.setProposedRate(4000.0 + i);
+            bid.setTrucksOffered(1);
+            bid.setTruckType("Flatbed");
+            bid.setStatus(BidStatus.PENDING);
+            bid.setSubmittedAt(now.minusMinutes(i));
+            bids.add(bid);
+        }
+        context.getBean(BidRepository.class).saveAll(bids);
+
+        request = new BidRequestDTO(load.getId(), transporter.getTransporterId(), 4500.0, 1, "Flatbed");
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public BidResponseDTO submitBid() {
+        return bidService.submitBid(request);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(BidSubmissionBenchmark.class.getSimpleName()).build()).run();
+    }
+}
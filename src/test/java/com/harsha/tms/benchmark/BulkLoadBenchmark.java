@@ -0,0 +1,94 @@
+package com.harsha.tms.benchmark;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.harsha.tms.TransportManagementSystemApplication;
+import com.harsha.tms.dto.request.LoadRequestDTO;
+import com.harsha.tms.dto.response.BulkResponseDTO;
+import com.harsha.tms.dto.response.LoadResponseDTO;
+import com.harsha.tms.entity.WeightUnit;
+import com.harsha.tms.service.LoadService;
+
+/**
+ * Posting a batch of loads one {@code createLoad} call at a time against one {@code createLoads}
+ * call, on the in-memory H2 test database. Run like {@link BidScorerBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class BulkLoadBenchmark {
+
+    @Param("1000")
+    private int loads;
+
+    private ConfigurableApplicationContext context;
+    private LoadService loadService;
+    private List<LoadRequestDTO> requests;
+
+    @Setup
+    public void setUp() {
+        SpringApplication application = new SpringApplication(TransportManagementSystemApplication.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+        context = application.run("--logging.level.root=WARN",
+                "--spring.jpa.properties.hibernate.jdbc.batch_size=20");
+        loadService = context.getBean(LoadService.class);
+
+        UUID shipperId = UUID.randomUUID();
+        LocalDateTime pickupDate = LocalDateTime.now().plusDays(30);
+        requests = new ArrayList<>(loads);
+        for (int i = 0; i < loads; i++) {
+            requests.add(new LoadRequestDTO(shipperId, "New York", "Los Angeles", BigDecimal.valueOf(1000),
+                    WeightUnit.KG, "Electronics", pickupDate, pickupDate.plusDays(3), BigDecimal.valueOf(5000), 2,
+                    null));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void perLoad(Blackhole blackhole) {
+        for (LoadRequestDTO request : requests) {
+            blackhole.consume(loadService.createLoad(request));
+        }
+    }
+
+    @Benchmark
+    public BulkResponseDTO<LoadResponseDTO> bulk() {
+        return loadService.createLoads(requests);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(BulkLoadBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,168 @@
+package com.harsha.tms.benchmark;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import com.harsha.tms.TransportManagementSystemApplication;
+import com.harsha.tms.dto.request.BookingRequestDTO;
+import com.harsha.tms.dto.response.BookingResponseDTO;
+import com.harsha.tms.entity.Bid;
+import com.harsha.tms.entity.BidStatus;
+import com.harsha.tms.entity.BookingStatus;
+import com.harsha.tms.entity.Load;
+import com.harsha.tms.entity.Transporter;
+import com.harsha.tms.entity.Truck;
+import com.harsha.tms.entity.WeightUnit;
+import com.harsha.tms.repository.BidRepository;
+import com.harsha.tms.repository.LoadRepository;
+import com.harsha.tms.repository.TransporterRepository;
+import com.harsha.tms.repository.TruckRepository;
+import com.harsha.tms.service.BookingService;
+import com.harsha.tms.service.LoadCommandExecutor;
+
+/**
+ * Eight callers booking their own pending bids on the same load, routed the way the controllers
+ * route them. {@code lanes=0} runs the commands on the callers' threads. Failed commands are
+ * counted and printed at tear-down. Run like {@link BidScorerBenchmark}; the sample mode reports p99.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class ContendedLoadBenchmark {
+
+    private static final int BIDS_PER_CALLER = 5_000;
+
+    @Param({"0", "64"})
+    private int lanes;
+
+    private ConfigurableApplicationContext context;
+    private BookingService bookingService;
+    private LoadCommandExecutor executor;
+    private UUID loadId;
+
+    private final AtomicLong optimisticLockFailures = new AtomicLong();
+    private final AtomicLong otherFailures = new AtomicLong();
+
+    @State(Scope.Thread)
+    public static class Caller {
+
+        private UUID transporterId;
+        private final Deque<UUID> bidIds = new ArrayDeque<>();
+
+        @Setup
+        public void setUp(ContendedLoadBenchmark benchmark) {
+            Transporter transporter = new Transporter();
+            transporter.setCompanyName("Benchmark Freight");
+            transporter.setRating(4.0);
+            transporter = benchmark.context.getBean(TransporterRepository.class).save(transporter);
+            transporterId = transporter.getTransporterId();
+
+            Truck truck = new Truck();
+            truck.setTransporter(transporter);
+            truck.setTruckType("Flatbed");
+            truck.setCount(Integer.MAX_VALUE);
+            benchmark.context.getBean(TruckRepository.class).save(truck);
+
+            Load load = benchmark.context.getBean(LoadRepository.class).getReferenceById(benchmark.loadId);
+            List<Bid> bids = new ArrayList<>(BIDS_PER_CALLER);
+            for (int i = 0; i < BIDS_PER_CALLER; i++) {
+                Bid bid = new Bid();
+                bid.setLoad(load);
+                bid.setTransporter(transporter);
+                bid.setProposedRate(4000.0);
+                bid.setTrucksOffered(1);
+                bid.setTruckType("Flatbed");
+                bid.setStatus(BidStatus.PENDING);
+                bid.setSubmittedAt(LocalDateTime.now());
+                bids.add(bid);
+            }
+            benchmark.context.getBean(BidRepository.class).saveAll(bids).forEach(bid -> bidIds.add(bid.getBidId()));
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        SpringApplication application = new SpringApplication(TransportManagementSystemApplication.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+        context = application.run("--logging.level.root=WARN", "--tms.commands.lanes=" + lanes);
+        bookingService = context.getBean(BookingService.class);
+        executor = context.getBean(LoadCommandExecutor.class);
+
+        LocalDateTime now = LocalDateTime.now();
+        Load load = new Load();
+        load.setShipperId(UUID.randomUUID());
+        load.setPickupLocation("New York");
+        load.setDeliveryLocation("Los Angeles");
+        load.setWeight(BigDecimal.valueOf(1000));
+        load.setWeightUnit(WeightUnit.KG);
+        load.setCargoType("Electronics");
+        load.setPickupDate(now.plusDays(2));
+        load.setDeliveryDate(now.plusDays(5));
+        load.setOfferedPrice(BigDecimal.valueOf(5000));
+        load.setTrucksRequired(Integer.MAX_VALUE);
+        load.setRemainingTrucks(Integer.MAX_VALUE);
+        load.setStatus(BookingStatus.OPEN_FOR_BIDS);
+        load.setDatePosted(now);
+        loadId = context.getBean(LoadRepository.class).save(load).getId();
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.out.printf("%nlanes=%d optimistic lock failures=%d other failures=%d%n",
+                lanes, optimisticLockFailures.get(), otherFailures.get());
+        context.close();
+    }
+
+    @Benchmark
+    public BookingResponseDTO book(Caller caller) {
+        UUID bidId = caller.bidIds.poll();
+        if (bidId == null) {
+            throw new IllegalStateException("Raise BIDS_PER_CALLER for this run length");
+        }
+        try {
+            return executor.execute(loadId, () -> bookingService.createBooking(
+                    new BookingRequestDTO(loadId, bidId, caller.transporterId, 1, 4000.0)));
+        } catch (ObjectOptimisticLockingFailureException ex) {
+            optimisticLockFailures.incrementAndGet();
+        } catch (RuntimeException ex) {
+            otherFailures.incrementAndGet();
+        }
+        return null;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ContendedLoadBenchmark.class.getSimpleName()).build()).run();
+    }
+}
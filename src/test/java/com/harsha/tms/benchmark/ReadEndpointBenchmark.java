@@ -0,0 +1,150 @@
+package com.harsha.tms.benchmark;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import com.harsha.tms.TransportManagementSystemApplication;
+import com.harsha.tms.dto.request.BidSearchCriteria;
+import com.harsha.tms.dto.response.BidResponseDTO;
+import com.harsha.tms.dto.response.CursorPageResponseDTO;
+import com.harsha.tms.dto.response.LoadResponseDTO;
+import com.harsha.tms.entity.Bid;
+import com.harsha.tms.entity.BidStatus;
+import com.harsha.tms.entity.BookingStatus;
+import com.harsha.tms.entity.Load;
+import com.harsha.tms.entity.Transporter;
+import com.harsha.tms.entity.WeightUnit;
+import com.harsha.tms.repository.BidRepository;
+import com.harsha.tms.repository.LoadRepository;
+import com.harsha.tms.repository.TransporterRepository;
+import com.harsha.tms.service.BidService;
+import com.harsha.tms.service.LoadService;
+
+/**
+ * Service-level cost of the read endpoints against the in-memory H2 test database. Run like
+ * {@link BidScorerBenchmark}, adding {@code -prof gc} to the JMH arguments for allocation per call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReadEndpointBenchmark {
+
+    private static final int LOADS = 2_000;
+    private static final int PAGE_SIZE = 100;
+
+    private ConfigurableApplicationContext context;
+    private LoadService loadService;
+    private BidService bidService;
+    private UUID shipperId;
+    private UUID transporterId;
+    private UUID loadId;
+
+    @Setup
+    public void setUp() {
+        SpringApplication application = new SpringApplication(TransportManagementSystemApplication.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+        context = application.run("--logging.level.root=WARN");
+        loadService = context.getBean(LoadService.class);
+        bidService = context.getBean(BidService.class);
+
+        Transporter transporter = new Transporter();
+        transporter.setCompanyName("Benchmark Freight");
+        transporter.setRating(4.0);
+        transporter = context.getBean(TransporterRepository.class).save(transporter);
+        transporterId = transporter.getTransporterId();
+
+        shipperId = UUID.randomUUID();
+        LocalDateTime now = LocalDateTime.of(2024, 1, 1, 10, 0);
+        List<Load> loads = new ArrayList<>(LOADS);
+        for (int i = 0; i < LOADS; i++) {
+            Load load = new Load();
+            load.setShipperId(shipperId);
+            load.setPickupLocation("New York");
+            load.setDeliveryLocation("Los Angeles");
+            load.setWeight(BigDecimal.valueOf(1000));
+            load.setWeightUnit(WeightUnit.KG);
+            load.setCargoType("Electronics");
+            load.setPickupDate(now.plusDays(2));
+            load.setDeliveryDate(now.plusDays(5));
+            load.setOfferedPrice(BigDecimal.valueOf(5000));
+            load.setTrucksRequired(2);
+            load.setRemainingTrucks(2);
+            load.setStatus(BookingStatus.OPEN_FOR_BIDS);
+            load.setDatePosted(now.minusMinutes(i));
+            loads.add(load);
+        }
+        loads = context.getBean(LoadRepository.class).saveAll(loads);
+        loadId = loads.get(0).getId();
+
+        List<Bid> bids = new ArrayList<>(LOADS);
+        for (int i = 0; i < LOADS; i++) {
+            Bid bid = new Bid();
+            bid.setLoad(loads.get(i));
+            bid.setTransporter(transporter);
+            bid.setProposedRate(4000.0 + i);
+            bid.setTrucksOffered(1);
+            bid.setTruckType("Flatbed");
+            bid.setStatus(BidStatus.PENDING);
+            bid.setSubmittedAt(now.minusMinutes(i));
+            bids.add(bid);
+        }
+        context.getBean(BidRepository.class).saveAll(bids);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<LoadResponseDTO> listLoadsPage() {
+        return loadService.listLoads(shipperId, BookingStatus.OPEN_FOR_BIDS, PageRequest.of(3, PAGE_SIZE));
+    }
+
+    @Benchmark
+    public CursorPageResponseDTO<LoadResponseDTO> scrollLoads() {
+        return loadService.scrollLoads(shipperId, null, null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public LoadResponseDTO getLoadById() {
+        return loadService.getLoadById(loadId);
+    }
+
+    @Benchmark
+    public Page<BidResponseDTO> listBidsPage() {
+        return bidService.listBids(new BidSearchCriteria(null, transporterId, null, null, null, null),
+                PageRequest.of(3, PAGE_SIZE));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ReadEndpointBenchmark.class.getSimpleName()).build()).run();
+    }
+}
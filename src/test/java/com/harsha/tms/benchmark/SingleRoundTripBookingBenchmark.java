@@ -0,0 +1,147 @@
+package com.harsha.tms.benchmark;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.h2.tools.Server;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.harsha.tms.TransportManagementSystemApplication;
+import com.harsha.tms.dto.request.BookingRequestDTO;
+import com.harsha.tms.dto.response.BookingResponseDTO;
+import com.harsha.tms.entity.Bid;
+import com.harsha.tms.entity.BidStatus;
+import com.harsha.tms.entity.BookingStatus;
+import com.harsha.tms.entity.Load;
+import com.harsha.tms.entity.Transporter;
+import com.harsha.tms.entity.Truck;
+import com.harsha.tms.entity.WeightUnit;
+import com.harsha.tms.repository.BidRepository;
+import com.harsha.tms.repository.LoadRepository;
+import com.harsha.tms.repository.TransporterRepository;
+import com.harsha.tms.repository.TruckRepository;
+import com.harsha.tms.service.BookingService;
+
+/**
+ * Booking a pending bid with the JPA reads and guarded UPDATEs against the single-round-trip
+ * command. The database is an H2 TCP server so that every statement pays a network hop, as it
+ * would against PostgreSQL. Run like {@link BidScorerBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SingleRoundTripBookingBenchmark {
+
+    private static final int BIDS = 100_000;
+
+    @Param({"false", "true"})
+    private boolean singleRoundTrip;
+
+    private Server server;
+    private ConfigurableApplicationContext context;
+    private BookingService bookingService;
+    private UUID loadId;
+    private UUID transporterId;
+    private final Deque<UUID> bidIds = new ArrayDeque<>();
+
+    @Setup
+    public void setUp() throws SQLException {
+        server = Server.createTcpServer("-tcpPort", "0", "-ifNotExists").start();
+        SpringApplication application = new SpringApplication(TransportManagementSystemApplication.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+        context = application.run("--logging.level.root=WARN",
+                "--spring.datasource.url=jdbc:h2:tcp://localhost:" + server.getPort() + "/mem:bench",
+                "--tms.booking.single-round-trip=" + singleRoundTrip);
+        bookingService = context.getBean(BookingService.class);
+
+        Transporter transporter = new Transporter();
+        transporter.setCompanyName("Benchmark Freight");
+        transporter.setRating(4.0);
+        transporter = context.getBean(TransporterRepository.class).save(transporter);
+        transporterId = transporter.getTransporterId();
+
+        Truck truck = new Truck();
+        truck.setTransporter(transporter);
+        truck.setTruckType("Flatbed");
+        truck.setCount(Integer.MAX_VALUE);
+        context.getBean(TruckRepository.class).save(truck);
+
+        LocalDateTime now = LocalDateTime.now();
+        Load load = new Load();
+        load.setShipperId(UUID.randomUUID());
+        load.setPickupLocation("New York");
+        load.setDeliveryLocation("Los Angeles");
+        load.setWeight(BigDecimal.valueOf(1000));
+        load.setWeightUnit(WeightUnit.KG);
+        load.setCargoType("Electronics");
+        load.setPickupDate(now.plusDays(2));
+        load.setDeliveryDate(now.plusDays(5));
+        load.setOfferedPrice(BigDecimal.valueOf(5000));
+        load.setTrucksRequired(Integer.MAX_VALUE);
+        load.setRemainingTrucks(Integer.MAX_VALUE);
+        load.setStatus(BookingStatus.OPEN_FOR_BIDS);
+        load.setDatePosted(now);
+        load = context.getBean(LoadRepository.class).save(load);
+        loadId = load.getId();
+
+        List<Bid> bids = new ArrayList<>(BIDS);
+        for (int i = 0; i < BIDS; i++) {
+            Bid bid = new Bid();
+            bid.setLoad(load);
+            bid.setTransporter(transporter);
+            bid.setProposedRate(4000.0);
+            bid.setTrucksOffered(1);
+            bid.setTruckType("Flatbed");
+            bid.setStatus(BidStatus.PENDING);
+            bid.setSubmittedAt(now);
+            bids.add(bid);
+        }
+        context.getBean(BidRepository.class).saveAll(bids).forEach(bid -> bidIds.add(bid.getBidId()));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+        server.stop();
+    }
+
+    @Benchmark
+    public BookingResponseDTO book() {
+        UUID bidId = bidIds.poll();
+        if (bidId == null) {
+            throw new IllegalStateException("Raise BIDS for this run length");
+        }
+        return bookingService.createBooking(new BookingRequestDTO(loadId, bidId, transporterId, 1, 4000.0));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(SingleRoundTripBookingBenchmark.class.getSimpleName()).build()).run();
+    }
+}
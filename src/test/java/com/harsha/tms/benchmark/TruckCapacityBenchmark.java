@@ -0,0 +1,132 @@
+package com.harsha.tms.benchmark;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.harsha.tms.entity.Transporter;
+import com.harsha.tms.entity.Truck;
+import com.harsha.tms.repository.BookingRepository;
+import com.harsha.tms.repository.TruckRepository;
+import com.harsha.tms.service.TruckCapacity;
+
+/**
+ * Throughput of capacity checks and reservations against the in-memory truck matrix, with eight
+ * threads on one transporter's timeline or spread over many. Every transporter is loaded up front
+ * from stubbed repositories, so none is read during measurement. Run with
+ * {@code mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test
+ * "-Dexec.args=-cp %classpath com.harsha.tms.benchmark.TruckCapacityBenchmark"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+public class TruckCapacityBenchmark {
+
+    private static final String[] TRUCK_TYPES = {"Flatbed", "Box Truck", "Refrigerated", "Tanker"};
+
+    @Param({"1", "10000"})
+    private int transporters;
+
+    private TruckCapacity truckCapacity;
+    private UUID[] transporterIds;
+    private LocalDateTime start;
+
+    @Setup
+    public void setUp() {
+        Map<UUID, List<Truck>> fleets = new HashMap<>();
+        TruckRepository truckRepository = mock(TruckRepository.class);
+        BookingRepository bookingRepository = mock(BookingRepository.class);
+        when(truckRepository.findByTransporterTransporterIdOrderById(any()))
+                .thenAnswer(invocation -> fleets.get(invocation.<UUID>getArgument(0)));
+        when(bookingRepository.findWindowsByTransporterId(any(), any(), any())).thenReturn(List.of());
+
+        truckCapacity = new TruckCapacity(truckRepository, bookingRepository, null, Clock.systemUTC());
+        start = LocalDateTime.now().plusDays(1);
+        transporterIds = new UUID[transporters];
+        for (int i = 0; i < transporters; i++) {
+            transporterIds[i] = UUID.randomUUID();
+            Transporter transporter = new Transporter();
+            transporter.setTransporterId(transporterIds[i]);
+            Truck[] trucks = new Truck[TRUCK_TYPES.length];
+            for (int j = 0; j < TRUCK_TYPES.length; j++) {
+                trucks[j] = new Truck();
+                trucks[j].setId(UUID.randomUUID());
+                trucks[j].setTruckType(TRUCK_TYPES[j]);
+                trucks[j].setCount(1_000_000);
+                trucks[j].setTransporter(transporter);
+            }
+            fleets.put(transporterIds[i], List.of(trucks));
+            truckCapacity.fleet(transporterIds[i], TRUCK_TYPES[0]);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Caller {
+
+        private final SplittableRandom random = new SplittableRandom();
+
+        UUID transporterId(TruckCapacityBenchmark benchmark) {
+            return benchmark.transporterIds[random.nextInt(benchmark.transporterIds.length)];
+        }
+
+        String truckType() {
+            return TRUCK_TYPES[random.nextInt(TRUCK_TYPES.length)];
+        }
+
+        // A pickup within the coming month, on the hour
+        LocalDateTime pickup(TruckCapacityBenchmark benchmark) {
+            return benchmark.start.plusHours(random.nextInt(30 * 24));
+        }
+    }
+
+    @Benchmark
+    public int available(Caller caller) {
+        LocalDateTime pickup = caller.pickup(this);
+        return truckCapacity.available(caller.transporterId(this), caller.truckType(), pickup, pickup.plusDays(2));
+    }
+
+    // A booking's claim followed by its cancellation, so counts stay level for the whole run
+    @Benchmark
+    public boolean reserveAndRelease(Caller caller) {
+        UUID transporterId = caller.transporterId(this);
+        String truckType = caller.truckType();
+        LocalDateTime pickup = caller.pickup(this);
+        boolean reserved = truckCapacity.reserve(transporterId, truckType, pickup, pickup.plusDays(2), 2);
+        if (reserved) {
+            truckCapacity.release(transporterId, truckType, pickup, pickup.plusDays(2), 2);
+        }
+        return reserved;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(TruckCapacityBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,119 @@
+package com.harsha.tms.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.harsha.tms.entity.Bid;
+import com.harsha.tms.entity.BidStatus;
+import com.harsha.tms.entity.BookingStatus;
+import com.harsha.tms.entity.Load;
+import com.harsha.tms.entity.Transporter;
+import com.harsha.tms.entity.WeightUnit;
+
+@SpringBootTest
+@Transactional
+class BookingGuardTest {
+
+    @Autowired
+    private LoadRepository loadRepository;
+
+    @Autowired
+    private BidRepository bidRepository;
+
+    @Autowired
+    private TransporterRepository transporterRepository;
+
+    @Autowired
+    private BookingCommandRepository bookingCommandRepository;
+
+    private Load load;
+    private Bid bid;
+    private Transporter transporter;
+
+    @BeforeEach
+    @SuppressWarnings("unused")
+    void setUp() {
+        transporter = new Transporter();
+        transporter.setCompanyName("Test Transporter");
+        transporter.setRating(4.5);
+        transporter = transporterRepository.saveAndFlush(transporter);
+
+        load = load(BookingStatus.IN_TRANSIT, 3, 1);
+
+        bid = new Bid();
+        bid.setLoad(load);
+        bid.setTransporter(transporter);
+        bid.setTruckType("Flatbed");
+        bid.setTrucksOffered(1);
+        bid.setProposedRate(2000.0);
+        bid.setStatus(BidStatus.PENDING);
+        bid.setSubmittedAt(LocalDateTime.now());
+        bid = bidRepository.saveAndFlush(bid);
+    }
+
+    @Test
+    void testReserveTrucks_RefusesLoadInTransit() {
+        assertEquals(0, loadRepository.reserveTrucks(load.getId(), 1));
+        assertEquals(BookingStatus.IN_TRANSIT, loadRepository.findStatusById(load.getId()));
+    }
+
+    @Test
+    void testReleaseTrucks_CancellingOneOfTwoBookingsReopensTheLoad() {
+        Load booked = load(BookingStatus.OPEN_FOR_BIDS, 2, 2);
+        assertEquals(1, loadRepository.reserveTrucks(booked.getId(), 1));
+        assertEquals(1, loadRepository.reserveTrucks(booked.getId(), 1));
+        assertEquals(BookingStatus.BOOKED, loadRepository.findStatusById(booked.getId()));
+
+        loadRepository.releaseTrucks(booked.getId(), 1);
+        assertEquals(BookingStatus.OPEN_FOR_BIDS, loadRepository.findStatusById(booked.getId()));
+
+        assertEquals(1, loadRepository.reserveTrucks(booked.getId(), 1));
+        assertEquals(BookingStatus.BOOKED, loadRepository.findStatusById(booked.getId()));
+    }
+
+    @Test
+    void testReleaseTrucks_LoadInTransitStaysInTransit() {
+        loadRepository.releaseTrucks(load.getId(), 1);
+
+        assertEquals(BookingStatus.IN_TRANSIT, loadRepository.findStatusById(load.getId()));
+    }
+
+    @Test
+    void testBookInOneRoundTrip_RefusesLoadInTransit() {
+        BookingCommandRow row = bookingCommandRepository.book(UUID.randomUUID(), load.getId(), bid.getBidId(),
+                transporter.getTransporterId(), 1, 2000.0, LocalDateTime.now());
+
+        assertEquals(BookingStatus.IN_TRANSIT, row.loadStatus());
+        assertFalse(row.bidAccepted());
+        assertFalse(row.loadReserved());
+        assertFalse(row.booked());
+    }
+
+    private Load load(BookingStatus status, int trucksRequired, int remainingTrucks) {
+        LocalDateTime pickup = LocalDateTime.now().plusDays(1);
+        Load load = new Load();
+        load.setShipperId(UUID.randomUUID());
+        load.setPickupLocation("New York");
+        load.setDeliveryLocation("Los Angeles");
+        load.setWeight(BigDecimal.valueOf(1000));
+        load.setWeightUnit(WeightUnit.KG);
+        load.setCargoType("Electronics");
+        load.setPickupDate(pickup);
+        load.setDeliveryDate(pickup.plusDays(2));
+        load.setOfferedPrice(BigDecimal.valueOf(5000));
+        load.setTrucksRequired(trucksRequired);
+        load.setRemainingTrucks(remainingTrucks);
+        load.setStatus(status);
+        load.setDatePosted(LocalDateTime.now());
+        return loadRepository.saveAndFlush(load);
+    }
+}
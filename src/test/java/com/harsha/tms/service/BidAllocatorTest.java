@@ -0,0 +1,98 @@
+package com.harsha.tms.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+class BidAllocatorTest {
+
+    private final BidAllocator bidAllocator = new BidAllocator(Duration.ofSeconds(1));
+
+    @Test
+    void testAllocate_MatchesBruteForceOnSmallBidSets() {
+        Random random = new Random(7);
+        for (int round = 0; round < 300; round++) {
+            int trucks = 1 + random.nextInt(12);
+            List<BidAllocator.Candidate> candidates = new ArrayList<>();
+            for (int i = random.nextInt(12); i >= 0; i--) {
+                candidates.add(new BidAllocator.Candidate(1 + random.nextInt(6), 100 + random.nextInt(900)));
+            }
+
+            BidAllocator.Allocation allocation = bidAllocator.allocate(candidates, trucks);
+
+            int bestTrucks = 0;
+            double bestCost = 0;
+            for (int subset = 0; subset < 1 << candidates.size(); subset++) {
+                int covered = 0;
+                double cost = 0;
+                for (int i = 0; i < candidates.size(); i++) {
+                    if ((subset & 1 << i) != 0) {
+                        covered += candidates.get(i).trucks();
+                        cost += candidates.get(i).price();
+                    }
+                }
+                if (covered <= trucks && (covered > bestTrucks || covered == bestTrucks && cost < bestCost)) {
+                    bestTrucks = covered;
+                    bestCost = cost;
+                }
+            }
+            assertTrue(allocation.optimal());
+            assertEquals(bestTrucks, allocation.trucks());
+            assertEquals(bestCost, allocation.cost(), 1e-9);
+            assertEquals(allocation.trucks(),
+                    allocation.chosen().stream().mapToInt(i -> candidates.get(i).trucks()).sum());
+            assertEquals(allocation.cost(),
+                    allocation.chosen().stream().mapToDouble(i -> candidates.get(i).price()).sum(), 1e-9);
+        }
+    }
+
+    @Test
+    void testAllocate_FallsBackToGreedyWhenOutOfTime() {
+        BidAllocator outOfTime = new BidAllocator(Duration.ZERO);
+        List<BidAllocator.Candidate> candidates = List.of(
+                new BidAllocator.Candidate(3, 6000),
+                new BidAllocator.Candidate(2, 5000),
+                new BidAllocator.Candidate(2, 5000));
+
+        BidAllocator.Allocation allocation = outOfTime.allocate(candidates, 4);
+
+        assertFalse(allocation.optimal());
+        assertEquals(List.of(0), allocation.chosen());
+        assertEquals(3, allocation.trucks());
+        assertEquals(4, bidAllocator.allocate(candidates, 4).trucks());
+    }
+
+    @Test
+    void testAllocate_CheapestBidCoveringTheLoadIsOptimal() {
+        BidAllocator outOfTime = new BidAllocator(Duration.ZERO);
+        List<BidAllocator.Candidate> candidates = List.of(
+                new BidAllocator.Candidate(2, 5000),
+                new BidAllocator.Candidate(4, 8000),
+                new BidAllocator.Candidate(5, 1000));
+
+        BidAllocator.Allocation allocation = outOfTime.allocate(candidates, 4);
+
+        assertTrue(allocation.optimal());
+        assertEquals(List.of(1), allocation.chosen());
+    }
+
+    @Test
+    void testAllocate_SolvesThousandsOfBidsExactly() {
+        Random random = new Random(11);
+        List<BidAllocator.Candidate> candidates = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            candidates.add(new BidAllocator.Candidate(1 + random.nextInt(10), 500 + random.nextInt(5_000)));
+        }
+
+        BidAllocator.Allocation allocation = bidAllocator.allocate(candidates, 200);
+
+        assertTrue(allocation.optimal());
+        assertEquals(200, allocation.trucks());
+    }
+}
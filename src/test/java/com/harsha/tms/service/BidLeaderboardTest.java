@@ -0,0 +1,133 @@
+package com.harsha.tms.service;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.harsha.tms.dto.response.BidResponseDTO;
+import com.harsha.tms.dto.response.ScoringPolicyResponseDTO;
+import com.harsha.tms.entity.BidStatus;
+import com.harsha.tms.entity.BookingStatus;
+import com.harsha.tms.event.BidStatusChangedEvent;
+import com.harsha.tms.event.BidSubmittedEvent;
+import com.harsha.tms.event.LoadStatusChangedEvent;
+import com.harsha.tms.event.ScoringPolicyChangedEvent;
+
+class BidLeaderboardTest {
+
+    private BidLeaderboard leaderboard;
+    private UUID testLoadId;
+    private UUID testShipperId;
+
+    @BeforeEach
+    @SuppressWarnings("unused")
+    void setUp() {
+        leaderboard = new BidLeaderboard();
+        testLoadId = UUID.randomUUID();
+        testShipperId = UUID.randomUUID();
+    }
+
+    @Test
+    void testTop_MissBeforeLoad() {
+        assertFalse(leaderboard.top(testLoadId, 10, 0).isPresent());
+    }
+
+    @Test
+    void testLoadAndTop_RanksByScore() {
+        BidResponseDTO low = bid(9000.0);
+        BidResponseDTO high = bid(1000.0);
+
+        Optional<List<BidResponseDTO>> ranked = leaderboard.loadAndTop(testLoadId, testShipperId,
+                () -> Arrays.asList(ranked(low, 4.0), ranked(high, 4.0)), 10, -Double.MAX_VALUE);
+
+        assertTrue(ranked.isPresent());
+        assertEquals(Arrays.asList(high, low), ranked.get());
+        assertEquals(1, leaderboard.top(testLoadId, 1, -Double.MAX_VALUE).orElseThrow().size());
+    }
+
+    @Test
+    void testOnBidSubmitted_InsertsIntoExistingBoard() {
+        BidResponseDTO existing = bid(5000.0);
+        BidResponseDTO better = bid(1000.0);
+        leaderboard.loadAndTop(testLoadId, testShipperId, () -> Arrays.asList(ranked(existing, 4.0)), 10, -Double.MAX_VALUE);
+
+        leaderboard.onBidSubmitted(new BidSubmittedEvent(better, ranked(better, 4.0).score()));
+
+        assertEquals(better, leaderboard.top(testLoadId, 10, -Double.MAX_VALUE).orElseThrow().get(0));
+    }
+
+    @Test
+    void testOnBidStatusChanged_KeepsRankAndUpdatesStatus() {
+        BidResponseDTO bid = bid(1000.0);
+        leaderboard.loadAndTop(testLoadId, testShipperId, () -> Arrays.asList(ranked(bid, 4.0)), 10, -Double.MAX_VALUE);
+
+        leaderboard.onBidStatusChanged(new BidStatusChangedEvent(testLoadId, bid.bidId(), BidStatus.REJECTED));
+
+        List<BidResponseDTO> ranked = leaderboard.top(testLoadId, 10, -Double.MAX_VALUE).orElseThrow();
+        assertEquals(1, ranked.size());
+        assertEquals(BidStatus.REJECTED, ranked.get(0).status());
+    }
+
+    @Test
+    void testUpdatesDuringLoadAreReplayed() {
+        BidResponseDTO snapshotBid = bid(5000.0);
+        BidResponseDTO lateBid = bid(1000.0);
+
+        leaderboard.loadAndTop(testLoadId, testShipperId, () -> {
+            leaderboard.onBidSubmitted(new BidSubmittedEvent(lateBid, ranked(lateBid, 4.0).score()));
+            return Arrays.asList(ranked(snapshotBid, 4.0));
+        }, 10, -Double.MAX_VALUE);
+
+        assertEquals(Arrays.asList(lateBid, snapshotBid), leaderboard.top(testLoadId, 10, -Double.MAX_VALUE).orElseThrow());
+    }
+
+    @Test
+    void testMinScoreStopsScan() {
+        BidResponseDTO cheap = bid(1.0);
+        BidResponseDTO expensive = bid(100000.0);
+        leaderboard.loadAndTop(testLoadId, testShipperId, () -> Arrays.asList(ranked(cheap, 0.0), ranked(expensive, 0.0)),
+                10, -Double.MAX_VALUE);
+
+        assertEquals(Arrays.asList(cheap), leaderboard.top(testLoadId, 10, 0.5).orElseThrow());
+    }
+
+    @Test
+    void testOnLoadStatusChanged_EvictsBoard() {
+        leaderboard.loadAndTop(testLoadId, testShipperId, () -> Arrays.asList(ranked(bid(1000.0), 4.0)), 10, -Double.MAX_VALUE);
+
+        leaderboard.onLoadStatusChanged(new LoadStatusChangedEvent(testLoadId, BookingStatus.OPEN_FOR_BIDS));
+
+        assertEquals(0, leaderboard.size());
+    }
+
+    @Test
+    void testOnScoringPolicyChanged_EvictsShipperBoards() {
+        UUID otherLoadId = UUID.randomUUID();
+        leaderboard.loadAndTop(testLoadId, testShipperId, () -> Arrays.asList(ranked(bid(1000.0), 4.0)), 10, -Double.MAX_VALUE);
+        leaderboard.loadAndTop(otherLoadId, UUID.randomUUID(), List::of, 10, -Double.MAX_VALUE);
+
+        leaderboard.onScoringPolicyChanged(new ScoringPolicyChangedEvent(new ScoringPolicyResponseDTO(
+                testShipperId, 1000.0, 0.5, 0.0, 0.0, 1L, LocalDateTime.of(2024, 1, 1, 10, 0))));
+
+        assertFalse(leaderboard.top(testLoadId, 10, 0).isPresent());
+        assertTrue(leaderboard.top(otherLoadId, 10, 0).isPresent());
+    }
+
+    private BidResponseDTO bid(double proposedRate) {
+        return new BidResponseDTO(UUID.randomUUID(), testLoadId, UUID.randomUUID(), proposedRate, 1, "Flatbed",
+                BidStatus.PENDING, LocalDateTime.of(2024, 1, 1, 10, 0));
+    }
+
+    private BidLeaderboard.RankedBid ranked(BidResponseDTO bid, double rating) {
+        return new BidLeaderboard.RankedBid(bid, WeightedBidScorer.DEFAULT.score(bid.proposedRate(), rating,
+                bid.trucksOffered(), 1, 0.0));
+    }
+}
@@ -0,0 +1,142 @@
+package com.harsha.tms.service;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import org.mockito.Mock;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.harsha.tms.dto.response.BidResponseDTO;
+import com.harsha.tms.dto.response.RescoreResponseDTO;
+import com.harsha.tms.dto.response.ScoringPolicyResponseDTO;
+import com.harsha.tms.entity.BidStatus;
+import com.harsha.tms.entity.Load;
+import com.harsha.tms.event.ScoringPolicyChangedEvent;
+import com.harsha.tms.repository.BidRepository;
+import com.harsha.tms.repository.BidScoreRow;
+import com.harsha.tms.repository.LoadRepository;
+
+@ExtendWith(MockitoExtension.class)
+class BidRescoringJobTest {
+
+    @Mock
+    private BidRepository bidRepository;
+
+    @Mock
+    private LoadRepository loadRepository;
+
+    @Mock
+    private BidScorerRegistry bidScorerRegistry;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BidLeaderboard bidLeaderboard;
+
+    private BidRescoringJob rescoringJob;
+
+    private UUID testShipperId;
+    private UUID testLoadId;
+    private LocalDateTime pickupDate;
+
+    @BeforeEach
+    @SuppressWarnings("unused")
+    void setUp() {
+        testShipperId = UUID.randomUUID();
+        testLoadId = UUID.randomUUID();
+        pickupDate = LocalDateTime.of(2024, 1, 5, 10, 0);
+
+        bidLeaderboard = new BidLeaderboard();
+        rescoringJob = new BidRescoringJob(bidRepository, loadRepository, bidScorerRegistry, bidLeaderboard,
+                transactionManager, 2, 2, 1);
+    }
+
+    @AfterEach
+    @SuppressWarnings("unused")
+    void tearDown() {
+        rescoringJob.destroy();
+    }
+
+    @Test
+    void testScoreAll_MatchesPerBidScoring() {
+        BidScorer scorer = new WeightedBidScorer(1000.0, 0.5, 0.2, 0.01);
+        Load load = new Load();
+        load.setRemainingTrucks(3);
+        load.setPickupDate(pickupDate);
+        BidColumns columns = new BidColumns(1);
+        List<BidScoreRow> rows = Arrays.asList(row(testLoadId, 1000.0, 4.0, 1), row(testLoadId, 2500.0, null, 5),
+                row(testLoadId, null, 2.5, null));
+        rows.forEach(columns::append);
+
+        double[] scores = BidRescoringJob.scoreAll(scorer, columns);
+
+        for (int i = 0; i < rows.size(); i++) {
+            BidScoreRow row = rows.get(i);
+            assertEquals(BidRanking.score(scorer, row.proposedRate(), row.rating(), row.trucksOffered(),
+                    row.submittedAt(), load), scores[i]);
+        }
+    }
+
+    @Test
+    void testRescore_FillsPartialBoards() {
+        UUID otherLoadId = UUID.randomUUID();
+        BidScoreRow best = row(testLoadId, 1000.0, 4.0, 1);
+        BidScoreRow second = row(testLoadId, 2000.0, 4.0, 1);
+        BidScoreRow third = row(testLoadId, 3000.0, 4.0, 1);
+        BidScoreRow only = row(otherLoadId, 1000.0, 4.0, 1);
+        when(bidScorerRegistry.scorerFor(testShipperId)).thenReturn(WeightedBidScorer.DEFAULT);
+        when(loadRepository.findIdsByShipperIdAndStatusIn(eq(testShipperId), any()))
+                .thenReturn(Arrays.asList(testLoadId, otherLoadId));
+        when(bidRepository.streamScoreRows(eq(testShipperId), any()))
+                .thenReturn(Stream.of(third, best, second, only));
+
+        RescoreResponseDTO response = rescoringJob.rescore(testShipperId);
+
+        assertEquals(2, response.loads());
+        assertEquals(4, response.bids());
+        List<BidResponseDTO> top = bidLeaderboard.top(testLoadId, 2, -Double.MAX_VALUE).orElseThrow();
+        assertEquals(Arrays.asList(best.bidId(), second.bidId()), top.stream().map(BidResponseDTO::bidId).toList());
+        assertFalse(bidLeaderboard.top(testLoadId, 3, -Double.MAX_VALUE).isPresent());
+        assertTrue(bidLeaderboard.top(otherLoadId, 10, -Double.MAX_VALUE).isPresent());
+    }
+
+    @Test
+    void testOnScoringPolicyChanged_RescoresOnBackgroundThread() {
+        BidScoreRow only = row(testLoadId, 1000.0, 4.0, 1);
+        AtomicReference<String> rescoredOn = new AtomicReference<>();
+        when(bidScorerRegistry.scorerFor(testShipperId)).thenAnswer(invocation -> {
+            rescoredOn.set(Thread.currentThread().getName());
+            return WeightedBidScorer.DEFAULT;
+        });
+        when(loadRepository.findIdsByShipperIdAndStatusIn(eq(testShipperId), any()))
+                .thenReturn(Arrays.asList(testLoadId));
+        when(bidRepository.streamScoreRows(eq(testShipperId), any())).thenReturn(Stream.of(only));
+
+        rescoringJob.onScoringPolicyChanged(new ScoringPolicyChangedEvent(new ScoringPolicyResponseDTO(
+                testShipperId, 1000.0, 0.5, 0.0, 0.0, 1L, LocalDateTime.of(2024, 1, 1, 10, 0))));
+        rescoringJob.destroy();
+
+        assertEquals("bid-rescoring", rescoredOn.get());
+        assertTrue(bidLeaderboard.top(testLoadId, 10, -Double.MAX_VALUE).isPresent());
+    }
+
+    private BidScoreRow row(UUID loadId, Double proposedRate, Double rating, Integer trucksOffered) {
+        return new BidScoreRow(loadId, UUID.randomUUID(), UUID.randomUUID(), proposedRate, rating, trucksOffered,
+                "Flatbed", BidStatus.PENDING, pickupDate.minusHours(30), 3, pickupDate);
+    }
+}
@@ -1,22 +1,26 @@
 package com.harsha.tms.service;
 
 import java.time.Clock;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import static org.mockito.ArgumentMatchers.any;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.never;
@@ -24,22 +28,42 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import com.harsha.tms.dto.request.BidRequestDTO;
+import com.harsha.tms.dto.request.BidSearchCriteria;
 import com.harsha.tms.dto.response.BidResponseDTO;
+import com.harsha.tms.dto.response.BulkResponseDTO;
+import com.harsha.tms.dto.response.CursorPageResponseDTO;
 import com.harsha.tms.entity.Bid;
 import com.harsha.tms.entity.BidStatus;
 import com.harsha.tms.entity.BookingStatus;
 import com.harsha.tms.entity.Load;
 import com.harsha.tms.entity.Transporter;
 import com.harsha.tms.entity.Truck;
+import com.harsha.tms.event.BidStatusChangedEvent;
+import com.harsha.tms.event.BidSubmittedEvent;
+import com.harsha.tms.exception.InsufficientCapacityException;
+import com.harsha.tms.exception.InvalidCursorException;
+import com.harsha.tms.exception.InvalidStatusTransitionException;
 import com.harsha.tms.exception.ResourceNotFoundException;
 import com.harsha.tms.repository.BidRepository;
+import com.harsha.tms.repository.BookingRepository;
 import com.harsha.tms.repository.LoadRepository;
 import com.harsha.tms.repository.TransporterRepository;
 import com.harsha.tms.repository.TruckRepository;
 import com.harsha.tms.service.impl.BidServiceImpl;
 
+import jakarta.validation.Validation;
+
 @ExtendWith(MockitoExtension.class)
 class BidServiceImplTest {
 
@@ -55,10 +79,21 @@ class BidServiceImplTest {
     @Mock
     private TruckRepository truckRepository;
 
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private BidScorerRegistry bidScorerRegistry;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @Mock
     private Clock clock;
 
-    @InjectMocks
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     private BidServiceImpl bidService;
 
     private UUID testBidId;
@@ -68,6 +103,7 @@ class BidServiceImplTest {
     private Bid bid;
     private Load load;
     private Transporter transporter;
+    private Truck truck;
 
     @BeforeEach
     @SuppressWarnings("unused")
@@ -79,6 +115,14 @@ class BidServiceImplTest {
         Clock fixedClock = Clock.fixed(Instant.parse("2024-01-01T10:00:00Z"), ZoneId.systemDefault());
         when(clock.instant()).thenReturn(fixedClock.instant());
         when(clock.getZone()).thenReturn(fixedClock.getZone());
+        lenient().when(bidScorerRegistry.scorerFor(any())).thenReturn(WeightedBidScorer.DEFAULT);
+
+        BulkWriter bulkWriter = new BulkWriter(Validation.buildDefaultValidatorFactory().getValidator(),
+                transactionManager, 500, 1000);
+        ConflictRetrier conflictRetrier = new ConflictRetrier(transactionManager, 4, Duration.ZERO, Duration.ofMillis(1), 100);
+        TruckCapacity truckCapacity = new TruckCapacity(truckRepository, bookingRepository, transactionManager, clock);
+        bidService = new BidServiceImpl(bidRepository, loadRepository, transporterRepository, truckCapacity,
+                bidScorerRegistry, bulkWriter, conflictRetrier, eventPublisher, clock);
 
         bidRequestDTO = new BidRequestDTO(
                 testLoadId,
@@ -91,6 +135,9 @@ class BidServiceImplTest {
         load = new Load();
         load.setId(testLoadId);
         load.setStatus(BookingStatus.POSTED);
+        load.setRemainingTrucks(3);
+        load.setPickupDate(LocalDateTime.of(2024, 1, 5, 8, 0));
+        load.setDeliveryDate(LocalDateTime.of(2024, 1, 7, 18, 0));
 
         transporter = new Transporter();
         transporter.setTransporterId(testTransporterId);
@@ -106,10 +153,12 @@ class BidServiceImplTest {
         bid.setStatus(BidStatus.PENDING);
         bid.setSubmittedAt(LocalDateTime.now(clock));
 
-        Truck truck = new Truck();
+        truck = new Truck();
+        truck.setId(UUID.randomUUID());
         truck.setTruckType("Flatbed");
         truck.setCount(5);
-        lenient().when(truckRepository.findByTransporterTransporterId(testTransporterId))
+        truck.setTransporter(transporter);
+        lenient().when(truckRepository.findByTransporterTransporterIdOrderById(testTransporterId))
                 .thenReturn(Arrays.asList(truck));
     }
 
@@ -117,8 +166,6 @@ class BidServiceImplTest {
     void testSubmitBid_Success() {
         when(loadRepository.findById(testLoadId)).thenReturn(Optional.of(load));
         when(transporterRepository.findById(testTransporterId)).thenReturn(Optional.of(transporter));
-        when(bidRepository.findByLoad_Id(testLoadId)).thenReturn(Arrays.asList());
-        when(bidRepository.findByLoad_IdAndStatus(testLoadId, BidStatus.ACCEPTED)).thenReturn(Arrays.asList());
         when(bidRepository.save(any(Bid.class))).thenReturn(bid);
 
         BidResponseDTO response = bidService.submitBid(bidRequestDTO);
@@ -129,6 +176,31 @@ class BidServiceImplTest {
         assertEquals(4500.0, response.proposedRate());
         assertEquals(BidStatus.PENDING, response.status());
         verify(bidRepository, times(1)).save(any(Bid.class));
+        verify(loadRepository, times(1)).openForBids(List.of(testLoadId));
+    }
+
+    @Test
+    void testSubmitBid_InsufficientCapacity() {
+        when(loadRepository.findById(testLoadId)).thenReturn(Optional.of(load));
+        when(transporterRepository.findById(testTransporterId)).thenReturn(Optional.of(transporter));
+        truck.setCount(1);
+
+        InsufficientCapacityException exception = assertThrows(InsufficientCapacityException.class,
+            () -> bidService.submitBid(bidRequestDTO));
+        assertEquals("Insufficient trucks available. Requested: 2, Available: 1", exception.getMessage());
+        verify(loadRepository, never()).openForBids(any());
+        verify(bidRepository, never()).save(any(Bid.class));
+    }
+
+    @Test
+    void testSubmitBid_AuctionClosed() {
+        load.setAuctionClosesAt(LocalDateTime.now(clock));
+        when(loadRepository.findById(testLoadId)).thenReturn(Optional.of(load));
+
+        InvalidStatusTransitionException exception = assertThrows(InvalidStatusTransitionException.class,
+            () -> bidService.submitBid(bidRequestDTO));
+        assertEquals("Bidding on this load closed at " + load.getAuctionClosesAt(), exception.getMessage());
+        verify(bidRepository, never()).save(any(Bid.class));
     }
 
     @Test
@@ -153,103 +225,135 @@ class BidServiceImplTest {
     }
 
     @Test
-    void testSubmitBid_DuplicateAcceptedBid() {
-        Bid acceptedBid = new Bid();
-        acceptedBid.setStatus(BidStatus.ACCEPTED);
-        
+    void testSubmitBid_PartlyBookedLoadStillTakesBids() {
+        load.setStatus(BookingStatus.OPEN_FOR_BIDS);
+        load.setRemainingTrucks(1);
         when(loadRepository.findById(testLoadId)).thenReturn(Optional.of(load));
         when(transporterRepository.findById(testTransporterId)).thenReturn(Optional.of(transporter));
-        when(bidRepository.findByLoad_IdAndStatus(testLoadId, BidStatus.ACCEPTED))
-                .thenReturn(Arrays.asList(acceptedBid));
+        when(bidRepository.save(any(Bid.class))).thenReturn(bid);
+
+        BidResponseDTO response = bidService.submitBid(bidRequestDTO);
+
+        assertEquals(testLoadId, response.loadId());
+        verify(loadRepository, never()).openForBids(any());
+    }
+
+    @Test
+    void testSubmitBid_NoTrucksLeftToBook() {
+        load.setStatus(BookingStatus.OPEN_FOR_BIDS);
+        load.setRemainingTrucks(0);
+        when(loadRepository.findById(testLoadId)).thenReturn(Optional.of(load));
 
-        IllegalStateException exception = assertThrows(IllegalStateException.class, 
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
             () -> bidService.submitBid(bidRequestDTO));
-        assertNotNull(exception);
+        assertEquals("Cannot submit bid: Load has no trucks left to book", exception.getMessage());
         verify(bidRepository, never()).save(any(Bid.class));
     }
 
     @Test
     void testListBids_NoFilters() {
-        when(bidRepository.findAll()).thenReturn(Arrays.asList(bid));
+        BidSearchCriteria criteria = new BidSearchCriteria(null, null, null, null, null, null);
+        Pageable pageable = PageRequest.of(0, 20);
+        when(bidRepository.search(criteria, pageable)).thenReturn(new PageImpl<>(Arrays.asList(response(bid)), pageable, 1));
 
-        List<BidResponseDTO> response = bidService.listBids(null, null, null);
+        Page<BidResponseDTO> response = bidService.listBids(criteria, pageable);
 
         assertNotNull(response);
-        assertEquals(1, response.size());
-        verify(bidRepository, times(1)).findAll();
+        assertEquals(1, response.getTotalElements());
+        verify(bidRepository, times(1)).search(criteria, pageable);
     }
 
     @Test
-    void testListBids_FilterByLoadId() {
-        when(bidRepository.findByLoad_Id(testLoadId)).thenReturn(Arrays.asList(bid));
+    void testListBids_FilterByAllParameters() {
+        BidSearchCriteria criteria = new BidSearchCriteria(testLoadId, testTransporterId, BidStatus.PENDING,
+                LocalDateTime.of(2024, 1, 1, 0, 0), LocalDateTime.of(2024, 2, 1, 0, 0), "Flatbed");
+        Pageable pageable = PageRequest.of(0, 20);
+        when(bidRepository.search(criteria, pageable)).thenReturn(new PageImpl<>(Arrays.asList(response(bid)), pageable, 1));
 
-        List<BidResponseDTO> response = bidService.listBids(testLoadId, null, null);
+        Page<BidResponseDTO> response = bidService.listBids(criteria, pageable);
 
-        assertNotNull(response);
-        assertEquals(1, response.size());
-        assertEquals(testLoadId, response.get(0).loadId());
-        verify(bidRepository, times(1)).findByLoad_Id(testLoadId);
+        assertEquals(1, response.getContent().size());
+        assertEquals(testTransporterId, response.getContent().get(0).transporterId());
     }
 
     @Test
-    void testListBids_FilterByTransporterId() {
-        when(bidRepository.findByTransporter_TransporterId(testTransporterId)).thenReturn(Arrays.asList(bid));
-
-        List<BidResponseDTO> response = bidService.listBids(null, testTransporterId, null);
-
-        assertNotNull(response);
-        assertEquals(1, response.size());
-        assertEquals(testTransporterId, response.get(0).transporterId());
-        verify(bidRepository, times(1)).findByTransporter_TransporterId(testTransporterId);
+    void testScrollBids_FirstWindow() {
+        BidSearchCriteria criteria = new BidSearchCriteria(null, testTransporterId, null, null, null, null);
+        BidResponseDTO last = response(bid);
+        when(bidRepository.scroll(criteria, ScrollPosition.keyset(), Limit.of(1)))
+                .thenReturn(Window.from(Arrays.asList(last), ScrollPosition::offset, true));
+
+        CursorPageResponseDTO<BidResponseDTO> response = bidService.scrollBids(criteria, null, 1);
+
+        assertTrue(response.hasNext());
+        KeysetCursor cursor = KeysetCursor.decode(response.nextCursor());
+        assertEquals(last.submittedAt(), cursor.timestamp());
+        assertEquals(testBidId, cursor.id());
     }
 
     @Test
-    void testListBids_FilterByStatus() {
-        when(bidRepository.findByStatus(BidStatus.PENDING)).thenReturn(Arrays.asList(bid));
-
-        List<BidResponseDTO> response = bidService.listBids(null, null, BidStatus.PENDING);
-
-        assertNotNull(response);
-        assertEquals(1, response.size());
-        assertEquals(BidStatus.PENDING, response.get(0).status());
-        verify(bidRepository, times(1)).findByStatus(BidStatus.PENDING);
+    void testScrollBids_SeeksFromCursor() {
+        BidSearchCriteria criteria = new BidSearchCriteria(null, null, null, null, null, null);
+        String cursor = new KeysetCursor(bid.getSubmittedAt(), testBidId).encode();
+        ScrollPosition expected = ScrollPosition.forward(Map.of("submittedAt", bid.getSubmittedAt(), "bidId", testBidId));
+        when(bidRepository.scroll(criteria, expected, Limit.of(100)))
+                .thenReturn(Window.from(List.of(), ScrollPosition::offset, false));
+
+        CursorPageResponseDTO<BidResponseDTO> response = bidService.scrollBids(criteria, cursor, 500);
+
+        assertFalse(response.hasNext());
+        assertNull(response.nextCursor());
+        verify(bidRepository, times(1)).scroll(criteria, expected, Limit.of(100));
     }
 
     @Test
-    void testListBids_FilterByLoadIdAndStatus() {
-        when(bidRepository.findByLoad_IdAndStatus(testLoadId, BidStatus.PENDING))
-                .thenReturn(Arrays.asList(bid));
+    void testScrollBids_InvalidCursor() {
+        BidSearchCriteria criteria = new BidSearchCriteria(null, null, null, null, null, null);
 
-        List<BidResponseDTO> response = bidService.listBids(testLoadId, null, BidStatus.PENDING);
-
-        assertNotNull(response);
-        assertEquals(1, response.size());
-        verify(bidRepository, times(1)).findByLoad_IdAndStatus(testLoadId, BidStatus.PENDING);
+        assertThrows(InvalidCursorException.class, () -> bidService.scrollBids(criteria, "not-a-cursor", 20));
     }
 
     @Test
-    void testListBids_FilterByTransporterIdAndStatus() {
-        when(bidRepository.findByTransporter_TransporterIdAndStatus(testTransporterId, BidStatus.PENDING))
-                .thenReturn(Arrays.asList(bid));
-
-        List<BidResponseDTO> response = bidService.listBids(null, testTransporterId, BidStatus.PENDING);
-
-        assertNotNull(response);
-        assertEquals(1, response.size());
-        verify(bidRepository, times(1)).findByTransporter_TransporterIdAndStatus(testTransporterId, BidStatus.PENDING);
+    void testSubmitBids_PartialSuccess() {
+        UUID missingLoadId = UUID.randomUUID();
+        BidRequestDTO missingLoad = new BidRequestDTO(missingLoadId, testTransporterId, 4500.0, 2, "Flatbed");
+        BidRequestDTO tooManyTrucks = new BidRequestDTO(testLoadId, testTransporterId, 4500.0, 9, "Flatbed");
+        when(loadRepository.findAllById(any())).thenReturn(Arrays.asList(load));
+        when(transporterRepository.findAllById(any())).thenReturn(Arrays.asList(transporter));
+        when(bidRepository.saveAll(any())).thenAnswer(invocation -> {
+            List<Bid> bids = invocation.getArgument(0);
+            bids.forEach(saved -> saved.setBidId(UUID.randomUUID()));
+            return bids;
+        });
+
+        BulkResponseDTO<BidResponseDTO> response = bidService.submitBids(
+                Arrays.asList(bidRequestDTO, missingLoad, tooManyTrucks));
+
+        assertEquals(1, response.created());
+        assertEquals(2, response.failed());
+        assertEquals(testLoadId, response.items().get(0).result().loadId());
+        assertEquals(Arrays.asList("Load not found with id: " + missingLoadId), response.items().get(1).errors());
+        assertEquals(Arrays.asList("Insufficient trucks available. Requested: 9, Available: 5"),
+                response.items().get(2).errors());
+        verify(loadRepository, times(1)).openForBids(List.of(testLoadId));
+        verify(truckRepository, times(1)).findByTransporterTransporterIdOrderById(testTransporterId);
+        verify(bidRepository, times(1)).saveAll(any());
+        verify(eventPublisher, times(1)).publishEvent(any(BidSubmittedEvent.class));
     }
 
     @Test
-    void testListBids_FilterByAllParameters() {
-        when(bidRepository.findByLoad_IdAndTransporter_TransporterIdAndStatus(testLoadId, testTransporterId, BidStatus.PENDING))
-                .thenReturn(Arrays.asList(bid));
-
-        List<BidResponseDTO> response = bidService.listBids(testLoadId, testTransporterId, BidStatus.PENDING);
-
-        assertNotNull(response);
-        assertEquals(1, response.size());
-        verify(bidRepository, times(1))
-                .findByLoad_IdAndTransporter_TransporterIdAndStatus(testLoadId, testTransporterId, BidStatus.PENDING);
+    void testSubmitBids_RejectsLoadWithNoTrucksLeft() {
+        load.setStatus(BookingStatus.OPEN_FOR_BIDS);
+        load.setRemainingTrucks(0);
+        when(loadRepository.findAllById(any())).thenReturn(Arrays.asList(load));
+        when(transporterRepository.findAllById(any())).thenReturn(Arrays.asList(transporter));
+
+        BulkResponseDTO<BidResponseDTO> response = bidService.submitBids(Arrays.asList(bidRequestDTO));
+
+        assertEquals(0, response.created());
+        assertEquals(Arrays.asList("Cannot submit bid: Load has no trucks left to book"),
+                response.items().get(0).errors());
+        verify(eventPublisher, never()).publishEvent(any(BidSubmittedEvent.class));
     }
 
     @Test
@@ -276,14 +380,42 @@ class BidServiceImplTest {
     @Test
     void testRejectBid_Success() {
         when(bidRepository.findById(testBidId)).thenReturn(Optional.of(bid));
-        bid.setStatus(BidStatus.REJECTED);
-        when(bidRepository.save(any(Bid.class))).thenReturn(bid);
+        when(bidRepository.transitionStatus(testBidId, BidStatus.PENDING, BidStatus.REJECTED)).thenReturn(1);
 
         BidResponseDTO response = bidService.rejectBid(testBidId);
 
         assertNotNull(response);
         assertEquals(BidStatus.REJECTED, response.status());
-        verify(bidRepository, times(1)).findById(testBidId);
-        verify(bidRepository, times(1)).save(any(Bid.class));
+        verify(bidRepository, never()).save(any(Bid.class));
+        verify(eventPublisher, times(1)).publishEvent(
+                new BidStatusChangedEvent(testLoadId, testBidId, BidStatus.REJECTED));
+    }
+
+    @Test
+    void testRejectBid_AcceptedBidCannotBeRejected() {
+        bid.setStatus(BidStatus.ACCEPTED);
+        when(bidRepository.findById(testBidId)).thenReturn(Optional.of(bid));
+        when(bidRepository.transitionStatus(testBidId, BidStatus.PENDING, BidStatus.REJECTED)).thenReturn(0);
+
+        InvalidStatusTransitionException exception = assertThrows(InvalidStatusTransitionException.class,
+                () -> bidService.rejectBid(testBidId));
+        assertEquals("Bid is ACCEPTED. Only PENDING bids can be rejected.", exception.getMessage());
+        verify(eventPublisher, never()).publishEvent(any(BidStatusChangedEvent.class));
+    }
+
+    @Test
+    void testRejectBid_AcceptedConcurrently() {
+        when(bidRepository.findById(testBidId)).thenReturn(Optional.of(bid));
+        when(bidRepository.transitionStatus(testBidId, BidStatus.PENDING, BidStatus.REJECTED)).thenReturn(0);
+
+        InvalidStatusTransitionException exception = assertThrows(InvalidStatusTransitionException.class,
+                () -> bidService.rejectBid(testBidId));
+        assertEquals("Bid was accepted or rejected by another transaction.", exception.getMessage());
+        verify(eventPublisher, never()).publishEvent(any(BidStatusChangedEvent.class));
+    }
+
+    private BidResponseDTO response(Bid bid) {
+        return new BidResponseDTO(bid.getBidId(), testLoadId, testTransporterId, bid.getProposedRate(),
+                bid.getTrucksOffered(), bid.getTruckType(), bid.getStatus(), bid.getSubmittedAt());
     }
 }
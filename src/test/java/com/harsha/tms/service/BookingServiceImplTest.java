@@ -1,29 +1,51 @@
 package com.harsha.tms.service;
 
 import java.time.Clock;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
-import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import static org.mockito.ArgumentMatchers.any;
-import org.mockito.InjectMocks;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import org.mockito.Mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import jakarta.validation.Validation;
 
 import com.harsha.tms.dto.request.BookingRequestDTO;
+import com.harsha.tms.dto.request.BookingSearchCriteria;
+import com.harsha.tms.dto.request.BookingStatusUpdateRequestDTO;
+import com.harsha.tms.dto.response.AutoAllocationResponseDTO;
 import com.harsha.tms.dto.response.BookingResponseDTO;
+import com.harsha.tms.dto.response.BulkResponseDTO;
+import com.harsha.tms.dto.response.CursorPageResponseDTO;
 import com.harsha.tms.entity.Bid;
 import com.harsha.tms.entity.BidStatus;
 import com.harsha.tms.entity.Booking;
@@ -31,11 +53,18 @@ import com.harsha.tms.entity.BookingStatus;
 import com.harsha.tms.entity.Load;
 import com.harsha.tms.entity.Transporter;
 import com.harsha.tms.entity.Truck;
+import com.harsha.tms.event.LoadStatusChangedEvent;
 import com.harsha.tms.exception.InsufficientCapacityException;
+import com.harsha.tms.exception.InvalidCursorException;
 import com.harsha.tms.exception.InvalidStatusTransitionException;
+import com.harsha.tms.exception.LoadAlreadyBookedException;
 import com.harsha.tms.exception.ResourceNotFoundException;
 import com.harsha.tms.repository.BidRepository;
+import com.harsha.tms.repository.BidScoringPolicyRepository;
+import com.harsha.tms.repository.BookingCommandRepository;
+import com.harsha.tms.repository.BookingCommandRow;
 import com.harsha.tms.repository.BookingRepository;
+import com.harsha.tms.repository.BookingTransitionRow;
 import com.harsha.tms.repository.LoadRepository;
 import com.harsha.tms.repository.TransporterRepository;
 import com.harsha.tms.repository.TruckRepository;
@@ -59,12 +88,30 @@ class BookingServiceImplTest {
     @Mock
     private TruckRepository truckRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @Mock
     private Clock clock;
 
-    @InjectMocks
+    @Mock
+    private BookingCommandRepository bookingCommandRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private LosingBidRejector losingBidRejector;
+
+    @Mock
+    private BidScoringPolicyRepository bidScoringPolicyRepository;
+
+    private TruckCapacity truckCapacity;
+
     private BookingServiceImpl bookingService;
 
+    private BookingServiceImpl singleRoundTripBookingService;
+
     private UUID testBookingId;
     private UUID testLoadId;
     private UUID testBidId;
@@ -88,6 +135,19 @@ class BookingServiceImplTest {
         when(clock.instant()).thenReturn(fixedClock.instant());
         when(clock.getZone()).thenReturn(fixedClock.getZone());
 
+        ConflictRetrier conflictRetrier = new ConflictRetrier(transactionManager, 4, Duration.ZERO, Duration.ofMillis(1), 100);
+        truckCapacity = new TruckCapacity(truckRepository, bookingRepository, transactionManager, clock);
+        BidAllocator bidAllocator = new BidAllocator(Duration.ofSeconds(1));
+        BidScorerRegistry bidScorerRegistry = new BidScorerRegistry(bidScoringPolicyRepository);
+        BulkWriter bulkWriter = new BulkWriter(Validation.buildDefaultValidatorFactory().getValidator(),
+                transactionManager, 500, 1000);
+        bookingService = new BookingServiceImpl(bookingRepository, loadRepository, bidRepository,
+                transporterRepository, truckCapacity, bookingCommandRepository, conflictRetrier, losingBidRejector,
+                bidAllocator, bidScorerRegistry, bulkWriter, eventPublisher, clock, false);
+        singleRoundTripBookingService = new BookingServiceImpl(bookingRepository, loadRepository, bidRepository,
+                transporterRepository, truckCapacity, bookingCommandRepository, conflictRetrier, losingBidRejector,
+                bidAllocator, bidScorerRegistry, bulkWriter, eventPublisher, clock, true);
+
         bookingRequestDTO = new BookingRequestDTO(
                 testLoadId,
                 testBidId,
@@ -101,6 +161,8 @@ class BookingServiceImplTest {
         load.setTrucksRequired(3);
         load.setRemainingTrucks(3);
         load.setStatus(BookingStatus.OPEN_FOR_BIDS);
+        load.setPickupDate(LocalDateTime.of(2024, 1, 5, 8, 0));
+        load.setDeliveryDate(LocalDateTime.of(2024, 1, 7, 18, 0));
 
         transporter = new Transporter();
         transporter.setTransporterId(testTransporterId);
@@ -116,6 +178,7 @@ class BookingServiceImplTest {
         bid.setStatus(BidStatus.PENDING);
 
         truck = new Truck();
+        truck.setId(UUID.randomUUID());
         truck.setTruckType("Flatbed");
         truck.setCount(5);
         truck.setTransporter(transporter);
@@ -136,8 +199,10 @@ class BookingServiceImplTest {
         when(loadRepository.findById(testLoadId)).thenReturn(Optional.of(load));
         when(bidRepository.findById(testBidId)).thenReturn(Optional.of(bid));
         when(transporterRepository.findById(testTransporterId)).thenReturn(Optional.of(transporter));
-        when(bidRepository.findByLoad_Id(testLoadId)).thenReturn(Arrays.asList(bid));
-        when(truckRepository.findByTransporterTransporterId(testTransporterId)).thenReturn(Arrays.asList(truck));
+        when(truckRepository.findByTransporterTransporterIdOrderById(testTransporterId)).thenReturn(List.of(truck));
+        when(bidRepository.transitionStatus(testBidId, BidStatus.PENDING, BidStatus.ACCEPTED)).thenReturn(1);
+        when(loadRepository.reserveTrucks(testLoadId, 2)).thenReturn(1);
+        when(loadRepository.findStatusById(testLoadId)).thenReturn(BookingStatus.OPEN_FOR_BIDS);
         when(bookingRepository.save(any(Booking.class))).thenReturn(booking);
 
         BookingResponseDTO response = bookingService.createBooking(bookingRequestDTO);
@@ -151,7 +216,31 @@ class BookingServiceImplTest {
         assertEquals(5000.0, response.finalRate());
         assertEquals(BookingStatus.CONFIRMED, response.status());
         verify(bookingRepository, times(1)).save(any(Booking.class));
-        verify(truckRepository, times(1)).save(any(Truck.class));
+        assertEquals(3, availableDuringLoad());
+        assertEquals(5, truckCapacity.available(testTransporterId, "Flatbed", load.getDeliveryDate(),
+                load.getDeliveryDate().plusDays(2)));
+        verify(loadRepository, never()).save(any(Load.class));
+        verify(eventPublisher, times(1)).publishEvent(new LoadStatusChangedEvent(testLoadId, BookingStatus.OPEN_FOR_BIDS));
+    }
+
+    @Test
+    void testCreateBooking_LastTrucksRejectsPendingBids() {
+        BookingRequestDTO request = new BookingRequestDTO(testLoadId, testBidId, testTransporterId, 3, 5000.0);
+
+        when(loadRepository.findById(testLoadId)).thenReturn(Optional.of(load));
+        when(bidRepository.findById(testBidId)).thenReturn(Optional.of(bid));
+        when(transporterRepository.findById(testTransporterId)).thenReturn(Optional.of(transporter));
+        when(truckRepository.findByTransporterTransporterIdOrderById(testTransporterId)).thenReturn(List.of(truck));
+        when(bidRepository.transitionStatus(testBidId, BidStatus.PENDING, BidStatus.ACCEPTED)).thenReturn(1);
+        when(loadRepository.reserveTrucks(testLoadId, 3)).thenReturn(1);
+        when(loadRepository.findStatusById(testLoadId)).thenReturn(BookingStatus.BOOKED);
+        when(bookingRepository.save(any(Booking.class))).thenReturn(booking);
+        when(losingBidRejector.onBooked(testLoadId, BookingStatus.BOOKED)).thenReturn(4);
+
+        BookingResponseDTO response = bookingService.createBooking(request);
+
+        assertEquals(4, response.rejectedBids());
+        verify(eventPublisher, times(1)).publishEvent(new LoadStatusChangedEvent(testLoadId, BookingStatus.BOOKED));
     }
 
     @Test
@@ -188,18 +277,83 @@ class BookingServiceImplTest {
     }
 
     @Test
-    void testCreateBooking_AcceptedBidAlreadyExists() {
-        Bid acceptedBid = new Bid();
-        acceptedBid.setStatus(BidStatus.ACCEPTED);
+    void testCreateBooking_BidNotPending() {
+        bid.setStatus(BidStatus.ACCEPTED);
 
         when(loadRepository.findById(testLoadId)).thenReturn(Optional.of(load));
         when(bidRepository.findById(testBidId)).thenReturn(Optional.of(bid));
         when(transporterRepository.findById(testTransporterId)).thenReturn(Optional.of(transporter));
-        when(bidRepository.findByLoad_Id(testLoadId)).thenReturn(Arrays.asList(acceptedBid));
 
         InvalidStatusTransitionException exception = assertThrows(InvalidStatusTransitionException.class,
                 () -> bookingService.createBooking(bookingRequestDTO));
         assertNotNull(exception);
+        verify(loadRepository, never()).reserveTrucks(any(), anyInt());
+    }
+
+    @Test
+    void testCreateBooking_RemainingTrucksTakenConcurrently() {
+        when(loadRepository.findById(testLoadId)).thenReturn(Optional.of(load));
+        when(bidRepository.findById(testBidId)).thenReturn(Optional.of(bid));
+        when(transporterRepository.findById(testTransporterId)).thenReturn(Optional.of(transporter));
+        when(truckRepository.findByTransporterTransporterIdOrderById(testTransporterId)).thenReturn(List.of(truck));
+        when(bidRepository.transitionStatus(testBidId, BidStatus.PENDING, BidStatus.ACCEPTED)).thenReturn(1);
+        when(loadRepository.reserveTrucks(testLoadId, 2)).thenReturn(0);
+        when(loadRepository.findStatusById(testLoadId)).thenReturn(BookingStatus.BOOKED);
+
+        assertThrows(LoadAlreadyBookedException.class, () -> bookingService.createBooking(bookingRequestDTO));
+        assertEquals(5, availableDuringLoad());
+        verify(bookingRepository, never()).save(any(Booking.class));
+    }
+
+    @Test
+    void testCreateBooking_LoadLeftForPickupConcurrently() {
+        when(loadRepository.findById(testLoadId)).thenReturn(Optional.of(load));
+        when(bidRepository.findById(testBidId)).thenReturn(Optional.of(bid));
+        when(transporterRepository.findById(testTransporterId)).thenReturn(Optional.of(transporter));
+        when(truckRepository.findByTransporterTransporterIdOrderById(testTransporterId)).thenReturn(List.of(truck));
+        when(bidRepository.transitionStatus(testBidId, BidStatus.PENDING, BidStatus.ACCEPTED)).thenReturn(1);
+        when(loadRepository.reserveTrucks(testLoadId, 2)).thenReturn(0);
+        when(loadRepository.findStatusById(testLoadId)).thenReturn(BookingStatus.IN_TRANSIT);
+
+        InvalidStatusTransitionException exception = assertThrows(InvalidStatusTransitionException.class,
+                () -> bookingService.createBooking(bookingRequestDTO));
+        assertEquals("Cannot book load with status IN_TRANSIT", exception.getMessage());
+        assertEquals(5, availableDuringLoad());
+        verify(bookingRepository, never()).save(any(Booking.class));
+    }
+
+    @Test
+    void testCreateBooking_OverlappingBookingHoldsTrucks() {
+        when(loadRepository.findById(testLoadId)).thenReturn(Optional.of(load));
+        when(bidRepository.findById(testBidId)).thenReturn(Optional.of(bid));
+        when(transporterRepository.findById(testTransporterId)).thenReturn(Optional.of(transporter));
+        when(truckRepository.findByTransporterTransporterIdOrderById(testTransporterId)).thenReturn(List.of(truck));
+        truckCapacity.reserve(testTransporterId, "Flatbed", load.getPickupDate().minusDays(1),
+                load.getPickupDate().plusHours(1), 4);
+
+        InsufficientCapacityException exception = assertThrows(InsufficientCapacityException.class,
+                () -> bookingService.createBooking(bookingRequestDTO));
+        assertEquals("Insufficient trucks of type Flatbed. Requested: 2, Available: 1", exception.getMessage());
+        verify(bidRepository, never()).transitionStatus(any(), any(), any());
+    }
+
+    @Test
+    void testCreateBooking_TrucksFreeOnceEarlierLoadIsDelivered() {
+        when(loadRepository.findById(testLoadId)).thenReturn(Optional.of(load));
+        when(bidRepository.findById(testBidId)).thenReturn(Optional.of(bid));
+        when(transporterRepository.findById(testTransporterId)).thenReturn(Optional.of(transporter));
+        when(truckRepository.findByTransporterTransporterIdOrderById(testTransporterId)).thenReturn(List.of(truck));
+        when(bidRepository.transitionStatus(testBidId, BidStatus.PENDING, BidStatus.ACCEPTED)).thenReturn(1);
+        when(loadRepository.reserveTrucks(testLoadId, 2)).thenReturn(1);
+        when(loadRepository.findStatusById(testLoadId)).thenReturn(BookingStatus.OPEN_FOR_BIDS);
+        when(bookingRepository.save(any(Booking.class))).thenReturn(booking);
+        truckCapacity.reserve(testTransporterId, "Flatbed", load.getPickupDate().minusDays(3),
+                load.getPickupDate(), 5);
+
+        BookingResponseDTO response = bookingService.createBooking(bookingRequestDTO);
+
+        assertEquals(BookingStatus.CONFIRMED, response.status());
+        assertEquals(3, availableDuringLoad());
     }
 
     @Test
@@ -210,7 +364,6 @@ class BookingServiceImplTest {
         when(loadRepository.findById(testLoadId)).thenReturn(Optional.of(load));
         when(bidRepository.findById(testBidId)).thenReturn(Optional.of(bid));
         when(transporterRepository.findById(testTransporterId)).thenReturn(Optional.of(transporter));
-        when(bidRepository.findByLoad_Id(testLoadId)).thenReturn(Arrays.asList(bid));
 
         InsufficientCapacityException exception = assertThrows(InsufficientCapacityException.class,
                 () -> bookingService.createBooking(request));
@@ -224,14 +377,81 @@ class BookingServiceImplTest {
         when(loadRepository.findById(testLoadId)).thenReturn(Optional.of(load));
         when(bidRepository.findById(testBidId)).thenReturn(Optional.of(bid));
         when(transporterRepository.findById(testTransporterId)).thenReturn(Optional.of(transporter));
-        when(bidRepository.findByLoad_Id(testLoadId)).thenReturn(Arrays.asList(bid));
-        when(truckRepository.findByTransporterTransporterId(testTransporterId)).thenReturn(Arrays.asList(truck));
+        when(truckRepository.findByTransporterTransporterIdOrderById(testTransporterId)).thenReturn(List.of(truck));
 
         InsufficientCapacityException exception = assertThrows(InsufficientCapacityException.class,
                 () -> bookingService.createBooking(bookingRequestDTO));
         assertNotNull(exception);
     }
 
+    @Test
+    void testCreateBooking_SingleRoundTrip_Success() {
+        when(truckRepository.findByTransporterTransporterIdOrderById(testTransporterId)).thenReturn(List.of(truck));
+        when(bookingCommandRepository.book(any(), eq(testLoadId), eq(testBidId), eq(testTransporterId), eq(2),
+                eq(5000.0), any())).thenReturn(new BookingCommandRow(BookingStatus.OPEN_FOR_BIDS, 2,
+                BidStatus.PENDING, "Flatbed", load.getPickupDate(), load.getDeliveryDate(), true, true, true,
+                BookingStatus.BOOKED, true));
+
+        BookingResponseDTO response = singleRoundTripBookingService.createBooking(bookingRequestDTO);
+
+        assertNotNull(response.bookingId());
+        assertEquals(testLoadId, response.loadId());
+        assertEquals(2, response.allocatedTrucks());
+        assertEquals(BookingStatus.CONFIRMED, response.status());
+        verify(eventPublisher, times(1)).publishEvent(new LoadStatusChangedEvent(testLoadId, BookingStatus.BOOKED));
+        verify(bookingRepository, never()).save(any(Booking.class));
+        verify(loadRepository, never()).findById(any());
+        assertEquals(3, availableDuringLoad());
+    }
+
+    @Test
+    void testCreateBooking_SingleRoundTrip_ReportsFailedCheck() {
+        bid.setStatus(BidStatus.REJECTED);
+        when(bookingCommandRepository.book(any(), any(), any(), any(), anyInt(), anyDouble(), any()))
+                .thenReturn(new BookingCommandRow(BookingStatus.OPEN_FOR_BIDS, 2, BidStatus.REJECTED, "Flatbed",
+                        load.getPickupDate(), load.getDeliveryDate(), true, false, false, null, false));
+
+        InvalidStatusTransitionException exception = assertThrows(InvalidStatusTransitionException.class,
+                () -> singleRoundTripBookingService.createBooking(bookingRequestDTO));
+        assertEquals("Bid is REJECTED. Only PENDING bids can be accepted.", exception.getMessage());
+    }
+
+    @Test
+    void testCreateBooking_SingleRoundTrip_RollsBackWhenTrucksAreHeld() {
+        truck.setCount(1);
+        when(truckRepository.findByTransporterTransporterIdOrderById(testTransporterId)).thenReturn(List.of(truck));
+        when(bookingCommandRepository.book(any(), any(), any(), any(), anyInt(), anyDouble(), any()))
+                .thenReturn(new BookingCommandRow(BookingStatus.OPEN_FOR_BIDS, 2, BidStatus.PENDING, "Flatbed",
+                        load.getPickupDate(), load.getDeliveryDate(), true, true, true, BookingStatus.BOOKED, true));
+
+        InsufficientCapacityException exception = assertThrows(InsufficientCapacityException.class,
+                () -> singleRoundTripBookingService.createBooking(bookingRequestDTO));
+        assertEquals("Insufficient trucks of type Flatbed. Requested: 2, Available: 1", exception.getMessage());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void testCreateBooking_SingleRoundTrip_LoadNotFound() {
+        when(bookingCommandRepository.book(any(), any(), any(), any(), anyInt(), anyDouble(), any()))
+                .thenReturn(new BookingCommandRow(null, null, BidStatus.PENDING, "Flatbed", null, null, true, false,
+                        false, null, false));
+
+        assertThrows(ResourceNotFoundException.class,
+                () -> singleRoundTripBookingService.createBooking(bookingRequestDTO));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void testCreateBooking_SingleRoundTrip_RemainingTrucksTakenConcurrently() {
+        when(truckRepository.findByTransporterTransporterIdOrderById(testTransporterId)).thenReturn(List.of(truck));
+        when(bookingCommandRepository.book(any(), any(), any(), any(), anyInt(), anyDouble(), any()))
+                .thenReturn(new BookingCommandRow(BookingStatus.OPEN_FOR_BIDS, 2, BidStatus.PENDING, "Flatbed",
+                        load.getPickupDate(), load.getDeliveryDate(), true, true, false, null, false));
+
+        assertThrows(LoadAlreadyBookedException.class,
+                () -> singleRoundTripBookingService.createBooking(bookingRequestDTO));
+    }
+
     @Test
     void testGetBookingById_Success() {
         when(bookingRepository.findById(testBookingId)).thenReturn(Optional.of(booking));
@@ -254,6 +474,47 @@ class BookingServiceImplTest {
         verify(bookingRepository, times(1)).findById(testBookingId);
     }
 
+    @Test
+    void testScrollBookings_FirstWindow() {
+        BookingSearchCriteria criteria = new BookingSearchCriteria(null, testTransporterId, null, null, null);
+        BookingResponseDTO last = new BookingResponseDTO(testBookingId, testLoadId, testBidId, testTransporterId, 2,
+                5000.0, BookingStatus.CONFIRMED, booking.getBookedAt(), null);
+        when(bookingRepository.scroll(criteria, ScrollPosition.keyset(), Limit.of(1)))
+                .thenReturn(Window.from(List.of(last), ScrollPosition::offset, true));
+
+        CursorPageResponseDTO<BookingResponseDTO> response = bookingService.scrollBookings(criteria, null, 1);
+
+        assertTrue(response.hasNext());
+        KeysetCursor cursor = KeysetCursor.decode(response.nextCursor());
+        assertEquals(last.bookedAt(), cursor.timestamp());
+        assertEquals(testBookingId, cursor.id());
+    }
+
+    @Test
+    void testScrollBookings_SeeksFromCursor() {
+        BookingSearchCriteria criteria = new BookingSearchCriteria(testLoadId, null, BookingStatus.CONFIRMED, null,
+                null);
+        String cursor = new KeysetCursor(booking.getBookedAt(), testBookingId).encode();
+        ScrollPosition expected = ScrollPosition.forward(
+                Map.of("bookedAt", booking.getBookedAt(), "bookingId", testBookingId));
+        when(bookingRepository.scroll(criteria, expected, Limit.of(100)))
+                .thenReturn(Window.from(List.of(), ScrollPosition::offset, false));
+
+        CursorPageResponseDTO<BookingResponseDTO> response = bookingService.scrollBookings(criteria, cursor, 500);
+
+        assertFalse(response.hasNext());
+        assertNull(response.nextCursor());
+        verify(bookingRepository, times(1)).scroll(criteria, expected, Limit.of(100));
+    }
+
+    @Test
+    void testScrollBookings_InvalidCursor() {
+        BookingSearchCriteria criteria = new BookingSearchCriteria(null, null, null, null, null);
+
+        assertThrows(InvalidCursorException.class,
+                () -> bookingService.scrollBookings(criteria, "not-a-cursor", 20));
+    }
+
     @Test
     void testCancelBooking_Success() {
         load.setStatus(BookingStatus.OPEN_FOR_BIDS);
@@ -261,16 +522,33 @@ class BookingServiceImplTest {
         booking.setStatus(BookingStatus.CONFIRMED);
 
         when(bookingRepository.findById(testBookingId)).thenReturn(Optional.of(booking));
-        when(truckRepository.findByTransporterTransporterId(testTransporterId)).thenReturn(Arrays.asList(truck));
-        when(bookingRepository.save(any(Booking.class))).thenReturn(booking);
+        when(bookingRepository.transitionStatus(testBookingId, BookingStatus.CONFIRMED, BookingStatus.CANCELLED))
+                .thenReturn(1);
+        when(truckRepository.findByTransporterTransporterIdOrderById(testTransporterId)).thenReturn(List.of(truck));
+        truckCapacity.reserve(testTransporterId, "Flatbed", load.getPickupDate(), load.getDeliveryDate(), 2);
 
         BookingResponseDTO response = bookingService.cancelBooking(testBookingId);
 
         assertNotNull(response);
         assertEquals(BookingStatus.CANCELLED, response.status());
         verify(bookingRepository, times(1)).findById(testBookingId);
-        verify(bookingRepository, times(1)).save(any(Booking.class));
-        verify(truckRepository, times(1)).save(any(Truck.class));
+        verify(loadRepository, times(1)).releaseTrucks(testLoadId, 2);
+        assertEquals(5, availableDuringLoad());
+    }
+
+    @Test
+    void testCancelBooking_AlreadyCancelled() {
+        booking.setStatus(BookingStatus.CANCELLED);
+        when(truckRepository.findByTransporterTransporterIdOrderById(testTransporterId)).thenReturn(List.of(truck));
+        truckCapacity.reserve(testTransporterId, "Flatbed", load.getPickupDate(), load.getDeliveryDate(), 2);
+
+        when(bookingRepository.findById(testBookingId)).thenReturn(Optional.of(booking));
+        when(bookingRepository.transitionStatus(testBookingId, BookingStatus.CONFIRMED, BookingStatus.CANCELLED))
+                .thenReturn(0);
+
+        assertThrows(InvalidStatusTransitionException.class, () -> bookingService.cancelBooking(testBookingId));
+        verify(loadRepository, never()).releaseTrucks(any(), anyInt());
+        assertEquals(3, availableDuringLoad());
     }
 
     @Test
@@ -291,11 +569,234 @@ class BookingServiceImplTest {
         booking.setAllocatedTrucks(2);
 
         when(bookingRepository.findById(testBookingId)).thenReturn(Optional.of(booking));
-        when(truckRepository.findByTransporterTransporterId(testTransporterId)).thenReturn(Arrays.asList(truck));
-        when(bookingRepository.save(any(Booking.class))).thenReturn(booking);
+        when(bookingRepository.transitionStatus(testBookingId, BookingStatus.CONFIRMED, BookingStatus.CANCELLED))
+                .thenReturn(1);
+        when(loadRepository.findStatusById(testLoadId)).thenReturn(BookingStatus.OPEN_FOR_BIDS);
 
         bookingService.cancelBooking(testBookingId);
 
-        verify(loadRepository, times(1)).save(any(Load.class));
+        verify(loadRepository, times(1)).releaseTrucks(testLoadId, 2);
+        verify(eventPublisher, times(1)).publishEvent(new LoadStatusChangedEvent(testLoadId, BookingStatus.OPEN_FOR_BIDS));
+    }
+
+    @Test
+    void testAutoAllocate_CoversMostTrucksAtLowestCost() {
+        Transporter other = new Transporter();
+        other.setTransporterId(UUID.randomUUID());
+        Truck otherTrucks = new Truck();
+        otherTrucks.setTruckType("Flatbed");
+        otherTrucks.setCount(2);
+        otherTrucks.setTransporter(other);
+        // Greedy by price per truck would take the 3-truck bid alone and leave a truck uncovered
+        Bid three = pendingBid(transporter, 3, 6000.0);
+        Bid two = pendingBid(transporter, 2, 5000.0);
+        Bid otherTwo = pendingBid(other, 2, 5000.0);
+        Bid oversized = pendingBid(other, 5, 1000.0);
+        load.setTrucksRequired(4);
+        load.setRemainingTrucks(4);
+
+        when(loadRepository.findById(testLoadId)).thenReturn(Optional.of(load));
+        when(bidRepository.findWithTransporterByLoad_IdAndStatus(testLoadId, BidStatus.PENDING))
+                .thenReturn(List.of(three, two, otherTwo, oversized));
+        when(truckRepository.findByTransporterTransporterIdOrderById(testTransporterId)).thenReturn(List.of(truck));
+        when(truckRepository.findByTransporterTransporterIdOrderById(other.getTransporterId()))
+                .thenReturn(List.of(otherTrucks));
+        when(bidRepository.transitionStatuses(List.of(two.getBidId(), otherTwo.getBidId()), BidStatus.PENDING,
+                BidStatus.ACCEPTED)).thenReturn(2);
+        when(loadRepository.reserveTrucks(testLoadId, 4)).thenReturn(1);
+        when(loadRepository.findStatusById(testLoadId)).thenReturn(BookingStatus.BOOKED);
+        when(bookingRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(losingBidRejector.onBooked(testLoadId, BookingStatus.BOOKED)).thenReturn(2);
+
+        AutoAllocationResponseDTO response = bookingService.autoAllocate(testLoadId);
+
+        assertEquals(4, response.allocatedTrucks());
+        assertEquals(10000.0, response.totalCost());
+        assertTrue(response.optimal());
+        assertEquals(BookingStatus.BOOKED, response.loadStatus());
+        assertEquals(2, response.rejectedBids());
+        assertEquals(List.of(two.getBidId(), otherTwo.getBidId()),
+                response.bookings().stream().map(BookingResponseDTO::bidId).toList());
+        assertEquals(3, availableDuringLoad());
+        assertEquals(0, truckCapacity.available(other.getTransporterId(), "Flatbed", load.getPickupDate(),
+                load.getDeliveryDate()));
+    }
+
+    @Test
+    void testAutoAllocate_NoBidFits() {
+        load.setRemainingTrucks(1);
+        when(loadRepository.findById(testLoadId)).thenReturn(Optional.of(load));
+        when(bidRepository.findWithTransporterByLoad_IdAndStatus(testLoadId, BidStatus.PENDING))
+                .thenReturn(List.of(pendingBid(transporter, 2, 3000.0)));
+
+        InsufficientCapacityException exception = assertThrows(InsufficientCapacityException.class,
+                () -> bookingService.autoAllocate(testLoadId));
+        assertEquals("No pending bid fits the load's 1 remaining trucks", exception.getMessage());
+        verify(bidRepository, never()).transitionStatuses(any(), any(), any());
+    }
+
+    @Test
+    void testAutoAllocate_BidTakenConcurrently() {
+        Bid only = pendingBid(transporter, 3, 9000.0);
+        when(loadRepository.findById(testLoadId)).thenReturn(Optional.of(load));
+        when(bidRepository.findWithTransporterByLoad_IdAndStatus(testLoadId, BidStatus.PENDING))
+                .thenReturn(List.of(only));
+        when(truckRepository.findByTransporterTransporterIdOrderById(testTransporterId)).thenReturn(List.of(truck));
+        when(bidRepository.transitionStatuses(List.of(only.getBidId()), BidStatus.PENDING, BidStatus.ACCEPTED))
+                .thenReturn(0);
+
+        assertThrows(InvalidStatusTransitionException.class, () -> bookingService.autoAllocate(testLoadId));
+        verify(loadRepository, never()).reserveTrucks(any(), anyInt());
+        assertEquals(5, availableDuringLoad());
+    }
+
+    @Test
+    void testAwardAuctions_BooksBestScoredBidsOfClosedAuctions() {
+        Transporter other = new Transporter();
+        other.setTransporterId(UUID.randomUUID());
+        other.setRating(3.0);
+        Truck otherTrucks = new Truck();
+        otherTrucks.setTruckType("Flatbed");
+        otherTrucks.setCount(2);
+        otherTrucks.setTransporter(other);
+        // Rating outweighs price under the default weights, so the cheapest bid loses
+        Bid cheapest = pendingBid(other, 3, 3000.0);
+        Bid best = pendingBid(transporter, 2, 4000.0);
+        Bid tooLarge = pendingBid(transporter, 2, 4500.0);
+        Bid single = pendingBid(other, 1, 5000.0);
+        load.setShipperId(UUID.randomUUID());
+        load.setAuctionClosesAt(LocalDateTime.now(clock).minusHours(1));
+        Load stillOpen = new Load();
+        stillOpen.setId(UUID.randomUUID());
+        stillOpen.setAuctionClosesAt(LocalDateTime.now(clock).plusHours(1));
+        List<UUID> loadIds = List.of(testLoadId, stillOpen.getId());
+
+        when(loadRepository.findAllById(loadIds)).thenReturn(List.of(load, stillOpen));
+        when(bidRepository.findWithTransporterByLoad_IdInAndStatus(loadIds, BidStatus.PENDING))
+                .thenReturn(List.of(cheapest, best, tooLarge, single));
+        when(truckRepository.findByTransporterTransporterIdOrderById(testTransporterId)).thenReturn(List.of(truck));
+        when(truckRepository.findByTransporterTransporterIdOrderById(other.getTransporterId()))
+                .thenReturn(List.of(otherTrucks));
+        when(bidRepository.transitionStatuses(List.of(best.getBidId(), single.getBidId()), BidStatus.PENDING,
+                BidStatus.ACCEPTED)).thenReturn(2);
+        when(loadRepository.reserveTrucks(testLoadId, 3)).thenReturn(1);
+        when(loadRepository.findIdsByIdInAndStatus(Set.of(testLoadId), BookingStatus.BOOKED))
+                .thenReturn(List.of(testLoadId));
+        when(bookingRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(losingBidRejector.onBooked(testLoadId, BookingStatus.BOOKED)).thenReturn(2);
+
+        BulkResponseDTO<AutoAllocationResponseDTO> response = bookingService.awardAuctions(loadIds);
+
+        assertEquals(1, response.created());
+        AutoAllocationResponseDTO awarded = response.items().get(0).result();
+        assertEquals(3, awarded.allocatedTrucks());
+        assertEquals(9000.0, awarded.totalCost());
+        assertEquals(BookingStatus.BOOKED, awarded.loadStatus());
+        assertEquals(List.of(best.getBidId(), single.getBidId()),
+                awarded.bookings().stream().map(BookingResponseDTO::bidId).toList());
+        assertEquals(List.of("Auction on load " + stillOpen.getId() + " has not closed"),
+                response.items().get(1).errors());
+        assertEquals(3, availableDuringLoad());
+        assertEquals(1, truckCapacity.available(other.getTransporterId(), "Flatbed", load.getPickupDate(),
+                load.getDeliveryDate()));
+        verify(eventPublisher, times(1)).publishEvent(new LoadStatusChangedEvent(testLoadId, BookingStatus.BOOKED));
+    }
+
+    @Test
+    void testAwardAuctions_ClosedWithoutFittingBids() {
+        load.setShipperId(UUID.randomUUID());
+        load.setRemainingTrucks(1);
+        load.setAuctionClosesAt(LocalDateTime.now(clock));
+        when(loadRepository.findAllById(List.of(testLoadId))).thenReturn(List.of(load));
+        when(bidRepository.findWithTransporterByLoad_IdInAndStatus(List.of(testLoadId), BidStatus.PENDING))
+                .thenReturn(List.of(pendingBid(transporter, 2, 3000.0)));
+
+        BulkResponseDTO<AutoAllocationResponseDTO> response = bookingService.awardAuctions(List.of(testLoadId));
+
+        assertEquals(1, response.failed());
+        assertEquals(List.of("No pending bid fits the load's 1 remaining trucks"), response.items().get(0).errors());
+        verify(bidRepository, never()).transitionStatuses(any(), any(), any());
+        verify(bookingRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void testUpdateStatuses_PickupAndDeliveryInOneBatch() {
+        when(truckRepository.findByTransporterTransporterIdOrderById(testTransporterId)).thenReturn(List.of(truck));
+        truckCapacity.reserve(testTransporterId, "Flatbed", load.getPickupDate(), load.getDeliveryDate(), 2);
+        when(bookingRepository.findTransitionRowsByBookingIdIn(Set.of(testBookingId)))
+                .thenReturn(List.of(transitionRow(BookingStatus.CONFIRMED, BookingStatus.BOOKED)));
+        when(bookingRepository.transitionStatuses(List.of(testBookingId), BookingStatus.CONFIRMED,
+                BookingStatus.COMPLETED)).thenReturn(1);
+        when(loadRepository.startTransit(Set.of(testLoadId))).thenReturn(1);
+        when(loadRepository.completeDelivered(Set.of(testLoadId))).thenReturn(1);
+        when(loadRepository.findIdsByIdInAndStatus(Set.of(testLoadId), BookingStatus.IN_TRANSIT)).thenReturn(List.of());
+        when(loadRepository.findIdsByIdInAndStatus(Set.of(testLoadId), BookingStatus.COMPLETED))
+                .thenReturn(List.of(testLoadId));
+
+        BulkResponseDTO<BookingResponseDTO> response = bookingService.updateStatuses(List.of(
+                new BookingStatusUpdateRequestDTO(testBookingId, BookingStatus.IN_TRANSIT),
+                new BookingStatusUpdateRequestDTO(testBookingId, BookingStatus.COMPLETED)));
+
+        assertEquals(2, response.created());
+        assertEquals(BookingStatus.IN_TRANSIT, response.items().get(0).result().status());
+        assertEquals(BookingStatus.COMPLETED, response.items().get(1).result().status());
+        verify(bookingRepository, times(1)).transitionStatuses(any(), any(), any());
+        verify(eventPublisher, times(1)).publishEvent(new LoadStatusChangedEvent(testLoadId, BookingStatus.COMPLETED));
+        assertEquals(5, availableDuringLoad());
+    }
+
+    @Test
+    void testUpdateStatuses_ReportsInvalidTransitionsAndUnknownBookings() {
+        UUID unknownBookingId = UUID.randomUUID();
+        when(bookingRepository.findTransitionRowsByBookingIdIn(Set.of(testBookingId, unknownBookingId)))
+                .thenReturn(List.of(transitionRow(BookingStatus.IN_TRANSIT, BookingStatus.IN_TRANSIT)));
+
+        BulkResponseDTO<BookingResponseDTO> response = bookingService.updateStatuses(List.of(
+                new BookingStatusUpdateRequestDTO(testBookingId, BookingStatus.CANCELLED),
+                new BookingStatusUpdateRequestDTO(unknownBookingId, BookingStatus.COMPLETED),
+                new BookingStatusUpdateRequestDTO(testBookingId, null)));
+
+        assertEquals(0, response.created());
+        assertEquals(List.of("Booking is IN_TRANSIT and cannot move to CANCELLED"), response.items().get(0).errors());
+        assertEquals(List.of("Booking not found with id: " + unknownBookingId), response.items().get(1).errors());
+        assertEquals(List.of("status: Status is required"), response.items().get(2).errors());
+        verify(bookingRepository, never()).transitionStatuses(any(), any(), any());
+        verify(loadRepository, never()).startTransit(any());
+    }
+
+    @Test
+    void testUpdateStatuses_BookingChangedConcurrently() {
+        when(bookingRepository.findTransitionRowsByBookingIdIn(Set.of(testBookingId)))
+                .thenReturn(List.of(transitionRow(BookingStatus.CONFIRMED, BookingStatus.BOOKED)));
+        when(bookingRepository.transitionStatuses(List.of(testBookingId), BookingStatus.CONFIRMED,
+                BookingStatus.IN_TRANSIT)).thenReturn(0);
+
+        BulkResponseDTO<BookingResponseDTO> response = bookingService.updateStatuses(List.of(
+                new BookingStatusUpdateRequestDTO(testBookingId, BookingStatus.IN_TRANSIT)));
+
+        assertEquals(1, response.failed());
+        assertEquals(List.of("Booking status was changed by another transaction."), response.items().get(0).errors());
+        verify(loadRepository, never()).startTransit(any());
+    }
+
+    private BookingTransitionRow transitionRow(BookingStatus status, BookingStatus loadStatus) {
+        return new BookingTransitionRow(testBookingId, testLoadId, testBidId, testTransporterId, "Flatbed", 2, 5000.0,
+                status, booking.getBookedAt(), load.getPickupDate(), load.getDeliveryDate(), loadStatus);
+    }
+
+    private Bid pendingBid(Transporter owner, int trucksOffered, double proposedRate) {
+        Bid pending = new Bid();
+        pending.setBidId(UUID.randomUUID());
+        pending.setLoad(load);
+        pending.setTransporter(owner);
+        pending.setTruckType("Flatbed");
+        pending.setTrucksOffered(trucksOffered);
+        pending.setProposedRate(proposedRate);
+        pending.setStatus(BidStatus.PENDING);
+        return pending;
+    }
+
+    private int availableDuringLoad() {
+        return truckCapacity.available(testTransporterId, "Flatbed", load.getPickupDate(), load.getDeliveryDate());
     }
 }
@@ -0,0 +1,101 @@
+package com.harsha.tms.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.harsha.tms.dto.response.BulkResponseDTO;
+import com.harsha.tms.exception.BulkLimitExceededException;
+
+import jakarta.validation.Validation;
+import jakarta.validation.constraints.NotBlank;
+
+@ExtendWith(MockitoExtension.class)
+class BulkWriterTest {
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BulkWriter bulkWriter;
+
+    private List<List<String>> chunks;
+
+    @BeforeEach
+    @SuppressWarnings("unused")
+    void setUp() {
+        bulkWriter = new BulkWriter(Validation.buildDefaultValidatorFactory().getValidator(), transactionManager,
+                2, 5);
+        chunks = new ArrayList<>();
+    }
+
+    @Test
+    void testWrite_ChunksValidItems() {
+        BulkResponseDTO<String> response = bulkWriter.write(
+                Arrays.asList(item("a"), item(" "), item("b"), null, item("c")), this::write);
+
+        assertEquals(3, response.created());
+        assertEquals(2, response.failed());
+        assertEquals(Arrays.asList(Arrays.asList("a", "b"), Arrays.asList("c")), chunks);
+        assertEquals("A", response.items().get(0).result());
+        assertEquals(Arrays.asList("name: must not be blank"), response.items().get(1).errors());
+        assertEquals(Arrays.asList("Item is required"), response.items().get(3).errors());
+        assertEquals("C", response.items().get(4).result());
+    }
+
+    @Test
+    void testWrite_FailedChunkRetriedPerItem() {
+        BulkResponseDTO<String> response = bulkWriter.write(Arrays.asList(item("a"), item("boom")), this::write);
+
+        assertEquals(1, response.created());
+        assertEquals("A", response.items().get(0).result());
+        assertNull(response.items().get(1).result());
+        assertEquals(Arrays.asList("cannot write boom"), response.items().get(1).errors());
+    }
+
+    @Test
+    void testWrite_RejectsOversizedRequest() {
+        List<Item> items = Arrays.asList(item("a"), item("b"), item("c"), item("d"), item("e"), item("f"));
+
+        assertThrows(BulkLimitExceededException.class, () -> bulkWriter.write(items, this::write));
+    }
+
+    @Test
+    void testWrite_ReportsRejectedItems() {
+        BulkResponseDTO<String> response = bulkWriter.write(Arrays.asList(item("a"), item("taken")), this::write);
+
+        assertEquals(1, response.created());
+        assertEquals(1, response.failed());
+        assertEquals(Arrays.asList(Arrays.asList("a", "taken")), chunks);
+        assertEquals(Arrays.asList("taken is taken"), response.items().get(1).errors());
+    }
+
+    private List<BulkWriter.Outcome<String>> write(List<Item> chunk) {
+        List<String> names = chunk.stream().map(Item::name).toList();
+        chunks.add(names);
+        if (names.contains("boom")) {
+            throw new IllegalStateException("cannot write boom");
+        }
+        return names.stream()
+                .map(name -> name.equals("taken")
+                        ? BulkWriter.Outcome.<String>failed(name + " is taken")
+                        : BulkWriter.Outcome.ok(name.toUpperCase()))
+                .toList();
+    }
+
+    private static Item item(String name) {
+        return new Item(name);
+    }
+
+    record Item(@NotBlank String name) {
+    }
+}
@@ -0,0 +1,96 @@
+package com.harsha.tms.service;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import org.mockito.Mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.harsha.tms.dto.response.RetryCountsDTO;
+import com.harsha.tms.dto.response.RetryStatsResponseDTO;
+import com.harsha.tms.entity.Load;
+import com.harsha.tms.exception.ResourceNotFoundException;
+
+@ExtendWith(MockitoExtension.class)
+class ConflictRetrierTest {
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ConflictRetrier conflictRetrier;
+
+    private UUID testLoadId;
+
+    @BeforeEach
+    @SuppressWarnings("unused")
+    void setUp() {
+        testLoadId = UUID.randomUUID();
+        conflictRetrier = new ConflictRetrier(transactionManager, 3, Duration.ZERO, Duration.ofMillis(1), 100);
+    }
+
+    @Test
+    void testExecute_RetriesConflictInFreshTransaction() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = conflictRetrier.execute("createBooking", testLoadId, () -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new ObjectOptimisticLockingFailureException(Load.class, testLoadId);
+            }
+            return "booked";
+        });
+
+        assertEquals("booked", result);
+        verify(transactionManager, times(3)).getTransaction(any());
+        RetryStatsResponseDTO stats = conflictRetrier.stats(10);
+        assertEquals(new RetryCountsDTO(2, 1, 0), stats.operations().get("createBooking"));
+        assertEquals(new RetryCountsDTO(2, 1, 0), stats.loads().get(testLoadId));
+    }
+
+    @Test
+    void testExecute_ExhaustedRethrowsConflictAndCountsConflictingLoad() {
+        ObjectOptimisticLockingFailureException conflict = new ObjectOptimisticLockingFailureException(Load.class, testLoadId);
+
+        assertThrows(ObjectOptimisticLockingFailureException.class,
+                () -> conflictRetrier.execute("cancelBooking", null, () -> {
+                    throw conflict;
+                }));
+
+        RetryStatsResponseDTO stats = conflictRetrier.stats(10);
+        assertEquals(new RetryCountsDTO(2, 0, 1), stats.operations().get("cancelBooking"));
+        assertEquals(new RetryCountsDTO(2, 0, 1), stats.loads().get(testLoadId));
+    }
+
+    @Test
+    void testExecute_DoesNotRetryOtherFailures() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(ResourceNotFoundException.class, () -> conflictRetrier.execute("submitBid", testLoadId, () -> {
+            attempts.incrementAndGet();
+            throw new ResourceNotFoundException("Load not found with id: " + testLoadId);
+        }));
+
+        assertEquals(1, attempts.get());
+        assertTrue(conflictRetrier.stats(10).loads().isEmpty());
+    }
+
+    @Test
+    void testExecute_UncontendedLoadsAreNotTracked() {
+        conflictRetrier.execute("submitBid", testLoadId, () -> "ok");
+
+        RetryStatsResponseDTO stats = conflictRetrier.stats(10);
+        assertEquals(new RetryCountsDTO(0, 1, 0), stats.operations().get("submitBid"));
+        assertTrue(stats.loads().isEmpty());
+    }
+}
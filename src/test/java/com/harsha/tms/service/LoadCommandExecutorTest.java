@@ -0,0 +1,84 @@
+package com.harsha.tms.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.harsha.tms.exception.LoadAlreadyBookedException;
+
+class LoadCommandExecutorTest {
+
+    private LoadCommandExecutor executor;
+
+    @AfterEach
+    @SuppressWarnings("unused")
+    void tearDown() {
+        executor.destroy();
+    }
+
+    @Test
+    void testExecute_SerializesCommandsForSameLoad() throws Exception {
+        executor = new LoadCommandExecutor(4);
+        UUID loadId = UUID.randomUUID();
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            int value = i;
+            results.add(callers.submit(() -> executor.execute(loadId, () -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                Thread.onSpinWait();
+                running.decrementAndGet();
+                return value;
+            })));
+        }
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(i, results.get(i).get());
+        }
+        callers.shutdown();
+
+        assertEquals(1, maxRunning.get());
+    }
+
+    @Test
+    void testExecute_RethrowsCommandException() {
+        executor = new LoadCommandExecutor(4);
+        LoadAlreadyBookedException thrown = new LoadAlreadyBookedException("taken");
+
+        LoadAlreadyBookedException exception = assertThrows(LoadAlreadyBookedException.class,
+                () -> executor.execute(UUID.randomUUID(), () -> {
+                    throw thrown;
+                }));
+        assertSame(thrown, exception);
+    }
+
+    @Test
+    void testExecute_NestedCommandRunsInline() {
+        executor = new LoadCommandExecutor(1);
+
+        String result = executor.execute(UUID.randomUUID(),
+                () -> executor.execute(UUID.randomUUID(), () -> Thread.currentThread().getName()));
+
+        assertTrue(result.startsWith("load-lane-"));
+    }
+
+    @Test
+    void testExecute_NoLanesRunsOnCaller() {
+        executor = new LoadCommandExecutor(0);
+
+        assertSame(Thread.currentThread(), executor.execute(UUID.randomUUID(), Thread::currentThread));
+    }
+}
@@ -0,0 +1,205 @@
+package com.harsha.tms.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.harsha.tms.dto.response.BulkResponseDTO;
+import com.harsha.tms.dto.response.LifecycleStatsResponseDTO;
+import com.harsha.tms.entity.BidStatus;
+import com.harsha.tms.entity.BookingStatus;
+import com.harsha.tms.event.LoadPostedEvent;
+import com.harsha.tms.event.LoadStatusChangedEvent;
+import com.harsha.tms.repository.BidRepository;
+import com.harsha.tms.repository.BookingRepository;
+import com.harsha.tms.repository.LoadDeadlineRow;
+import com.harsha.tms.repository.LoadRepository;
+
+@ExtendWith(MockitoExtension.class)
+class LoadLifecycleEngineTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 10, 0);
+
+    @Mock
+    private LoadRepository loadRepository;
+
+    @Mock
+    private BidRepository bidRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private BookingService bookingService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private Clock clock;
+
+    private LoadLifecycleEngine engine;
+
+    @BeforeEach
+    @SuppressWarnings("unused")
+    void setUp() {
+        when(clock.getZone()).thenReturn(ZoneOffset.UTC);
+        at(START);
+        engine = new LoadLifecycleEngine(loadRepository, bidRepository, bookingRepository, bookingService,
+                eventPublisher, transactionManager, clock, Duration.ZERO, 500);
+    }
+
+    @Test
+    void testTick_ExpiresUnbookedAndDepartsBookedLoadsAtPickup() {
+        UUID unbooked = UUID.randomUUID();
+        UUID booked = UUID.randomUUID();
+        UUID travelling = UUID.randomUUID();
+        LocalDateTime pickup = START.plusSeconds(30);
+        when(loadRepository.streamDeadlines(any())).thenReturn(Stream.of(
+                new LoadDeadlineRow(unbooked, BookingStatus.OPEN_FOR_BIDS, pickup, pickup.plusDays(1), null),
+                new LoadDeadlineRow(booked, BookingStatus.BOOKED, pickup, pickup.plusDays(1), null),
+                new LoadDeadlineRow(travelling, BookingStatus.IN_TRANSIT, START.minusDays(1), pickup.plusDays(1),
+                        null)));
+        engine.seed();
+        assertEquals(5, engine.stats().pendingDeadlines());
+
+        LocalDateTime now = at(START.plusMinutes(1));
+        List<UUID> due = List.of(unbooked, booked);
+        when(loadRepository.findIdsPickedUpBy(due, EnumSet.of(BookingStatus.POSTED, BookingStatus.OPEN_FOR_BIDS,
+                BookingStatus.BOOKED), now)).thenReturn(due);
+        when(loadRepository.expireUnbooked(due, now)).thenReturn(1);
+        when(loadRepository.departAtPickup(due, now)).thenReturn(1);
+        when(loadRepository.findIdsByIdInAndStatus(due, BookingStatus.CANCELLED)).thenReturn(List.of(unbooked));
+        when(loadRepository.findIdsByIdInAndStatus(due, BookingStatus.IN_TRANSIT)).thenReturn(List.of(booked));
+
+        engine.tick();
+
+        verify(bidRepository, times(1)).transitionStatusByLoadIds(due, BidStatus.PENDING, BidStatus.REJECTED);
+        verify(bookingRepository, times(1)).transitionStatusByLoadIds(due, BookingStatus.CONFIRMED,
+                BookingStatus.IN_TRANSIT);
+        verify(eventPublisher, times(1)).publishEvent(new LoadStatusChangedEvent(unbooked, BookingStatus.CANCELLED));
+        verify(eventPublisher, times(1)).publishEvent(new LoadStatusChangedEvent(booked, BookingStatus.IN_TRANSIT));
+        LifecycleStatsResponseDTO stats = engine.stats();
+        assertEquals(3, stats.pendingDeadlines());
+        assertEquals(2, stats.firedDeadlines());
+        assertEquals(1, stats.expiredLoads());
+        assertEquals(1, stats.departedLoads());
+        assertEquals(30_000, stats.lastLagMillis());
+    }
+
+    @Test
+    void testTick_AwardsClosedAuctionsBeforePickup() {
+        UUID seeded = UUID.randomUUID();
+        UUID booked = UUID.randomUUID();
+        UUID posted = UUID.randomUUID();
+        LocalDateTime closes = START.plusSeconds(5);
+        LocalDateTime pickup = START.plusSeconds(30);
+        when(loadRepository.streamDeadlines(any())).thenReturn(Stream.of(
+                new LoadDeadlineRow(seeded, BookingStatus.OPEN_FOR_BIDS, pickup, pickup.plusDays(1), closes),
+                new LoadDeadlineRow(booked, BookingStatus.BOOKED, pickup, pickup.plusDays(1), closes)));
+        engine.seed();
+        engine.onLoadPosted(new LoadPostedEvent(posted, pickup, pickup.plusDays(1), closes));
+        assertEquals(8, engine.stats().pendingDeadlines());
+
+        at(START.plusMinutes(1));
+        when(bookingService.awardAuctions(anyList())).thenReturn(new BulkResponseDTO<>(2, 0, List.of()));
+        when(loadRepository.findIdsPickedUpBy(anyCollection(), anyCollection(), any())).thenReturn(List.of());
+
+        engine.tick();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<UUID>> awarded = ArgumentCaptor.forClass(List.class);
+        InOrder order = inOrder(bookingService, loadRepository);
+        order.verify(bookingService).awardAuctions(awarded.capture());
+        order.verify(loadRepository).findIdsPickedUpBy(anyCollection(), anyCollection(), any());
+        assertEquals(Set.of(seeded, posted), Set.copyOf(awarded.getValue()));
+        assertEquals(2, engine.stats().awardedAuctions());
+        assertEquals(3, engine.stats().pendingDeadlines());
+    }
+
+    @Test
+    void testTick_CompletesPostedLoadAtDelivery() {
+        UUID loadId = UUID.randomUUID();
+        engine.onLoadPosted(new LoadPostedEvent(loadId, START.plusSeconds(10), START.plusSeconds(20).plusNanos(1),
+                null));
+
+        at(START.plusSeconds(20));
+        engine.tick();
+        verify(loadRepository, never()).findIdsDeliveredBy(anyCollection(), anyCollection(), any());
+
+        LocalDateTime now = at(START.plusSeconds(21));
+        when(loadRepository.findIdsDeliveredBy(List.of(loadId), EnumSet.of(BookingStatus.BOOKED,
+                BookingStatus.IN_TRANSIT), now)).thenReturn(List.of(loadId));
+        when(loadRepository.completeDelivered(List.of(loadId))).thenReturn(1);
+        when(loadRepository.findIdsByIdInAndStatus(List.of(loadId), BookingStatus.COMPLETED))
+                .thenReturn(List.of(loadId));
+
+        engine.tick();
+
+        verify(bookingRepository, times(1)).transitionStatusByLoadIds(List.of(loadId), BookingStatus.IN_TRANSIT,
+                BookingStatus.COMPLETED);
+        verify(bookingRepository, times(1)).transitionStatusByLoadIds(List.of(loadId), BookingStatus.CONFIRMED,
+                BookingStatus.COMPLETED);
+        verify(eventPublisher, times(1)).publishEvent(new LoadStatusChangedEvent(loadId, BookingStatus.COMPLETED));
+        assertEquals(1, engine.stats().completedLoads());
+        assertEquals(0, engine.stats().pendingDeadlines());
+    }
+
+    @Test
+    void testTick_RetriesFailedBatchWithItsDelivery() {
+        UUID loadId = UUID.randomUUID();
+        engine.onLoadPosted(new LoadPostedEvent(loadId, START.plusSeconds(10), START.plusDays(1), null));
+        when(loadRepository.findIdsPickedUpBy(any(), any(), any()))
+                .thenThrow(new QueryTimeoutException("timed out"))
+                .thenReturn(List.of());
+
+        at(START.plusSeconds(10));
+        engine.tick();
+
+        assertEquals(1, engine.stats().failedBatches());
+        assertEquals(3, engine.stats().pendingDeadlines());
+
+        at(START.plusSeconds(40));
+        engine.tick();
+
+        verify(loadRepository, times(2)).findIdsPickedUpBy(any(), any(), any());
+        verify(loadRepository, times(1)).findIdsDeliveredBy(any(), any(), any());
+        assertEquals(1, engine.stats().pendingDeadlines());
+    }
+
+    private LocalDateTime at(LocalDateTime time) {
+        Instant instant = time.toInstant(ZoneOffset.UTC);
+        when(clock.instant()).thenReturn(instant);
+        return time;
+    }
+}
@@ -6,46 +6,102 @@ import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import static org.mockito.ArgumentMatchers.any;
-import org.mockito.InjectMocks;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.eq;
 import org.mockito.Mock;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import com.harsha.tms.dto.request.LoadRequestDTO;
+import com.harsha.tms.dto.response.BidResponseDTO;
+import com.harsha.tms.dto.response.BulkResponseDTO;
+import com.harsha.tms.dto.response.CapableTransporterResponseDTO;
+import com.harsha.tms.dto.response.CursorPageResponseDTO;
 import com.harsha.tms.dto.response.LoadResponseDTO;
+import com.harsha.tms.entity.Bid;
+import com.harsha.tms.entity.BidStatus;
 import com.harsha.tms.entity.BookingStatus;
 import com.harsha.tms.entity.Load;
+import com.harsha.tms.entity.Transporter;
 import com.harsha.tms.entity.WeightUnit;
+import com.harsha.tms.event.BidsRejectedEvent;
+import com.harsha.tms.event.LoadPostedEvent;
+import com.harsha.tms.exception.InvalidCursorException;
 import com.harsha.tms.exception.ResourceNotFoundException;
+import com.harsha.tms.repository.BidRepository;
+import com.harsha.tms.repository.BookingRepository;
 import com.harsha.tms.repository.LoadRepository;
+import com.harsha.tms.repository.TransporterCapacityRow;
+import com.harsha.tms.repository.TruckAllocationRow;
+import com.harsha.tms.repository.TruckRepository;
 import com.harsha.tms.service.impl.LoadServiceImpl;
 
+import jakarta.validation.Validation;
+
 @ExtendWith(MockitoExtension.class)
 class LoadServiceImplTest {
 
     @Mock
     private LoadRepository loadRepository;
 
+    @Mock
+    private BidRepository bidRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private TruckRepository truckRepository;
+
+    @Mock
+    private TruckCapacity truckCapacity;
+
+    @Mock
+    private BidScorerRegistry bidScorerRegistry;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @Mock
     private Clock clock;
 
-    @InjectMocks
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BidLeaderboard bidLeaderboard;
+
+    private BulkWriter bulkWriter;
+
     private LoadServiceImpl loadService;
 
     private UUID testShipperId;
@@ -63,6 +119,14 @@ class LoadServiceImplTest {
         when(clock.instant()).thenReturn(fixedClock.instant());
         when(clock.getZone()).thenReturn(fixedClock.getZone());
 
+        lenient().when(bidScorerRegistry.scorerFor(any())).thenReturn(WeightedBidScorer.DEFAULT);
+
+        bidLeaderboard = new BidLeaderboard();
+        bulkWriter = new BulkWriter(Validation.buildDefaultValidatorFactory().getValidator(), transactionManager,
+                500, 1000);
+        loadService = new LoadServiceImpl(loadRepository, bidRepository, bookingRepository, truckRepository, truckCapacity,
+                bidLeaderboard, bidScorerRegistry, bulkWriter, eventPublisher, clock, true);
+
         loadRequestDTO = new LoadRequestDTO(
                 testShipperId,
                 "New York",
@@ -73,7 +137,8 @@ class LoadServiceImplTest {
                 LocalDateTime.now().plusDays(1),
                 LocalDateTime.now().plusDays(5),
                 BigDecimal.valueOf(5000),
-                2
+                2,
+                null
         );
 
         load = new Load();
@@ -108,6 +173,53 @@ class LoadServiceImplTest {
         assertEquals("Electronics", response.cargoType());
         assertEquals(BookingStatus.POSTED, response.status());
         verify(loadRepository, times(1)).save(any(Load.class));
+        verify(eventPublisher, times(1)).publishEvent(
+                new LoadPostedEvent(testLoadId, load.getPickupDate(), load.getDeliveryDate(), null));
+    }
+
+    @Test
+    void testCreateLoads_PartialSuccess() {
+        LoadRequestDTO invalid = new LoadRequestDTO(null, "New York", "Los Angeles", BigDecimal.valueOf(1000),
+                WeightUnit.KG, "Electronics", LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(5),
+                BigDecimal.valueOf(5000), 0, null);
+        when(loadRepository.saveAll(any())).thenAnswer(invocation -> {
+            List<Load> loads = invocation.getArgument(0);
+            loads.forEach(saved -> saved.setId(UUID.randomUUID()));
+            return loads;
+        });
+
+        BulkResponseDTO<LoadResponseDTO> response = loadService.createLoads(
+                Arrays.asList(loadRequestDTO, invalid, loadRequestDTO));
+
+        assertEquals(2, response.created());
+        assertEquals(1, response.failed());
+        assertEquals(BookingStatus.POSTED, response.items().get(0).result().status());
+        assertEquals(2, response.items().get(2).result().remainingTrucks());
+        assertNull(response.items().get(1).result());
+        assertEquals(Arrays.asList("shipperId: Shipper ID is required", "trucksRequired: At least 1 truck is required"),
+                response.items().get(1).errors());
+        verify(loadRepository, times(1)).saveAll(any());
+    }
+
+    @Test
+    void testCreateLoads_RejectsAuctionClosingAtOrAfterPickup() {
+        LocalDateTime pickup = LocalDateTime.now().plusDays(1);
+        LoadRequestDTO closesAtPickup = new LoadRequestDTO(testShipperId, "New York", "Los Angeles",
+                BigDecimal.valueOf(1000), WeightUnit.KG, "Electronics", pickup, pickup.plusDays(4),
+                BigDecimal.valueOf(5000), 2, pickup);
+        LoadRequestDTO closesAfterPickup = new LoadRequestDTO(testShipperId, "New York", "Los Angeles",
+                BigDecimal.valueOf(1000), WeightUnit.KG, "Electronics", pickup, pickup.plusDays(4),
+                BigDecimal.valueOf(5000), 2, pickup.plusHours(1));
+
+        BulkResponseDTO<LoadResponseDTO> response = loadService.createLoads(
+                Arrays.asList(closesAtPickup, closesAfterPickup));
+
+        assertEquals(0, response.created());
+        assertEquals(Arrays.asList("auctionClosingBeforePickup: Auction must close before pickup"),
+                response.items().get(0).errors());
+        assertEquals(Arrays.asList("auctionClosingBeforePickup: Auction must close before pickup"),
+                response.items().get(1).errors());
+        verify(loadRepository, never()).saveAll(any());
     }
 
     @Test
@@ -157,53 +269,88 @@ class LoadServiceImplTest {
     @Test
     void testListLoads_NoFilters() {
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Load> page = new PageImpl<>(Arrays.asList(load));
-        when(loadRepository.findAll(pageable)).thenReturn(page);
+        Page<LoadResponseDTO> page = new PageImpl<>(Arrays.asList(response(load)));
+        when(loadRepository.findAllBy(pageable)).thenReturn(page);
 
         Page<LoadResponseDTO> response = loadService.listLoads(null, null, pageable);
 
         assertNotNull(response);
         assertEquals(1, response.getTotalElements());
-        verify(loadRepository, times(1)).findAll(pageable);
+        verify(loadRepository, times(1)).findAllBy(pageable);
     }
 
     @Test
     void testListLoads_FilterByShipperId() {
         Pageable pageable = PageRequest.of(0, 10);
-        when(loadRepository.findByShipperId(testShipperId)).thenReturn(Arrays.asList(load));
+        when(loadRepository.findByShipperId(testShipperId, pageable)).thenReturn(new PageImpl<>(Arrays.asList(response(load))));
 
         Page<LoadResponseDTO> response = loadService.listLoads(testShipperId, null, pageable);
 
         assertNotNull(response);
         assertEquals(1, response.getTotalElements());
         assertEquals(testShipperId, response.getContent().get(0).shipperId());
-        verify(loadRepository, times(1)).findByShipperId(testShipperId);
+        verify(loadRepository, times(1)).findByShipperId(testShipperId, pageable);
     }
 
     @Test
     void testListLoads_FilterByStatus() {
         Pageable pageable = PageRequest.of(0, 10);
-        when(loadRepository.findByStatus(BookingStatus.POSTED)).thenReturn(Arrays.asList(load));
+        when(loadRepository.findByStatus(BookingStatus.POSTED, pageable)).thenReturn(new PageImpl<>(Arrays.asList(response(load))));
 
         Page<LoadResponseDTO> response = loadService.listLoads(null, BookingStatus.POSTED, pageable);
 
         assertNotNull(response);
         assertEquals(1, response.getTotalElements());
         assertEquals(BookingStatus.POSTED, response.getContent().get(0).status());
-        verify(loadRepository, times(1)).findByStatus(BookingStatus.POSTED);
+        verify(loadRepository, times(1)).findByStatus(BookingStatus.POSTED, pageable);
     }
 
     @Test
     void testListLoads_FilterByShipperIdAndStatus() {
         Pageable pageable = PageRequest.of(0, 10);
-        when(loadRepository.findByShipperIdAndStatus(testShipperId, BookingStatus.POSTED))
-                .thenReturn(Arrays.asList(load));
+        when(loadRepository.findByShipperIdAndStatus(testShipperId, BookingStatus.POSTED, pageable))
+                .thenReturn(new PageImpl<>(Arrays.asList(response(load))));
 
         Page<LoadResponseDTO> response = loadService.listLoads(testShipperId, BookingStatus.POSTED, pageable);
 
         assertNotNull(response);
         assertEquals(1, response.getTotalElements());
-        verify(loadRepository, times(1)).findByShipperIdAndStatus(testShipperId, BookingStatus.POSTED);
+        verify(loadRepository, times(1)).findByShipperIdAndStatus(testShipperId, BookingStatus.POSTED, pageable);
+    }
+
+    @Test
+    void testScrollLoads_FirstPageReturnsNextCursor() {
+        when(loadRepository.findByStatus(eq(BookingStatus.POSTED), eq(ScrollPosition.keyset()), eq(Limit.of(1)), any(Sort.class)))
+                .thenReturn(Window.from(Arrays.asList(response(load)), ScrollPosition::offset, true));
+
+        CursorPageResponseDTO<LoadResponseDTO> response = loadService.scrollLoads(null, BookingStatus.POSTED, null, 1);
+
+        assertNotNull(response);
+        assertEquals(1, response.size());
+        assertTrue(response.hasNext());
+        KeysetCursor cursor = KeysetCursor.decode(response.nextCursor());
+        assertEquals(load.getDatePosted(), cursor.timestamp());
+        assertEquals(testLoadId, cursor.id());
+    }
+
+    @Test
+    void testScrollLoads_SeeksFromCursor() {
+        String cursor = new KeysetCursor(load.getDatePosted(), testLoadId).encode();
+        ScrollPosition expected = ScrollPosition.forward(Map.of("datePosted", load.getDatePosted(), "id", testLoadId));
+        when(loadRepository.findByShipperId(eq(testShipperId), eq(expected), eq(Limit.of(20)), any(Sort.class)))
+                .thenReturn(Window.from(Arrays.asList(response(load)), ScrollPosition::offset, false));
+
+        CursorPageResponseDTO<LoadResponseDTO> response = loadService.scrollLoads(testShipperId, null, cursor, 20);
+
+        assertFalse(response.hasNext());
+        assertNull(response.nextCursor());
+        verify(loadRepository, times(1)).findByShipperId(eq(testShipperId), eq(expected), eq(Limit.of(20)), any(Sort.class));
+    }
+
+    @Test
+    void testScrollLoads_InvalidCursor() {
+        assertThrows(InvalidCursorException.class,
+            () -> loadService.scrollLoads(null, null, "not-a-cursor", 20));
     }
 
     @Test
@@ -220,6 +367,26 @@ class LoadServiceImplTest {
         verify(loadRepository, times(1)).save(any(Load.class));
     }
 
+    @Test
+    void testCancelLoad_CascadesToBidsBookingsAndTrucks() {
+        when(loadRepository.findById(testLoadId)).thenReturn(Optional.of(load));
+        when(loadRepository.save(any(Load.class))).thenReturn(load);
+        when(bidRepository.transitionStatusByLoadId(testLoadId, BidStatus.PENDING, BidStatus.REJECTED))
+                .thenReturn(5000);
+        UUID transporterId = UUID.randomUUID();
+        when(bookingRepository.sumAllocatedTrucksByLoadId(testLoadId, BookingStatus.CONFIRMED))
+                .thenReturn(List.of(new TruckAllocationRow(transporterId, "Flatbed", 3L)));
+
+        loadService.cancelLoad(testLoadId);
+
+        verify(bookingRepository, times(1))
+                .transitionStatusByLoadId(testLoadId, BookingStatus.CONFIRMED, BookingStatus.CANCELLED);
+        verify(truckCapacity, times(1)).release(transporterId, "Flatbed", load.getPickupDate(),
+                load.getDeliveryDate(), 3);
+        verify(eventPublisher, times(1)).publishEvent(new BidsRejectedEvent(testLoadId, 5000));
+        assertEquals(BookingStatus.CANCELLED, load.getStatus());
+    }
+
     @Test
     void testCancelLoad_NotFound() {
         when(loadRepository.findById(testLoadId)).thenReturn(Optional.empty());
@@ -229,4 +396,176 @@ class LoadServiceImplTest {
         assertNotNull(exception);
         verify(loadRepository, times(1)).findById(testLoadId);
     }
+
+    @Test
+    void testGetBestBids_RankedInDatabase() {
+        Bid bid = bid(4000.0, 4.0);
+        load.setStatus(BookingStatus.BOOKED);
+        when(loadRepository.findById(testLoadId)).thenReturn(Optional.of(load));
+        when(bidRepository.findTopScoredByLoadId(eq(testLoadId), anyDouble(), anyDouble(), anyDouble(),
+                eq(0.5), eq(Limit.of(3))))
+                .thenReturn(Arrays.asList(bid));
+
+        List<BidResponseDTO> response = loadService.getBestBids(testLoadId, 3, 0.5);
+
+        assertEquals(1, response.size());
+        assertEquals(bid.getBidId(), response.get(0).bidId());
+        verify(bidRepository, never()).findWithTransporterByLoad_Id(testLoadId);
+    }
+
+    @Test
+    void testGetBestBids_RankedInMemory() {
+        loadService = new LoadServiceImpl(loadRepository, bidRepository, bookingRepository, truckRepository, truckCapacity,
+                bidLeaderboard, bidScorerRegistry, bulkWriter, eventPublisher, clock, false);
+        load.setStatus(BookingStatus.BOOKED);
+        Bid cheap = bid(1000.0, 3.0);
+        Bid expensive = bid(9000.0, 3.0);
+        Bid wellRated = bid(1000.0, 5.0);
+        when(loadRepository.findById(testLoadId)).thenReturn(Optional.of(load));
+        when(bidRepository.findWithTransporterByLoad_Id(testLoadId))
+                .thenReturn(Arrays.asList(cheap, expensive, wellRated));
+
+        List<BidResponseDTO> response = loadService.getBestBids(testLoadId, 2, null);
+
+        assertEquals(2, response.size());
+        assertEquals(wellRated.getBidId(), response.get(0).bidId());
+        assertEquals(cheap.getBidId(), response.get(1).bidId());
+        assertEquals(0, bidLeaderboard.size());
+    }
+
+    @Test
+    void testGetBestBids_OpenLoadServedFromLeaderboard() {
+        Bid cheap = bid(1000.0, 3.0);
+        Bid expensive = bid(9000.0, 3.0);
+        load.setStatus(BookingStatus.OPEN_FOR_BIDS);
+        when(loadRepository.findById(testLoadId)).thenReturn(Optional.of(load));
+        when(loadRepository.findStatusById(testLoadId)).thenReturn(BookingStatus.OPEN_FOR_BIDS);
+        when(bidRepository.findWithTransporterByLoad_Id(testLoadId)).thenReturn(Arrays.asList(expensive, cheap));
+
+        List<BidResponseDTO> first = loadService.getBestBids(testLoadId, 1, null);
+        List<BidResponseDTO> second = loadService.getBestBids(testLoadId, null, null);
+
+        assertEquals(cheap.getBidId(), first.get(0).bidId());
+        assertEquals(2, second.size());
+        verify(loadRepository, times(1)).findById(testLoadId);
+        verify(bidRepository, times(1)).findWithTransporterByLoad_Id(testLoadId);
+        verify(bidRepository, never()).findTopScoredByLoadId(any(), anyDouble(), anyDouble(), anyDouble(),
+                anyDouble(), any(Limit.class));
+    }
+
+    @Test
+    void testGetBestBids_LoadClosedWhileBoardWasBuiltIsNotCached() {
+        Bid cheap = bid(1000.0, 3.0);
+        load.setStatus(BookingStatus.OPEN_FOR_BIDS);
+        when(loadRepository.findById(testLoadId)).thenReturn(Optional.of(load));
+        when(loadRepository.findStatusById(testLoadId)).thenReturn(BookingStatus.BOOKED);
+        when(bidRepository.findWithTransporterByLoad_Id(testLoadId)).thenReturn(Arrays.asList(cheap));
+
+        List<BidResponseDTO> response = loadService.getBestBids(testLoadId, null, null);
+
+        assertEquals(cheap.getBidId(), response.get(0).bidId());
+        assertEquals(0, bidLeaderboard.size());
+    }
+
+    @Test
+    void testGetBestBids_CoveragePolicyRankedInMemory() {
+        when(bidScorerRegistry.scorerFor(testShipperId)).thenReturn(new WeightedBidScorer(1000.0, 0.0, 10.0, 0.0));
+        load.setStatus(BookingStatus.BOOKED);
+        Bid cheap = bid(1000.0, 3.0);
+        Bid fullCover = bid(2000.0, 3.0);
+        fullCover.setTrucksOffered(2);
+        when(loadRepository.findById(testLoadId)).thenReturn(Optional.of(load));
+        when(bidRepository.findWithTransporterByLoad_Id(testLoadId)).thenReturn(Arrays.asList(cheap, fullCover));
+
+        List<BidResponseDTO> response = loadService.getBestBids(testLoadId, 1, null);
+
+        assertEquals(fullCover.getBidId(), response.get(0).bidId());
+        verify(bidRepository, never()).findTopScoredByLoadId(any(), anyDouble(), anyDouble(), anyDouble(),
+                anyDouble(), any(Limit.class));
+    }
+
+    @Test
+    void testGetBestBids_LoadNotFound() {
+        when(loadRepository.findById(testLoadId)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> loadService.getBestBids(testLoadId, null, null));
+    }
+
+    @Test
+    void testGetCapableTransporters_SkipsTransportersBookedOverTheWindow() {
+        TransporterCapacityRow best = new TransporterCapacityRow(new UUID(0, 1), "Best", 4.9, 6L);
+        TransporterCapacityRow busy = new TransporterCapacityRow(new UUID(0, 2), "Busy", 4.7, 4L);
+        TransporterCapacityRow next = new TransporterCapacityRow(new UUID(0, 3), "Next", 4.2, 2L);
+        TransporterCapacityRow last = new TransporterCapacityRow(new UUID(0, 4), "Last", 3.0, 3L);
+        when(loadRepository.findById(testLoadId)).thenReturn(Optional.of(load));
+        when(truckRepository.streamByTruckTypeRankedByRating("Flatbed", 2, RatingCursor.FIRST.rating(),
+                RatingCursor.FIRST.id())).thenReturn(Stream.of(best, busy, next, last));
+        when(truckCapacity.available(best.transporterId(), "Flatbed", load.getPickupDate(), load.getDeliveryDate()))
+                .thenReturn(5);
+        when(truckCapacity.available(busy.transporterId(), "Flatbed", load.getPickupDate(), load.getDeliveryDate()))
+                .thenReturn(1);
+        when(truckCapacity.available(next.transporterId(), "Flatbed", load.getPickupDate(), load.getDeliveryDate()))
+                .thenReturn(2);
+        when(truckCapacity.available(last.transporterId(), "Flatbed", load.getPickupDate(), load.getDeliveryDate()))
+                .thenReturn(3);
+
+        CursorPageResponseDTO<CapableTransporterResponseDTO> response =
+                loadService.getCapableTransporters(testLoadId, "Flatbed", null, null, 2);
+
+        assertEquals(List.of(best.transporterId(), next.transporterId()),
+                response.content().stream().map(CapableTransporterResponseDTO::transporterId).toList());
+        assertEquals(6, response.content().get(0).fleet());
+        assertEquals(5, response.content().get(0).available());
+        assertTrue(response.hasNext());
+        assertEquals(new RatingCursor(4.2, next.transporterId()), RatingCursor.decode(response.nextCursor()));
+    }
+
+    @Test
+    void testGetCapableTransporters_ResumesFromCursor() {
+        TransporterCapacityRow row = new TransporterCapacityRow(new UUID(0, 4), "Last", 3.0, 3L);
+        RatingCursor cursor = new RatingCursor(4.2, new UUID(0, 3));
+        when(loadRepository.findById(testLoadId)).thenReturn(Optional.of(load));
+        when(truckRepository.streamByTruckTypeRankedByRating("Flatbed", 3, 4.2, cursor.id()))
+                .thenReturn(Stream.of(row));
+        when(truckCapacity.available(row.transporterId(), "Flatbed", load.getPickupDate(), load.getDeliveryDate()))
+                .thenReturn(3);
+
+        CursorPageResponseDTO<CapableTransporterResponseDTO> response =
+                loadService.getCapableTransporters(testLoadId, "Flatbed", 3, cursor.encode(), 2);
+
+        assertEquals(1, response.size());
+        assertFalse(response.hasNext());
+        assertNull(response.nextCursor());
+    }
+
+    @Test
+    void testGetCapableTransporters_InvalidCursor() {
+        when(loadRepository.findById(testLoadId)).thenReturn(Optional.of(load));
+
+        assertThrows(InvalidCursorException.class,
+                () -> loadService.getCapableTransporters(testLoadId, "Flatbed", null, "not-a-cursor", 20));
+    }
+
+    private Bid bid(double proposedRate, double rating) {
+        Transporter transporter = new Transporter();
+        transporter.setTransporterId(UUID.randomUUID());
+        transporter.setRating(rating);
+
+        Bid bid = new Bid();
+        bid.setBidId(UUID.randomUUID());
+        bid.setLoad(load);
+        bid.setTransporter(transporter);
+        bid.setProposedRate(proposedRate);
+        bid.setTrucksOffered(1);
+        bid.setTruckType("Flatbed");
+        bid.setStatus(BidStatus.PENDING);
+        return bid;
+    }
+
+    private LoadResponseDTO response(Load load) {
+        return new LoadResponseDTO(load.getId(), load.getShipperId(), load.getPickupLocation(),
+                load.getDeliveryLocation(), load.getWeight(), load.getWeightUnit(), load.getCargoType(),
+                load.getPickupDate(), load.getDeliveryDate(), load.getOfferedPrice(), load.getTrucksRequired(),
+                load.getRemainingTrucks(), load.getStatus(), load.getDatePosted(), load.getAuctionClosesAt());
+    }
 }
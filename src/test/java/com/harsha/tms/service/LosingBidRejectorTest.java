@@ -0,0 +1,83 @@
+package com.harsha.tms.service;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import org.mockito.Mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.harsha.tms.entity.BidStatus;
+import com.harsha.tms.entity.BookingStatus;
+import com.harsha.tms.event.BidsRejectedEvent;
+import com.harsha.tms.event.LoadStatusChangedEvent;
+import com.harsha.tms.repository.BidRepository;
+
+@ExtendWith(MockitoExtension.class)
+class LosingBidRejectorTest {
+
+    @Mock
+    private BidRepository bidRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ConflictRetrier conflictRetrier;
+
+    private UUID testLoadId;
+
+    @BeforeEach
+    @SuppressWarnings("unused")
+    void setUp() {
+        testLoadId = UUID.randomUUID();
+        conflictRetrier = new ConflictRetrier(transactionManager, 4, Duration.ZERO, Duration.ofMillis(1), 100);
+    }
+
+    @Test
+    void testOnBooked_RejectsPendingBidsOfBookedLoad() {
+        LosingBidRejector rejector = new LosingBidRejector(bidRepository, eventPublisher, conflictRetrier, false);
+        when(bidRepository.transitionStatusByLoadId(testLoadId, BidStatus.PENDING, BidStatus.REJECTED)).thenReturn(3);
+
+        assertEquals(3, rejector.onBooked(testLoadId, BookingStatus.BOOKED));
+        verify(eventPublisher, times(1)).publishEvent(new BidsRejectedEvent(testLoadId, 3));
+        rejector.onLoadStatusChanged(new LoadStatusChangedEvent(testLoadId, BookingStatus.BOOKED));
+        verify(bidRepository, times(1)).transitionStatusByLoadId(any(), any(), any());
+    }
+
+    @Test
+    void testOnBooked_LeavesBidsWhileTrucksRemain() {
+        LosingBidRejector rejector = new LosingBidRejector(bidRepository, eventPublisher, conflictRetrier, false);
+
+        assertEquals(0, rejector.onBooked(testLoadId, BookingStatus.OPEN_FOR_BIDS));
+        verify(bidRepository, never()).transitionStatusByLoadId(any(), any(), any());
+    }
+
+    @Test
+    void testOnBooked_DeferredRejectsAfterCommit() {
+        LosingBidRejector rejector = new LosingBidRejector(bidRepository, eventPublisher, conflictRetrier, true);
+        when(bidRepository.transitionStatusByLoadId(testLoadId, BidStatus.PENDING, BidStatus.REJECTED)).thenReturn(0);
+
+        assertNull(rejector.onBooked(testLoadId, BookingStatus.BOOKED));
+        verify(bidRepository, never()).transitionStatusByLoadId(any(), any(), any());
+
+        rejector.onLoadStatusChanged(new LoadStatusChangedEvent(testLoadId, BookingStatus.OPEN_FOR_BIDS));
+        rejector.onLoadStatusChanged(new LoadStatusChangedEvent(testLoadId, BookingStatus.BOOKED));
+        verify(bidRepository, times(1)).transitionStatusByLoadId(testLoadId, BidStatus.PENDING, BidStatus.REJECTED);
+        verify(transactionManager, times(1)).getTransaction(any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+}
@@ -0,0 +1,90 @@
+package com.harsha.tms.service;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import com.harsha.tms.dto.request.ScoringPolicyRequestDTO;
+import com.harsha.tms.dto.response.ScoringPolicyResponseDTO;
+import com.harsha.tms.entity.BidScoringPolicy;
+import com.harsha.tms.event.ScoringPolicyChangedEvent;
+import com.harsha.tms.repository.BidScoringPolicyRepository;
+import com.harsha.tms.service.impl.ScoringPolicyServiceImpl;
+
+@ExtendWith(MockitoExtension.class)
+class ScoringPolicyServiceImplTest {
+
+    @Mock
+    private BidScoringPolicyRepository policyRepository;
+
+    @Mock
+    private BidRescoringJob bidRescoringJob;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private Clock clock;
+
+    @InjectMocks
+    private ScoringPolicyServiceImpl scoringPolicyService;
+
+    private UUID testShipperId;
+
+    @BeforeEach
+    @SuppressWarnings("unused")
+    void setUp() {
+        testShipperId = UUID.randomUUID();
+
+        Clock fixedClock = Clock.fixed(Instant.parse("2024-01-01T10:00:00Z"), ZoneId.systemDefault());
+        lenient().when(clock.instant()).thenReturn(fixedClock.instant());
+        lenient().when(clock.getZone()).thenReturn(fixedClock.getZone());
+    }
+
+    @Test
+    void testGetPolicy_DefaultsWhenMissing() {
+        when(policyRepository.findByShipperId(testShipperId)).thenReturn(Optional.empty());
+
+        ScoringPolicyResponseDTO response = scoringPolicyService.getPolicy(testShipperId);
+
+        assertEquals(ScoreWeights.PRICE_WEIGHT, response.priceWeight());
+        assertEquals(ScoreWeights.RATING_WEIGHT, response.ratingWeight());
+        assertEquals(0, response.version());
+        assertNull(response.updatedAt());
+    }
+
+    @Test
+    void testUpdatePolicy_PublishesChange() {
+        when(policyRepository.findByShipperId(testShipperId)).thenReturn(Optional.empty());
+        when(policyRepository.saveAndFlush(any(BidScoringPolicy.class))).thenAnswer(invocation -> {
+            BidScoringPolicy saved = invocation.getArgument(0);
+            saved.setVersion(1L);
+            return saved;
+        });
+
+        ScoringPolicyResponseDTO response = scoringPolicyService.updatePolicy(testShipperId,
+                new ScoringPolicyRequestDTO(500.0, 1.0, 2.0, 0.1));
+
+        assertEquals(testShipperId, response.shipperId());
+        assertEquals(2.0, response.coverageWeight());
+        assertEquals(1L, response.version());
+        verify(eventPublisher, times(1)).publishEvent(new ScoringPolicyChangedEvent(response));
+    }
+}
@@ -0,0 +1,207 @@
+package com.harsha.tms.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.harsha.tms.dto.request.BookingRequestDTO;
+import com.harsha.tms.dto.response.BookingResponseDTO;
+import com.harsha.tms.entity.Bid;
+import com.harsha.tms.entity.BidStatus;
+import com.harsha.tms.entity.BookingStatus;
+import com.harsha.tms.entity.Load;
+import com.harsha.tms.entity.Transporter;
+import com.harsha.tms.entity.Truck;
+import com.harsha.tms.entity.WeightUnit;
+import com.harsha.tms.exception.InsufficientCapacityException;
+import com.harsha.tms.exception.InvalidStatusTransitionException;
+import com.harsha.tms.repository.BidRepository;
+import com.harsha.tms.repository.BookingRepository;
+import com.harsha.tms.repository.LoadRepository;
+import com.harsha.tms.repository.TransporterRepository;
+import com.harsha.tms.repository.TruckRepository;
+
+// Books through the H2 routine for real, so each booking commits; the database is this class's own
+@SpringBootTest(properties = {
+        "tms.booking.single-round-trip=true",
+        "tms.lifecycle.tick=0",
+        "spring.datasource.url=jdbc:h2:mem:single-round-trip"
+})
+class SingleRoundTripBookingTest {
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private LoadRepository loadRepository;
+
+    @Autowired
+    private BidRepository bidRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private TransporterRepository transporterRepository;
+
+    @Autowired
+    private TruckRepository truckRepository;
+
+    private Transporter transporter;
+    private Load load;
+    private Bid bid;
+    private Bid otherBid;
+
+    @BeforeEach
+    @SuppressWarnings("unused")
+    void setUp() {
+        transporter = new Transporter();
+        transporter.setCompanyName("Test Transporter");
+        transporter.setRating(4.5);
+        transporter = transporterRepository.save(transporter);
+
+        Truck truck = new Truck();
+        truck.setTruckType("Flatbed");
+        truck.setCount(16);
+        truck.setTransporter(transporter);
+        truckRepository.save(truck);
+
+        LocalDateTime pickup = LocalDateTime.now().plusDays(1);
+        load = new Load();
+        load.setShipperId(UUID.randomUUID());
+        load.setPickupLocation("New York");
+        load.setDeliveryLocation("Los Angeles");
+        load.setWeight(BigDecimal.valueOf(1000));
+        load.setWeightUnit(WeightUnit.KG);
+        load.setCargoType("Electronics");
+        load.setPickupDate(pickup);
+        load.setDeliveryDate(pickup.plusDays(2));
+        load.setOfferedPrice(BigDecimal.valueOf(5000));
+        load.setTrucksRequired(3);
+        load.setRemainingTrucks(3);
+        load.setStatus(BookingStatus.OPEN_FOR_BIDS);
+        load.setDatePosted(LocalDateTime.now());
+        load = loadRepository.save(load);
+
+        bid = bidRepository.save(bid(3));
+        otherBid = bidRepository.save(bid(1));
+    }
+
+    @AfterEach
+    @SuppressWarnings("unused")
+    void tearDown() {
+        bookingRepository.deleteAll();
+        bidRepository.deleteAll();
+        truckRepository.deleteAll();
+        loadRepository.deleteAll();
+        transporterRepository.deleteAll();
+    }
+
+    @Test
+    void testBook_Success() {
+        BookingResponseDTO response = bookingService.createBooking(request(bid, 1));
+
+        assertEquals(BookingStatus.CONFIRMED, response.status());
+        assertEquals(BidStatus.ACCEPTED, bidRepository.findById(bid.getBidId()).orElseThrow().getStatus());
+        Load booked = loadRepository.findById(load.getId()).orElseThrow();
+        assertEquals(2, booked.getRemainingTrucks());
+        assertEquals(BookingStatus.OPEN_FOR_BIDS, booked.getStatus());
+        assertEquals(1, bookingRepository.count());
+    }
+
+    @Test
+    void testBook_LastTrucksBookTheLoad() {
+        BookingResponseDTO response = bookingService.createBooking(request(bid, 3));
+
+        assertEquals(1, response.rejectedBids());
+        Load booked = loadRepository.findById(load.getId()).orElseThrow();
+        assertEquals(0, booked.getRemainingTrucks());
+        assertEquals(BookingStatus.BOOKED, booked.getStatus());
+        assertEquals(BidStatus.REJECTED, bidRepository.findById(otherBid.getBidId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void testBook_BidTaken() {
+        bid.setStatus(BidStatus.ACCEPTED);
+        bidRepository.save(bid);
+
+        InvalidStatusTransitionException ex = assertThrows(InvalidStatusTransitionException.class,
+                () -> bookingService.createBooking(request(bid, 1)));
+
+        assertEquals("Bid is ACCEPTED. Only PENDING bids can be accepted.", ex.getMessage());
+        assertEquals(3, loadRepository.findById(load.getId()).orElseThrow().getRemainingTrucks());
+        assertEquals(0, bookingRepository.count());
+    }
+
+    @Test
+    void testBook_LoadShort() {
+        InsufficientCapacityException ex = assertThrows(InsufficientCapacityException.class,
+                () -> bookingService.createBooking(request(bid, 4)));
+
+        assertEquals("Insufficient remaining trucks. Requested: 4, Available: 3", ex.getMessage());
+        assertEquals(BidStatus.PENDING, bidRepository.findById(bid.getBidId()).orElseThrow().getStatus());
+        assertEquals(3, loadRepository.findById(load.getId()).orElseThrow().getRemainingTrucks());
+        assertEquals(0, bookingRepository.count());
+    }
+
+    @Test
+    void testBook_ConcurrentBookersNeverOverbook() throws Exception {
+        List<Bid> bids = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            bids.add(bidRepository.save(bid(1)));
+        }
+
+        ExecutorService bookers = Executors.newFixedThreadPool(16);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (Bid contender : bids) {
+            results.add(bookers.submit(() -> {
+                try {
+                    bookingService.createBooking(request(contender, 1));
+                    return true;
+                } catch (RuntimeException ex) {
+                    return false;
+                }
+            }));
+        }
+        int booked = 0;
+        for (Future<Boolean> result : results) {
+            booked += result.get() ? 1 : 0;
+        }
+        bookers.shutdown();
+
+        assertEquals(3, booked);
+        assertEquals(3, bookingRepository.count());
+        Load full = loadRepository.findById(load.getId()).orElseThrow();
+        assertEquals(0, full.getRemainingTrucks());
+        assertEquals(BookingStatus.BOOKED, full.getStatus());
+    }
+
+    private Bid bid(int trucksOffered) {
+        Bid bid = new Bid();
+        bid.setLoad(load);
+        bid.setTransporter(transporter);
+        bid.setTruckType("Flatbed");
+        bid.setTrucksOffered(trucksOffered);
+        bid.setProposedRate(2000.0);
+        bid.setStatus(BidStatus.PENDING);
+        bid.setSubmittedAt(LocalDateTime.now());
+        return bid;
+    }
+
+    private BookingRequestDTO request(Bid bid, int trucks) {
+        return new BookingRequestDTO(load.getId(), bid.getBidId(), transporter.getTransporterId(), trucks, 2000.0);
+    }
+}
@@ -0,0 +1,70 @@
+package com.harsha.tms.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.Test;
+
+class TimingWheelTest {
+
+    private static final long NOW = 1_704_103_200L;
+
+    @Test
+    void testAdvance_FiresEveryDeadlineInItsSecond() {
+        Random random = new Random(3);
+        TimingWheel<Integer> wheel = new TimingWheel<>(NOW);
+        Map<Integer, Long> deadlines = new HashMap<>();
+        // Spread over seconds to months so entries cascade down through several levels
+        for (int i = 0; i < 5_000; i++) {
+            long deadline = NOW + (long) Math.pow(10, random.nextDouble() * 7);
+            deadlines.put(i, deadline);
+            wheel.schedule(deadline, i);
+        }
+
+        long now = NOW;
+        Map<Integer, Long> firedAt = new HashMap<>();
+        while (firedAt.size() < deadlines.size()) {
+            now += 1 + random.nextInt(40_000);
+            long at = now;
+            wheel.advance(now, entry -> firedAt.putIfAbsent(entry.value(), at));
+            for (Map.Entry<Integer, Long> deadline : deadlines.entrySet()) {
+                assertEquals(deadline.getValue() <= now, firedAt.containsKey(deadline.getKey()));
+            }
+        }
+        // Advancing a second at a time fires each deadline exactly in its own second
+        TimingWheel<Integer> stepped = new TimingWheel<>(NOW);
+        deadlines.entrySet().stream().limit(500).forEach(entry -> stepped.schedule(entry.getValue(), entry.getKey()));
+        List<Long> late = new ArrayList<>();
+        for (long second = NOW + 1; stepped.size() > 0; second++) {
+            long at = second;
+            stepped.advance(second, entry -> {
+                if (entry.deadline() != at) {
+                    late.add(entry.deadline());
+                }
+            });
+        }
+        assertEquals(List.of(), late);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void testAdvance_FiresPastDeadlinesAtOnce() {
+        TimingWheel<String> wheel = new TimingWheel<>(NOW);
+        wheel.schedule(NOW - 3_600, "an hour ago");
+        wheel.schedule(NOW, "now");
+        wheel.schedule(NOW + 64, "a minute ahead");
+
+        List<String> fired = new ArrayList<>();
+        wheel.advance(NOW, entry -> fired.add(entry.value()));
+        assertEquals(List.of("an hour ago", "now"), fired);
+
+        wheel.advance(NOW + 63, entry -> fired.add(entry.value()));
+        assertEquals(2, fired.size());
+        wheel.advance(NOW + 64, entry -> fired.add(entry.value()));
+        assertEquals("a minute ahead", fired.get(2));
+    }
+}
@@ -1,5 +1,6 @@
 package com.harsha.tms.service;
 
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -8,13 +9,16 @@ import java.util.UUID;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.argThat;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -23,6 +27,8 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import com.harsha.tms.dto.request.TransporterRequestDTO;
 import com.harsha.tms.dto.request.UpdateTrucksRequestDTO;
 import com.harsha.tms.dto.response.TransporterResponseDTO;
+import com.harsha.tms.dto.response.TruckAvailabilityResponseDTO;
+import com.harsha.tms.dto.response.TruckResponseDTO;
 import com.harsha.tms.entity.Transporter;
 import com.harsha.tms.entity.Truck;
 import com.harsha.tms.exception.ResourceNotFoundException;
@@ -39,6 +45,9 @@ class TransporterServiceImplTest {
     @Mock
     private TruckRepository truckRepository;
 
+    @Mock
+    private TruckCapacity truckCapacity;
+
     @InjectMocks
     private TransporterServiceImpl transporterService;
 
@@ -64,11 +73,13 @@ class TransporterServiceImplTest {
         transporter.setRating(4.5);
 
         truck1 = new Truck();
+        truck1.setId(new UUID(0, 1));
         truck1.setTruckType("Flatbed");
         truck1.setCount(5);
         truck1.setTransporter(transporter);
 
         truck2 = new Truck();
+        truck2.setId(new UUID(0, 2));
         truck2.setTruckType("Box Truck");
         truck2.setCount(3);
         truck2.setTransporter(transporter);
@@ -98,6 +109,7 @@ class TransporterServiceImplTest {
         assertEquals("FastShip Logistics", response.companyName());
         assertEquals(4.5, response.rating());
         verify(transporterRepository, times(1)).findById(testTransporterId);
+        verify(truckRepository, times(1)).findByTransporterTransporterId(testTransporterId);
     }
 
     @Test
@@ -114,21 +126,25 @@ class TransporterServiceImplTest {
     void testUpdateTrucks_Success() {
         List<UpdateTrucksRequestDTO.TruckDTO> truckDTOs = Arrays.asList(
                 new UpdateTrucksRequestDTO.TruckDTO("Flatbed", 10),
-                new UpdateTrucksRequestDTO.TruckDTO("Box Truck", 5)
+                new UpdateTrucksRequestDTO.TruckDTO("Box Truck", 3)
         );
         UpdateTrucksRequestDTO updateRequest = new UpdateTrucksRequestDTO(truckDTOs);
 
-        when(transporterRepository.findById(testTransporterId)).thenReturn(Optional.of(transporter));
-        when(truckRepository.findByTransporterTransporterId(testTransporterId))
+        when(transporterRepository.findByIdForUpdate(testTransporterId)).thenReturn(Optional.of(transporter));
+        when(truckRepository.findByTransporterTransporterIdOrderById(testTransporterId))
                 .thenReturn(Arrays.asList(truck1, truck2));
 
         TransporterResponseDTO response = transporterService.updateTrucks(testTransporterId, updateRequest);
 
         assertNotNull(response);
         assertEquals(testTransporterId, response.transporterId());
-        verify(transporterRepository, times(1)).findById(testTransporterId);
-        verify(truckRepository, times(1)).deleteAll(anyCollection());
-        verify(truckRepository, times(2)).save(any(Truck.class));
+        assertEquals(List.of(new TruckResponseDTO(truck2.getId(), "Box Truck", 3),
+                new TruckResponseDTO(truck1.getId(), "Flatbed", 10)), response.trucks());
+        assertEquals(10, truck1.getCount());
+        verify(transporterRepository, times(1)).findByIdForUpdate(testTransporterId);
+        verify(truckRepository, never()).deleteAllInBatch(anyIterable());
+        verify(truckRepository, never()).saveAll(anyIterable());
+        verify(truckCapacity, times(1)).replace(testTransporterId, List.of(truck1, truck2));
     }
 
     @Test
@@ -138,44 +154,83 @@ class TransporterServiceImplTest {
         );
         UpdateTrucksRequestDTO updateRequest = new UpdateTrucksRequestDTO(truckDTOs);
 
-        when(transporterRepository.findById(testTransporterId)).thenReturn(Optional.empty());
+        when(transporterRepository.findByIdForUpdate(testTransporterId)).thenReturn(Optional.empty());
 
         ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
                 () -> transporterService.updateTrucks(testTransporterId, updateRequest));
         assertNotNull(exception);
-        verify(transporterRepository, times(1)).findById(testTransporterId);
+        verify(transporterRepository, times(1)).findByIdForUpdate(testTransporterId);
+        verify(truckCapacity, never()).replace(any(), any());
     }
 
     @Test
     void testUpdateTrucks_EmptyTruckList() {
         UpdateTrucksRequestDTO updateRequest = new UpdateTrucksRequestDTO(Arrays.asList());
 
-        when(transporterRepository.findById(testTransporterId)).thenReturn(Optional.of(transporter));
-        when(truckRepository.findByTransporterTransporterId(testTransporterId))
+        when(transporterRepository.findByIdForUpdate(testTransporterId)).thenReturn(Optional.of(transporter));
+        when(truckRepository.findByTransporterTransporterIdOrderById(testTransporterId))
                 .thenReturn(Arrays.asList(truck1, truck2));
 
         TransporterResponseDTO response = transporterService.updateTrucks(testTransporterId, updateRequest);
 
-        assertNotNull(response);
-        verify(truckRepository, times(1)).deleteAll(anyCollection());
-        verify(truckRepository, times(0)).save(any(Truck.class));
+        assertTrue(response.trucks().isEmpty());
+        verify(truckRepository, times(1)).deleteAllInBatch(List.of(truck1, truck2));
+        verify(truckCapacity, times(1)).replace(testTransporterId, List.of());
+        verify(truckRepository, never()).saveAll(anyIterable());
     }
 
     @Test
-    void testUpdateTrucks_ReplacesExistingTrucks() {
+    void testUpdateTrucks_DiffsByTruckType() {
+        Truck duplicate = new Truck();
+        duplicate.setId(new UUID(0, 3));
+        duplicate.setTruckType("Flatbed");
+        duplicate.setCount(2);
         List<UpdateTrucksRequestDTO.TruckDTO> newTrucks = Arrays.asList(
-                new UpdateTrucksRequestDTO.TruckDTO("Refrigerated", 8)
+                new UpdateTrucksRequestDTO.TruckDTO("Flatbed", 4),
+                new UpdateTrucksRequestDTO.TruckDTO("Refrigerated", 8),
+                new UpdateTrucksRequestDTO.TruckDTO("Flatbed", 3)
         );
         UpdateTrucksRequestDTO updateRequest = new UpdateTrucksRequestDTO(newTrucks);
 
-        when(transporterRepository.findById(testTransporterId)).thenReturn(Optional.of(transporter));
-        when(truckRepository.findByTransporterTransporterId(testTransporterId))
-                .thenReturn(Arrays.asList(truck1, truck2));
+        when(transporterRepository.findByIdForUpdate(testTransporterId)).thenReturn(Optional.of(transporter));
+        when(truckRepository.findByTransporterTransporterIdOrderById(testTransporterId))
+                .thenReturn(Arrays.asList(truck1, truck2, duplicate));
+        when(truckRepository.saveAll(anyIterable())).thenAnswer(invocation -> invocation.getArgument(0));
 
         TransporterResponseDTO response = transporterService.updateTrucks(testTransporterId, updateRequest);
 
-        assertNotNull(response);
-        verify(truckRepository, times(1)).deleteAll(Arrays.asList(truck1, truck2));
-        verify(truckRepository, times(1)).save(any(Truck.class));
+        assertEquals(7, truck1.getCount());
+        assertEquals(List.of("Flatbed", "Refrigerated"),
+                response.trucks().stream().map(TruckResponseDTO::truckType).toList());
+        assertEquals(truck1.getId(), response.trucks().get(0).id());
+        verify(truckRepository, times(1)).deleteAllInBatch(List.of(truck2, duplicate));
+        verify(truckRepository, times(1)).saveAll(argThat((List<Truck> trucks) -> trucks.size() == 1
+                && trucks.get(0).getTruckType().equals("Refrigerated") && trucks.get(0).getCount() == 8));
+    }
+
+    @Test
+    void testGetAvailability_Success() {
+        LocalDateTime from = LocalDateTime.of(2024, 1, 8, 8, 0);
+        LocalDateTime to = from.plusDays(2);
+        when(transporterRepository.existsById(testTransporterId)).thenReturn(true);
+        when(truckCapacity.fleet(testTransporterId, "Flatbed")).thenReturn(5);
+        when(truckCapacity.booked(testTransporterId, "Flatbed", from, to)).thenReturn(3);
+
+        TruckAvailabilityResponseDTO response = transporterService.getAvailability(testTransporterId, "Flatbed",
+                from, to);
+
+        assertEquals(5, response.fleet());
+        assertEquals(3, response.booked());
+        assertEquals(2, response.available());
+    }
+
+    @Test
+    void testGetAvailability_TransporterNotFound() {
+        LocalDateTime from = LocalDateTime.of(2024, 1, 8, 8, 0);
+        when(transporterRepository.existsById(testTransporterId)).thenReturn(false);
+
+        assertThrows(ResourceNotFoundException.class,
+                () -> transporterService.getAvailability(testTransporterId, "Flatbed", from, from.plusDays(2)));
+        verify(truckCapacity, never()).fleet(any(), any());
     }
 }
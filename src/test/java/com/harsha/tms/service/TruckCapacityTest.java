@@ -0,0 +1,251 @@
+package com.harsha.tms.service;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.harsha.tms.entity.Transporter;
+import com.harsha.tms.entity.Truck;
+import com.harsha.tms.exception.InsufficientCapacityException;
+import com.harsha.tms.repository.BookingRepository;
+import com.harsha.tms.repository.BookingWindowRow;
+import com.harsha.tms.repository.TruckRepository;
+
+@ExtendWith(MockitoExtension.class)
+class TruckCapacityTest {
+
+    private static final LocalDateTime MONDAY = LocalDateTime.of(2024, 1, 8, 8, 0);
+
+    @Mock
+    private TruckRepository truckRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TruckCapacity truckCapacity;
+
+    private UUID transporterId;
+    private Truck flatbed;
+
+    @BeforeEach
+    @SuppressWarnings("unused")
+    void setUp() {
+        Clock clock = Clock.fixed(Instant.parse("2024-01-01T00:00:00Z"), ZoneOffset.UTC);
+        truckCapacity = new TruckCapacity(truckRepository, bookingRepository, transactionManager, clock);
+        transporterId = UUID.randomUUID();
+        flatbed = truck("Flatbed", 5);
+    }
+
+    @AfterEach
+    @SuppressWarnings("unused")
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testAvailable_LoadsTransporterOnceWithItsBookings() {
+        when(truckRepository.findByTransporterTransporterIdOrderById(transporterId))
+                .thenReturn(List.of(flatbed, truck("Flatbed", 2)));
+        when(bookingRepository.findWindowsByTransporterId(eq(transporterId), any(), any()))
+                .thenReturn(List.of(new BookingWindowRow(transporterId, "Flatbed", MONDAY, MONDAY.plusDays(2), 3)));
+
+        assertEquals(7, truckCapacity.fleet(transporterId, "Flatbed"));
+        assertEquals(4, truckCapacity.available(transporterId, "Flatbed", MONDAY.plusDays(1), MONDAY.plusDays(4)));
+        assertEquals(7, truckCapacity.available(transporterId, "Flatbed", MONDAY.plusDays(3), MONDAY.plusDays(4)));
+        assertEquals(0, truckCapacity.available(transporterId, "Box Truck", MONDAY, MONDAY.plusDays(1)));
+        verify(truckRepository, times(1)).findByTransporterTransporterIdOrderById(transporterId);
+    }
+
+    @Test
+    void testReserve_CountsOnlyOverlappingWindows() {
+        loadWithoutBookings();
+
+        assertTrue(truckCapacity.reserve(transporterId, "Flatbed", MONDAY, MONDAY.plusDays(2), 3));
+        assertTrue(truckCapacity.reserve(transporterId, "Flatbed", MONDAY.plusDays(2), MONDAY.plusDays(4), 5));
+        assertFalse(truckCapacity.reserve(transporterId, "Flatbed", MONDAY.plusDays(1), MONDAY.plusDays(3), 1));
+        assertTrue(truckCapacity.reserve(transporterId, "Flatbed", MONDAY.plusDays(1), MONDAY.plusHours(36), 2));
+        assertEquals(5, truckCapacity.booked(transporterId, "Flatbed", MONDAY, MONDAY.plusDays(2)));
+        assertFalse(truckCapacity.reserve(transporterId, "Box Truck", MONDAY, MONDAY.plusDays(1), 1));
+    }
+
+    @Test
+    void testReserve_GivesTrucksBackOnRollback() {
+        loadWithoutBookings();
+
+        List<TransactionSynchronization> synchronizations = inTransaction(
+                () -> truckCapacity.reserve(transporterId, "Flatbed", MONDAY, MONDAY.plusDays(1), 4));
+        assertEquals(1, truckCapacity.available(transporterId, "Flatbed", MONDAY, MONDAY.plusDays(1)));
+
+        synchronizations.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        assertEquals(5, truckCapacity.available(transporterId, "Flatbed", MONDAY, MONDAY.plusDays(1)));
+    }
+
+    @Test
+    void testRelease_AppliedOnlyOnCommit() {
+        loadWithoutBookings();
+        truckCapacity.reserve(transporterId, "Flatbed", MONDAY, MONDAY.plusDays(1), 4);
+
+        List<TransactionSynchronization> rolledBack = inTransaction(
+                () -> truckCapacity.release(transporterId, "Flatbed", MONDAY, MONDAY.plusDays(1), 4));
+        rolledBack.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        assertEquals(1, truckCapacity.available(transporterId, "Flatbed", MONDAY, MONDAY.plusDays(1)));
+
+        List<TransactionSynchronization> committed = inTransaction(
+                () -> truckCapacity.release(transporterId, "Flatbed", MONDAY, MONDAY.plusDays(1), 4));
+        assertEquals(1, truckCapacity.available(transporterId, "Flatbed", MONDAY, MONDAY.plusDays(1)));
+        committed.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        assertEquals(5, truckCapacity.available(transporterId, "Flatbed", MONDAY, MONDAY.plusDays(1)));
+    }
+
+    @Test
+    void testReserve_FailsCommitWhenAnotherInstanceBookedTheTrucks() {
+        loadWithoutBookings();
+        when(truckRepository.lockByTransporterIdAndTruckType(transporterId, "Flatbed")).thenReturn(List.of(flatbed));
+        when(bookingRepository.findWindowsOverlapping(eq(transporterId), eq("Flatbed"), any(),
+                eq(MONDAY), eq(MONDAY.plusDays(1))))
+                .thenReturn(List.of(
+                        new BookingWindowRow(transporterId, "Flatbed", MONDAY, MONDAY.plusDays(1), 4),
+                        new BookingWindowRow(transporterId, "Flatbed", MONDAY.plusHours(6), MONDAY.plusDays(2), 3)));
+
+        List<TransactionSynchronization> synchronizations = inTransaction(
+                () -> truckCapacity.reserve(transporterId, "Flatbed", MONDAY, MONDAY.plusDays(1), 4));
+
+        InsufficientCapacityException ex = assertThrows(InsufficientCapacityException.class,
+                () -> synchronizations.forEach(s -> s.beforeCommit(false)));
+        assertEquals("Trucks of type Flatbed were allocated by another booking. Requested: 4", ex.getMessage());
+        synchronizations.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        assertEquals(5, truckCapacity.available(transporterId, "Flatbed", MONDAY, MONDAY.plusDays(1)));
+    }
+
+    @Test
+    void testReserve_ChecksEachTypeOnceInLockOrderBeforeCommit() {
+        Truck boxTruck = truck("Box Truck", 2);
+        when(truckRepository.findByTransporterTransporterIdOrderById(transporterId))
+                .thenReturn(List.of(flatbed, boxTruck));
+        when(truckRepository.lockByTransporterIdAndTruckType(transporterId, "Flatbed")).thenReturn(List.of(flatbed));
+        when(truckRepository.lockByTransporterIdAndTruckType(transporterId, "Box Truck"))
+                .thenReturn(List.of(boxTruck));
+        when(bookingRepository.findWindowsOverlapping(eq(transporterId), eq("Flatbed"), any(),
+                eq(MONDAY), eq(MONDAY.plusDays(3))))
+                .thenReturn(List.of(
+                        new BookingWindowRow(transporterId, "Flatbed", MONDAY, MONDAY.plusDays(1), 5),
+                        new BookingWindowRow(transporterId, "Flatbed", MONDAY.plusDays(1), MONDAY.plusDays(3), 5)));
+        when(bookingRepository.findWindowsOverlapping(eq(transporterId), eq("Box Truck"), any(),
+                eq(MONDAY), eq(MONDAY.plusDays(1))))
+                .thenReturn(List.of(new BookingWindowRow(transporterId, "Box Truck", MONDAY, MONDAY.plusDays(1), 2)));
+
+        List<TransactionSynchronization> synchronizations = inTransaction(() -> {
+            truckCapacity.reserve(transporterId, "Flatbed", MONDAY, MONDAY.plusDays(1), 5);
+            truckCapacity.reserve(transporterId, "Box Truck", MONDAY, MONDAY.plusDays(1), 2);
+            truckCapacity.reserve(transporterId, "Flatbed", MONDAY.plusDays(1), MONDAY.plusDays(3), 5);
+        });
+        synchronizations.forEach(s -> s.beforeCommit(false));
+
+        InOrder locks = inOrder(truckRepository);
+        locks.verify(truckRepository).lockByTransporterIdAndTruckType(transporterId, "Box Truck");
+        locks.verify(truckRepository).lockByTransporterIdAndTruckType(transporterId, "Flatbed");
+    }
+
+    @Test
+    void testReplace_KeepsBookingsAndDropsRemovedTypes() {
+        loadWithoutBookings();
+        truckCapacity.reserve(transporterId, "Flatbed", MONDAY, MONDAY.plusDays(1), 4);
+
+        truckCapacity.replace(transporterId, List.of(truck("Flatbed", 6), truck("Box Truck", 3)));
+        assertEquals(2, truckCapacity.available(transporterId, "Flatbed", MONDAY, MONDAY.plusDays(1)));
+
+        truckCapacity.replace(transporterId, List.of(truck("Box Truck", 3)));
+        assertEquals(0, truckCapacity.available(transporterId, "Flatbed", MONDAY.plusDays(2), MONDAY.plusDays(3)));
+        assertEquals(3, truckCapacity.available(transporterId, "Box Truck", MONDAY, MONDAY.plusDays(1)));
+    }
+
+    @Test
+    void testReserve_ConcurrentReservationsNeverOversell() throws Exception {
+        when(truckRepository.findByTransporterTransporterIdOrderById(transporterId))
+                .thenReturn(List.of(truck("Flatbed", 1000)));
+        truckCapacity.fleet(transporterId, "Flatbed");
+
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            int offset = i;
+            results.add(callers.submit(() -> {
+                int granted = 0;
+                for (int j = 0; j < 500; j++) {
+                    LocalDateTime pickup = MONDAY.plusHours(offset);
+                    if (truckCapacity.reserve(transporterId, "Flatbed", pickup, pickup.plusDays(1), 1)) {
+                        granted++;
+                    }
+                }
+                return granted;
+            }));
+        }
+        int granted = 0;
+        for (Future<Integer> result : results) {
+            granted += result.get();
+        }
+        callers.shutdown();
+
+        assertEquals(1000, granted);
+        assertEquals(1000, truckCapacity.booked(transporterId, "Flatbed", MONDAY, MONDAY.plusDays(2)));
+    }
+
+    private void loadWithoutBookings() {
+        when(truckRepository.findByTransporterTransporterIdOrderById(transporterId)).thenReturn(List.of(flatbed));
+        truckCapacity.fleet(transporterId, "Flatbed");
+    }
+
+    private static List<TransactionSynchronization> inTransaction(Runnable work) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            work.run();
+            return TransactionSynchronizationManager.getSynchronizations();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private Truck truck(String truckType, int count) {
+        Transporter transporter = new Transporter();
+        transporter.setTransporterId(transporterId);
+        Truck truck = new Truck();
+        truck.setId(UUID.randomUUID());
+        truck.setTruckType(truckType);
+        truck.setCount(count);
+        truck.setTransporter(transporter);
+        return truck;
+    }
+}
@@ -0,0 +1,64 @@
+package com.harsha.tms.service;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.Test;
+
+class TruckTimelineTest {
+
+    @Test
+    void testPeak_MatchesBruteForceOverRandomBookings() {
+        Random random = new Random(42);
+        TruckTimeline timeline = new TruckTimeline();
+        int[] held = new int[200];
+
+        for (int i = 0; i < 2_000; i++) {
+            int start = random.nextInt(held.length - 1);
+            int end = start + 1 + random.nextInt(held.length - start - 1);
+            int trucks = random.nextInt(5) + 1;
+            timeline.add(start, end, trucks);
+            for (int t = start; t < end; t++) {
+                held[t] += trucks;
+            }
+
+            int from = random.nextInt(held.length - 1);
+            int to = from + 1 + random.nextInt(held.length - from - 1);
+            int expected = 0;
+            for (int t = from; t < to; t++) {
+                expected = Math.max(expected, held[t]);
+            }
+            assertEquals(expected, timeline.peak(from, to));
+        }
+    }
+
+    @Test
+    void testPeak_IgnoresWindowsThatEndAtStart() {
+        TruckTimeline timeline = new TruckTimeline();
+        timeline.add(0, 10, 3);
+        timeline.add(10, 20, 2);
+
+        assertEquals(3, timeline.peak(0, 10));
+        assertEquals(2, timeline.peak(10, 20));
+        assertEquals(3, timeline.peak(5, 15));
+        assertEquals(0, timeline.peak(20, 30));
+    }
+
+    @Test
+    void testForget_KeepsTrucksHeldPastTheHorizon() {
+        TruckTimeline timeline = new TruckTimeline();
+        timeline.add(0, 10, 3);
+        timeline.add(5, 20, 2);
+        timeline.add(0, 4, 7);
+
+        timeline.forget(8);
+
+        assertEquals(5, timeline.peak(0, 10));
+        assertEquals(2, timeline.peak(10, 20));
+        assertEquals(0, timeline.peak(20, 30));
+
+        timeline.add(6, 12, 1);
+        assertEquals(6, timeline.peak(8, 10));
+        assertEquals(3, timeline.peak(10, 12));
+    }
+}